@@ -0,0 +1,120 @@
+package org.jcommons.functional.benchmarks;
+
+import java.util.*;
+
+import org.jcommons.functional.Compositions;
+import org.jcommons.functional.Functions;
+import org.jcommons.functional.predicate.UnaryPredicate;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares a predicate combined by <code>Compositions.and</code> with a hand-written wrapper and a hand-written loop.
+ *
+ * With <code>polluted</code> set, other conjunctions of different predicate classes are evaluated before the
+ * measurement, as they would be in a larger program. The calls inside the conjunction class shared by all of them turn
+ * megamorphic, while those in the hand-written wrapper stay monomorphic.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompositionBenchmark
+{
+  /** amount of elements */
+  @Param({ "100000" })
+  public int size;
+
+  /** true if other compositions have been evaluated before */
+  @Param({ "false", "true" })
+  public boolean polluted;
+
+  private List<Integer> list;
+  private UnaryPredicate<Integer> composed;
+  private UnaryPredicate<Integer> wrapper;
+
+  /** Creates the list and predicates, evaluates other compositions if requested. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    list = new ArrayList<Integer>(size);
+    for (int index = 0; index < size; ++index) {
+      list.add(index - size / 4);
+    }
+
+    final UnaryPredicate<Integer> even = new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        return (argument & 1) == 0;
+      }
+    };
+    final UnaryPredicate<Integer> positive = new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        return argument >= 0;
+      }
+    };
+    composed = Compositions.and(even, positive);
+    wrapper = new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        return even.execute(argument) && positive.execute(argument);
+      }
+    };
+
+    if (polluted) {
+      List<UnaryPredicate<Integer>> others = Arrays.asList(new UnaryPredicate<Integer>() {
+        @Override
+        public boolean execute(final Integer argument) {
+          return argument % 3 == 0;
+        }
+      }, new UnaryPredicate<Integer>() {
+        @Override
+        public boolean execute(final Integer argument) {
+          return argument % 5 != 0;
+        }
+      }, new UnaryPredicate<Integer>() {
+        @Override
+        public boolean execute(final Integer argument) {
+          return argument < 1000;
+        }
+      }, new UnaryPredicate<Integer>() {
+        @Override
+        public boolean execute(final Integer argument) {
+          return Integer.bitCount(argument) > 3;
+        }
+      });
+      for (int round = 0; round < 20; ++round) {
+        for (UnaryPredicate<Integer> first : others) {
+          for (UnaryPredicate<Integer> second : others) {
+            Functions.filter(Compositions.and(first, second), list);
+          }
+        }
+      }
+    }
+  }
+
+  /** @return the matching elements */
+  @Benchmark
+  public List<Integer> composed() {
+    return Functions.filter(composed, list);
+  }
+
+  /** @return the matching elements */
+  @Benchmark
+  public List<Integer> wrapper() {
+    return Functions.filter(wrapper, list);
+  }
+
+  /** @return the matching elements */
+  @Benchmark
+  public List<Integer> loop() {
+    List<Integer> result = new ArrayList<Integer>(list.size());
+    for (Integer item : list) {
+      if ((item & 1) == 0 && item >= 0) {
+        result.add(item);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,51 @@
+package org.jcommons.functional.benchmarks;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.jcommons.functional.Functions;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares <code>Functions.filter</code> with a hand-written loop and a stream, selecting half of the elements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark
+{
+  /**
+   * @param state the list and functions
+   * @return the filtered list
+   */
+  @Benchmark
+  public List<Integer> functions(final ListState state) {
+    return Functions.filter(state.even, state.list);
+  }
+
+  /**
+   * @param state the list and functions
+   * @return the filtered list
+   */
+  @Benchmark
+  public List<Integer> loop(final ListState state) {
+    List<Integer> result = new ArrayList<Integer>();
+    for (Integer item : state.list) {
+      if (state.even.execute(item)) {
+        result.add(item);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @param state the list and functions
+   * @return the filtered list
+   */
+  @Benchmark
+  public List<Integer> stream(final ListState state) {
+    return state.list.stream().filter(state.even::execute).collect(Collectors.toList());
+  }
+}
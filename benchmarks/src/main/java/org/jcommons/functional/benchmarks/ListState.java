@@ -0,0 +1,118 @@
+package org.jcommons.functional.benchmarks;
+
+import java.util.*;
+
+import org.jcommons.functional.function.BinaryFunction;
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.functions.IntegerSum;
+import org.jcommons.functional.predicate.UnaryPredicate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The lists and functions shared by all list based benchmarks.
+ *
+ * Each benchmark runs for every combination of list size, list type and function cost, use <code>-p</code> to
+ * restrict the parameters, e.g. <code>-p size=1000 -p listType=ArrayList -p cost=cheap</code>.
+ */
+@State(Scope.Benchmark)
+public class ListState
+{
+  /** amount of CPU tokens burnt by an expensive function, roughly half a microsecond */
+  private static final long EXPENSIVE_TOKENS = 100;
+
+  /** amount of elements in the list */
+  @Param({ "10", "1000", "100000", "10000000" })
+  public int size;
+
+  /** implementation of the list */
+  @Param({ "ArrayList", "LinkedList", "Arrays.asList" })
+  public String listType;
+
+  /** cost of each function or predicate call */
+  @Param({ "cheap", "expensive" })
+  public String cost;
+
+  /** the list to process */
+  public List<Integer> list;
+
+  /** adds one to each element */
+  public UnaryFunction<Integer, Integer> increment;
+
+  /** selects every other element */
+  public UnaryPredicate<Integer> even;
+
+  /** matches no element, so some has to scan the whole list */
+  public UnaryPredicate<Integer> negative;
+
+  /** matches every element, so every has to scan the whole list */
+  public UnaryPredicate<Integer> positive;
+
+  /** sums up two elements */
+  public BinaryFunction<Integer, Integer> sum;
+
+  /** Creates the list and the functions for the current parameters. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Integer[] numbers = new Integer[size];
+    for (int index = 0; index < size; ++index) {
+      numbers[index] = index;
+    }
+
+    switch (listType) {
+      case "ArrayList":
+        list = new ArrayList<Integer>(Arrays.asList(numbers));
+        break;
+      case "LinkedList":
+        list = new LinkedList<Integer>(Arrays.asList(numbers));
+        break;
+      case "Arrays.asList":
+        list = Arrays.asList(numbers);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown list type: " + listType);
+    }
+
+    final long tokens = "expensive".equals(cost) ? EXPENSIVE_TOKENS : 0;
+    increment = new UnaryFunction<Integer, Integer>() {
+      @Override
+      public Integer execute(final Integer argument) {
+        burn(tokens);
+        return argument + 1;
+      }
+    };
+    even = new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        burn(tokens);
+        return (argument & 1) == 0;
+      }
+    };
+    negative = new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        burn(tokens);
+        return argument < 0;
+      }
+    };
+    positive = new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        burn(tokens);
+        return argument >= 0;
+      }
+    };
+    sum = new IntegerSum();
+  }
+
+  /**
+   * Burns the given amount of CPU tokens, if any.
+   *
+   * @param tokens the amount of tokens
+   */
+  static void burn(final long tokens) {
+    if (tokens > 0) {
+      Blackhole.consumeCPU(tokens);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package org.jcommons.functional.benchmarks;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.jcommons.functional.Functions;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares <code>Functions.map</code> and <code>Functions.forEach</code> with a hand-written loop and a stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark
+{
+  /**
+   * @param state the list and functions
+   * @return the mapped list
+   */
+  @Benchmark
+  public List<Integer> functions(final ListState state) {
+    return Functions.map(state.increment, state.list);
+  }
+
+  /**
+   * @param state the list and functions
+   * @return the mapped list
+   */
+  @Benchmark
+  public List<Integer> loop(final ListState state) {
+    List<Integer> result = new ArrayList<Integer>(state.list.size());
+    for (Integer item : state.list) {
+      result.add(state.increment.execute(item));
+    }
+    return result;
+  }
+
+  /**
+   * @param state the list and functions
+   * @return the mapped list
+   */
+  @Benchmark
+  public List<Integer> stream(final ListState state) {
+    return state.list.stream().map(state.increment::execute).collect(Collectors.toList());
+  }
+
+  /**
+   * @param state the list and functions
+   */
+  @Benchmark
+  public void forEach(final ListState state) {
+    Functions.forEach(state.increment, state.list);
+  }
+}
@@ -0,0 +1,77 @@
+package org.jcommons.functional.benchmarks;
+
+import org.jcommons.functional.Functions;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares <code>Functions.some</code> and <code>Functions.every</code> with hand-written loops and streams.
+ *
+ * The predicates are chosen so that no short-circuit happens, i.e. the whole list is scanned every time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchBenchmark
+{
+  /**
+   * @param state the list and functions
+   * @return false, no element matches
+   */
+  @Benchmark
+  public boolean someFunctions(final ListState state) {
+    return Functions.some(state.negative, state.list);
+  }
+
+  /**
+   * @param state the list and functions
+   * @return false, no element matches
+   */
+  @Benchmark
+  public boolean someLoop(final ListState state) {
+    for (Integer item : state.list) {
+      if (state.negative.execute(item)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * @param state the list and functions
+   * @return false, no element matches
+   */
+  @Benchmark
+  public boolean someStream(final ListState state) {
+    return state.list.stream().anyMatch(state.negative::execute);
+  }
+
+  /**
+   * @param state the list and functions
+   * @return true, all elements match
+   */
+  @Benchmark
+  public boolean everyFunctions(final ListState state) {
+    return Functions.every(state.positive, state.list);
+  }
+
+  /**
+   * @param state the list and functions
+   * @return true, all elements match
+   */
+  @Benchmark
+  public boolean everyLoop(final ListState state) {
+    for (Integer item : state.list) {
+      if (!state.positive.execute(item)) return false;
+    }
+    return true;
+  }
+
+  /**
+   * @param state the list and functions
+   * @return true, all elements match
+   */
+  @Benchmark
+  public boolean everyStream(final ListState state) {
+    return state.list.stream().allMatch(state.positive::execute);
+  }
+}
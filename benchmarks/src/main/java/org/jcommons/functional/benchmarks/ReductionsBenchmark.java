@@ -0,0 +1,129 @@
+package org.jcommons.functional.benchmarks;
+
+import java.util.Random;
+
+import org.jcommons.functional.Functions;
+import org.jcommons.functional.Reductions;
+import org.jcommons.functional.functions.PrimitiveDoubleSum;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the reductions of <code>Reductions</code> with a plain loop and <code>Functions.resolve</code> on primitive
+ * arrays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReductionsBenchmark
+{
+  /** amount of elements */
+  @Param({ "1000", "100000", "10000000" })
+  public int size;
+
+  private double[] doubles;
+  private long[] longs;
+  private int[] ints;
+
+  /** Creates random arrays. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    doubles = new double[size];
+    longs = new long[size];
+    ints = new int[size];
+    for (int index = 0; index < size; ++index) {
+      doubles[index] = random.nextDouble();
+      longs[index] = random.nextInt();
+      ints[index] = random.nextInt();
+    }
+  }
+
+  /** @return the sum */
+  @Benchmark
+  public double sumDoubleReductions() {
+    return Reductions.sum(doubles);
+  }
+
+  /** @return the sum */
+  @Benchmark
+  public double sumDoubleLoop() {
+    double sum = 0.0;
+    for (double item : doubles) {
+      sum += item;
+    }
+    return sum;
+  }
+
+  /** @return the sum */
+  @Benchmark
+  public double sumDoubleFunctions() {
+    return Functions.resolve(new PrimitiveDoubleSum(), doubles);
+  }
+
+  /** @return the dot product */
+  @Benchmark
+  public double dotDoubleReductions() {
+    return Reductions.dot(doubles, doubles);
+  }
+
+  /** @return the dot product */
+  @Benchmark
+  public double dotDoubleLoop() {
+    double sum = 0.0;
+    for (int index = 0; index < doubles.length; ++index) {
+      sum += doubles[index] * doubles[index];
+    }
+    return sum;
+  }
+
+  /** @return the largest element */
+  @Benchmark
+  public double maxDoubleReductions() {
+    return Reductions.max(doubles);
+  }
+
+  /** @return the largest element */
+  @Benchmark
+  public double maxDoubleLoop() {
+    double max = doubles[0];
+    for (double item : doubles) {
+      max = Math.max(max, item);
+    }
+    return max;
+  }
+
+  /** @return the sum */
+  @Benchmark
+  public int sumIntReductions() {
+    return Reductions.sum(ints);
+  }
+
+  /** @return the sum */
+  @Benchmark
+  public int sumIntLoop() {
+    int sum = 0;
+    for (int item : ints) {
+      sum += item;
+    }
+    return sum;
+  }
+
+  /** @return the sum */
+  @Benchmark
+  public long sumLongReductions() {
+    return Reductions.sum(longs);
+  }
+
+  /** @return the sum */
+  @Benchmark
+  public long sumLongLoop() {
+    long sum = 0L;
+    for (long item : longs) {
+      sum += item;
+    }
+    return sum;
+  }
+}
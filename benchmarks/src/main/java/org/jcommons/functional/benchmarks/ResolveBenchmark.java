@@ -0,0 +1,55 @@
+package org.jcommons.functional.benchmarks;
+
+import org.jcommons.functional.Functions;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares <code>Functions.resolve</code> with a hand-written loop and a stream, summing up all elements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolveBenchmark
+{
+  /**
+   * @param state the list and functions
+   * @return the sum of all elements
+   */
+  @Benchmark
+  public Integer functions(final ListState state) {
+    return Functions.resolve(state.sum, state.list);
+  }
+
+  /**
+   * @param state the list and functions
+   * @return the sum of all elements plus zero
+   */
+  @Benchmark
+  public Integer functionsInitial(final ListState state) {
+    return Functions.resolve(0, state.sum, state.list);
+  }
+
+  /**
+   * @param state the list and functions
+   * @return the sum of all elements
+   */
+  @Benchmark
+  public Integer loop(final ListState state) {
+    Integer result = null;
+    for (Integer item : state.list) {
+      result = result == null ? item : state.sum.execute(result, item);
+    }
+    return result;
+  }
+
+  /**
+   * @param state the list and functions
+   * @return the sum of all elements
+   */
+  @Benchmark
+  public Integer stream(final ListState state) {
+    return state.list.stream().reduce(state.sum::execute).orElse(null);
+  }
+}
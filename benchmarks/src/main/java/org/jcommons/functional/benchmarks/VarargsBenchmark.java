@@ -0,0 +1,126 @@
+package org.jcommons.functional.benchmarks;
+
+import java.util.*;
+
+import org.jcommons.functional.Functions;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the fixed overhead of the <code>T...</code> overloads of <code>Functions</code> on tiny argument arrays,
+ * compared to hand-written loops over the same array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VarargsBenchmark
+{
+  /** amount of arguments passed */
+  @Param({ "1", "4", "16" })
+  public int arguments;
+
+  private Integer[] array;
+  private Integer[] buffer;
+  private ListState functions;
+
+  /** Creates the argument array, the functions are always cheap. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    array = new Integer[arguments];
+    buffer = new Integer[arguments];
+    for (int index = 0; index < arguments; ++index) {
+      array[index] = index;
+    }
+
+    functions = new ListState();
+    functions.size = 0;
+    functions.listType = "ArrayList";
+    functions.cost = "cheap";
+    functions.setUp();
+  }
+
+  /** @return the mapped arguments */
+  @Benchmark
+  public List<Integer> mapFunctions() {
+    return Functions.map(functions.increment, array);
+  }
+
+  /** @return the mapped arguments */
+  @Benchmark
+  public List<Integer> mapLoop() {
+    List<Integer> result = new ArrayList<Integer>(array.length);
+    for (Integer item : array) {
+      result.add(functions.increment.execute(item));
+    }
+    return result;
+  }
+
+  /** @return the mapped arguments stored in a reused array */
+  @Benchmark
+  public Integer[] mapToArrayFunctions() {
+    return Functions.mapToArray(functions.increment, buffer, array);
+  }
+
+  /** @return the filtered arguments */
+  @Benchmark
+  public Integer[] filterToArrayFunctions() {
+    return Functions.filterToArray(functions.even, array);
+  }
+
+  /** @return the filtered arguments */
+  @Benchmark
+  public List<Integer> filterFunctions() {
+    return Functions.filter(functions.even, array);
+  }
+
+  /** @return the filtered arguments */
+  @Benchmark
+  public List<Integer> filterLoop() {
+    List<Integer> result = new ArrayList<Integer>(array.length);
+    for (Integer item : array) {
+      if (functions.even.execute(item)) {
+        result.add(item);
+      }
+    }
+    return result;
+  }
+
+  /** @return false, no argument matches */
+  @Benchmark
+  public boolean someFunctions() {
+    return Functions.some(functions.negative, array);
+  }
+
+  /** @return true, all arguments match */
+  @Benchmark
+  public boolean everyFunctions() {
+    return Functions.every(functions.positive, array);
+  }
+
+  /** @return true, all arguments match */
+  @Benchmark
+  public boolean everyLoop() {
+    for (Integer item : array) {
+      if (!functions.positive.execute(item)) return false;
+    }
+    return true;
+  }
+
+  /** @return the sum of all arguments */
+  @Benchmark
+  public Integer resolveFunctions() {
+    return Functions.resolve(functions.sum, array);
+  }
+
+  /** @return the sum of all arguments */
+  @Benchmark
+  public Integer resolveLoop() {
+    Integer result = array[0];
+    for (int index = 1; index < array.length; ++index) {
+      result = functions.sum.execute(result, array[index]);
+    }
+    return result;
+  }
+}
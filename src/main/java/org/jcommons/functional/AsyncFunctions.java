@@ -0,0 +1,281 @@
+package org.jcommons.functional;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jcommons.functional.function.UnaryFunction;
+
+/**
+ * Functional programming common functions for functions that block, e.g. on I/O.
+ *
+ * <code>Functions.map</code> waits for each invocation in turn, so the time needed is the sum of all latencies. The
+ * functions in here run up to a given amount of invocations at the same time on an executor and return immediately,
+ * so the time needed gets close to the largest latency. The results keep the order of the given list.
+ *
+ * Any executor can be used, e.g. a fixed thread pool or, on a JDK providing them, an executor starting a virtual thread
+ * per task. Only as many tasks as invocations may run at the same time are submitted, each of them executes the
+ * function on the next element not taken yet until all elements are done.
+ *
+ * The functions applied must be thread safe.
+ */
+public final class AsyncFunctions
+{
+  /** hide default constructor */
+  private AsyncFunctions() {
+  }
+
+  /**
+   * Applies the given function on each item of the given list asynchronously on a shared pool of daemon threads.
+   *
+   * @param function the function to apply
+   * @param list the list of items on which to apply the function, must not be modified until the result is done
+   * @param maxConcurrency the maximum amount of invocations running at the same time
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   * @return the future list containing the respective results in the order of the given list, the list can be null if
+   *         the given list is null. Will be empty if no function is defined.
+   * @throws IllegalArgumentException if the maximum concurrency is not positive
+   */
+  public static <R, T> Future<List<R>> map(final UnaryFunction<R, T> function, final List<T> list,
+    final int maxConcurrency)
+  {
+    return map(DefaultExecutor.INSTANCE, function, list, maxConcurrency);
+  }
+
+  /**
+   * Applies the given function on each item of the given list asynchronously on the given executor.
+   *
+   * If an invocation fails, no further invocations are started and the future fails with the exception thrown.
+   * Cancelling the future stops starting further invocations and interrupts the running ones if requested.
+   *
+   * @param executor the executor to run the invocations on
+   * @param function the function to apply
+   * @param list the list of items on which to apply the function, must not be modified until the result is done
+   * @param maxConcurrency the maximum amount of invocations running at the same time
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   * @return the future list containing the respective results in the order of the given list, the list can be null if
+   *         the given list is null. Will be empty if no function is defined.
+   * @throws IllegalArgumentException if no executor is given or the maximum concurrency is not positive
+   */
+  public static <R, T> Future<List<R>> map(final Executor executor, final UnaryFunction<R, T> function,
+    final List<T> list, final int maxConcurrency)
+  {
+    if (executor == null) throw new IllegalArgumentException("executor must not be null");
+    if (maxConcurrency <= 0) throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+
+    MapResult<R, T> result = new MapResult<R, T>(function, list);
+    if (list == null) {
+      result.complete(null);
+    } else if (function == null || list.isEmpty()) {
+      result.complete(new ArrayList<R>());
+    } else {
+      result.start(executor, maxConcurrency);
+    }
+    return result;
+  }
+
+  /** a lazily created pool of daemon threads, so that it does not keep the virtual machine alive */
+  private static final class DefaultExecutor
+  {
+    private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(new ThreadFactory() {
+      private final AtomicInteger count = new AtomicInteger();
+
+      @Override
+      public Thread newThread(final Runnable runnable) {
+        Thread thread = new Thread(runnable, "async-functions-" + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  /**
+   * The future result of an asynchronous map, also the state shared by the workers computing it.
+   *
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   */
+  private static final class MapResult<R, T>
+    implements Future<List<R>>
+  {
+    private final UnaryFunction<R, T> function;
+    private final Object[] items;
+    private final Object[] results;
+
+    /** the index of the next element to take */
+    private final AtomicInteger next = new AtomicInteger();
+    /** the amount of workers that have not finished yet */
+    private final AtomicInteger workers = new AtomicInteger();
+    /** the threads currently executing the function, to interrupt them on cancellation; also the lock for both */
+    private final Set<Thread> running = new HashSet<Thread>();
+    /** the threads interrupted by a cancellation that have not cleared the interrupt yet, guarded by running */
+    private final Set<Thread> interrupted = new HashSet<Thread>();
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private List<R> value;
+    private Throwable failure;
+    private boolean cancelled;
+    private boolean finished;
+
+    /**
+     * @param function the function to apply
+     * @param list the items to apply the function on
+     */
+    MapResult(final UnaryFunction<R, T> function, final List<T> list) {
+      this.function = function;
+      // copied once so that workers can read the items by index whatever kind of list is given
+      this.items = list == null || function == null ? null : list.toArray();
+      this.results = items == null ? null : new Object[items.length];
+    }
+
+    /**
+     * Submits the workers.
+     *
+     * @param executor the executor to run the workers on
+     * @param maxConcurrency the maximum amount of workers
+     */
+    void start(final Executor executor, final int maxConcurrency) {
+      int count = Math.min(maxConcurrency, items.length);
+      workers.set(count);
+      for (int worker = 0; worker < count; ++worker) {
+        try {
+          executor.execute(new Runnable() {
+            @Override
+            public void run() {
+              work();
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          fail(e);
+          return;
+        }
+      }
+    }
+
+    /** Executes the function on the elements not taken yet, finishes the result once the last worker is done. */
+    @SuppressWarnings("unchecked")
+    private void work() {
+      Thread thread = Thread.currentThread();
+      try {
+        for (int index = next.getAndIncrement(); index < items.length && !isDone(); index = next.getAndIncrement()) {
+          synchronized (running) {
+            running.add(thread);
+          }
+          try {
+            results[index] = function.execute((T) items[index]);
+          } finally {
+            synchronized (running) {
+              running.remove(thread);
+              // an interrupt meant for this element must not hit the next task of a pooled thread, but interrupts
+              // from anyone else, e.g. shutdownNow, must be kept
+              if (interrupted.remove(thread)) {
+                Thread.interrupted();
+              }
+            }
+          }
+        }
+      } catch (RuntimeException e) {
+        fail(e);
+      } catch (Error e) {
+        fail(e);
+        throw e;
+      } finally {
+        if (workers.decrementAndGet() == 0) {
+          complete(new ArrayList<R>((List<R>) Arrays.asList(results)));
+        }
+      }
+    }
+
+    /**
+     * Finishes the result successfully unless it has been finished before.
+     *
+     * @param list the result
+     */
+    synchronized void complete(final List<R> list) {
+      if (finished) return;
+
+      value = list;
+      finish();
+    }
+
+    /**
+     * Finishes the result with a failure unless it has been finished before.
+     *
+     * @param cause the failure
+     */
+    private synchronized void fail(final Throwable cause) {
+      if (finished) return;
+
+      failure = cause;
+      finish();
+    }
+
+    /** marks this result as done and wakes up all waiting threads */
+    private void finish() {
+      finished = true;
+      done.countDown();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+      synchronized (this) {
+        if (finished) return false;
+
+        cancelled = true;
+        finish();
+      }
+
+      if (mayInterruptIfRunning) {
+        // under the lock, so that a thread that has left the function already is not interrupted anymore
+        synchronized (running) {
+          for (Thread thread : running) {
+            interrupted.add(thread);
+            thread.interrupt();
+          }
+        }
+      }
+      return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized boolean isCancelled() {
+      return cancelled;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isDone() {
+      return done.getCount() == 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<R> get() throws InterruptedException, ExecutionException {
+      done.await();
+      return value();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<R> get(final long timeout, final TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException
+    {
+      if (!done.await(timeout, unit)) throw new TimeoutException();
+      return value();
+    }
+
+    /**
+     * @return the result once done
+     * @throws ExecutionException if an invocation failed
+     */
+    private synchronized List<R> value() throws ExecutionException {
+      if (cancelled) throw new CancellationException();
+      if (failure != null) throw new ExecutionException(failure);
+      return value;
+    }
+  }
+}
@@ -0,0 +1,355 @@
+package org.jcommons.functional;
+
+import java.util.*;
+
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.predicate.UnaryPredicate;
+
+/**
+ * Combines functions and predicates into new ones.
+ *
+ * Compositions replace hand-written wrapper classes. Each kind of composition is a small final class holding its
+ * operands in final fields: conjunctions and disjunctions of up to four predicates have a class per arity instead of
+ * looping over an array, longer ones nest further conjunctions or disjunctions, and a double negation is removed.
+ *
+ * The JIT profiles the receiver classes of a call per class, so the calls inside these classes stay monomorphic only
+ * as long as a program composes a single combination of classes per kind of composition. Once it composes several,
+ * the calls inside the shared class see all of them and may no longer be inlined, while a hand-written wrapper only
+ * ever sees the functions it was written for. See <code>CompositionBenchmark</code> in the benchmarks project.
+ *
+ * <pre>
+ * UnaryFunction&lt;String, Customer&gt; upperName = Compositions.andThen(new GetName(), new ToUpperCase());
+ * UnaryPredicate&lt;Customer&gt; wanted = Compositions.and(new IsActive(), Compositions.not(new IsBlocked()));
+ * List&lt;String&gt; names = Functions.map(upperName, Functions.filter(wanted, customers));
+ * </pre>
+ */
+public final class Compositions
+{
+  /** hide default constructor */
+  private Compositions() {
+  }
+
+  /**
+   * Creates a function that applies the inner function and then the outer function on its result.
+   *
+   * @param outer the function applied second
+   * @param inner the function applied first
+   * @param <R> template for the return class
+   * @param <S> template for the intermediate class
+   * @param <T> template for the object class
+   * @return the function <code>outer(inner(argument))</code>, null if one of the functions is null
+   */
+  public static <R, S, T> UnaryFunction<R, T> compose(final UnaryFunction<R, S> outer,
+    final UnaryFunction<S, T> inner)
+  {
+    if (outer == null || inner == null) return null;
+    return new Composition<R, S, T>(outer, inner);
+  }
+
+  /**
+   * Creates a function that applies the first function and then the second function on its result.
+   *
+   * @param first the function applied first
+   * @param second the function applied second
+   * @param <R> template for the return class
+   * @param <S> template for the intermediate class
+   * @param <T> template for the object class
+   * @return the function <code>second(first(argument))</code>, null if one of the functions is null
+   */
+  public static <R, S, T> UnaryFunction<R, T> andThen(final UnaryFunction<S, T> first,
+    final UnaryFunction<R, S> second)
+  {
+    return compose(second, first);
+  }
+
+  /**
+   * Creates a predicate that evaluates the given function and tests its result.
+   *
+   * @param function the function to apply
+   * @param predicate the predicate to test the result of the function with
+   * @param <R> template for the intermediate class
+   * @param <T> template for the object class
+   * @return the predicate <code>predicate(function(argument))</code>, null if the function or predicate is null
+   */
+  public static <R, T> UnaryPredicate<T> test(final UnaryFunction<R, T> function, final UnaryPredicate<R> predicate) {
+    if (function == null || predicate == null) return null;
+    return new Test<R, T>(function, predicate);
+  }
+
+  /**
+   * Creates a predicate that holds if all given predicates hold, evaluating them in order up to the first failing one.
+   *
+   * @param predicates the predicates to combine, null ones are skipped
+   * @param <T> template for the object class
+   * @return the conjunction of the predicates, always true if there are none
+   */
+  @SafeVarargs
+  public static <T> UnaryPredicate<T> and(final UnaryPredicate<T>... predicates) {
+    return junction(nonNull(predicates), 0, true);
+  }
+
+  /**
+   * Creates a predicate that holds if any given predicate holds, evaluating them in order up to the first matching one.
+   *
+   * @param predicates the predicates to combine, null ones are skipped
+   * @param <T> template for the object class
+   * @return the disjunction of the predicates, always false if there are none
+   */
+  @SafeVarargs
+  public static <T> UnaryPredicate<T> or(final UnaryPredicate<T>... predicates) {
+    return junction(nonNull(predicates), 0, false);
+  }
+
+  /**
+   * Creates a predicate that holds if the given predicate does not.
+   *
+   * @param predicate the predicate to negate
+   * @param <T> template for the object class
+   * @return the negation of the predicate, null if the predicate is null
+   */
+  public static <T> UnaryPredicate<T> not(final UnaryPredicate<T> predicate) {
+    if (predicate == null) return null;
+    if (predicate instanceof Negation) return ((Negation<T>) predicate).predicate;
+    return new Negation<T>(predicate);
+  }
+
+  /**
+   * Collects the predicates to combine.
+   *
+   * @param predicates the predicates to combine, may be null
+   * @param <T> template for the object class
+   * @return the predicates which are not null, in order
+   */
+  private static <T> List<UnaryPredicate<T>> nonNull(final UnaryPredicate<T>[] predicates) {
+    List<UnaryPredicate<T>> result = new ArrayList<UnaryPredicate<T>>();
+    if (predicates != null) {
+      for (UnaryPredicate<T> predicate : predicates) {
+        if (predicate != null) {
+          result.add(predicate);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Combines the predicates from the given index on, nesting a further junction for more than four of them.
+   *
+   * @param predicates the predicates to combine, not null
+   * @param from the index of the first predicate to combine
+   * @param conjunction true for a conjunction, false for a disjunction
+   * @param <T> template for the object class
+   * @return the conjunction or disjunction of the predicates
+   */
+  private static <T> UnaryPredicate<T> junction(final List<UnaryPredicate<T>> predicates, final int from,
+    final boolean conjunction)
+  {
+    int count = predicates.size() - from;
+    if (count == 0) return new Constant<T>(conjunction);
+    if (count == 1) return predicates.get(from);
+
+    UnaryPredicate<T> first = predicates.get(from);
+    UnaryPredicate<T> second = predicates.get(from + 1);
+    if (count == 2) return conjunction ? new And2<T>(first, second) : new Or2<T>(first, second);
+
+    UnaryPredicate<T> third = predicates.get(from + 2);
+    if (count == 3) return conjunction ? new And3<T>(first, second, third) : new Or3<T>(first, second, third);
+
+    UnaryPredicate<T> rest = junction(predicates, from + 3, conjunction);
+    return conjunction ? new And4<T>(first, second, third, rest) : new Or4<T>(first, second, third, rest);
+  }
+
+  /** applies one function on the result of another */
+  private static final class Composition<R, S, T>
+    implements UnaryFunction<R, T>
+  {
+    private final UnaryFunction<R, S> outer;
+    private final UnaryFunction<S, T> inner;
+
+    Composition(final UnaryFunction<R, S> outer, final UnaryFunction<S, T> inner) {
+      this.outer = outer;
+      this.inner = inner;
+    }
+
+    @Override
+    public R execute(final T argument) {
+      return outer.execute(inner.execute(argument));
+    }
+  }
+
+  /** tests the result of a function */
+  private static final class Test<R, T>
+    implements UnaryPredicate<T>
+  {
+    private final UnaryFunction<R, T> function;
+    private final UnaryPredicate<R> predicate;
+
+    Test(final UnaryFunction<R, T> function, final UnaryPredicate<R> predicate) {
+      this.function = function;
+      this.predicate = predicate;
+    }
+
+    @Override
+    public boolean execute(final T argument) {
+      return predicate.execute(function.execute(argument));
+    }
+  }
+
+  /** negates a predicate */
+  private static final class Negation<T>
+    implements UnaryPredicate<T>
+  {
+    private final UnaryPredicate<T> predicate;
+
+    Negation(final UnaryPredicate<T> predicate) {
+      this.predicate = predicate;
+    }
+
+    @Override
+    public boolean execute(final T argument) {
+      return !predicate.execute(argument);
+    }
+  }
+
+  /** the conjunction or disjunction of no predicates */
+  private static final class Constant<T>
+    implements UnaryPredicate<T>
+  {
+    private final boolean result;
+
+    Constant(final boolean result) {
+      this.result = result;
+    }
+
+    @Override
+    public boolean execute(final T argument) {
+      return result;
+    }
+  }
+
+  /** the conjunction of two predicates */
+  private static final class And2<T>
+    implements UnaryPredicate<T>
+  {
+    private final UnaryPredicate<T> first;
+    private final UnaryPredicate<T> second;
+
+    And2(final UnaryPredicate<T> first, final UnaryPredicate<T> second) {
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    public boolean execute(final T argument) {
+      return first.execute(argument) && second.execute(argument);
+    }
+  }
+
+  /** the conjunction of three predicates */
+  private static final class And3<T>
+    implements UnaryPredicate<T>
+  {
+    private final UnaryPredicate<T> first;
+    private final UnaryPredicate<T> second;
+    private final UnaryPredicate<T> third;
+
+    And3(final UnaryPredicate<T> first, final UnaryPredicate<T> second, final UnaryPredicate<T> third) {
+      this.first = first;
+      this.second = second;
+      this.third = third;
+    }
+
+    @Override
+    public boolean execute(final T argument) {
+      return first.execute(argument) && second.execute(argument) && third.execute(argument);
+    }
+  }
+
+  /** the conjunction of four predicates, the last one may be a further conjunction */
+  private static final class And4<T>
+    implements UnaryPredicate<T>
+  {
+    private final UnaryPredicate<T> first;
+    private final UnaryPredicate<T> second;
+    private final UnaryPredicate<T> third;
+    private final UnaryPredicate<T> fourth;
+
+    And4(final UnaryPredicate<T> first, final UnaryPredicate<T> second, final UnaryPredicate<T> third,
+      final UnaryPredicate<T> fourth)
+    {
+      this.first = first;
+      this.second = second;
+      this.third = third;
+      this.fourth = fourth;
+    }
+
+    @Override
+    public boolean execute(final T argument) {
+      return first.execute(argument) && second.execute(argument) && third.execute(argument)
+        && fourth.execute(argument);
+    }
+  }
+
+  /** the disjunction of two predicates */
+  private static final class Or2<T>
+    implements UnaryPredicate<T>
+  {
+    private final UnaryPredicate<T> first;
+    private final UnaryPredicate<T> second;
+
+    Or2(final UnaryPredicate<T> first, final UnaryPredicate<T> second) {
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    public boolean execute(final T argument) {
+      return first.execute(argument) || second.execute(argument);
+    }
+  }
+
+  /** the disjunction of three predicates */
+  private static final class Or3<T>
+    implements UnaryPredicate<T>
+  {
+    private final UnaryPredicate<T> first;
+    private final UnaryPredicate<T> second;
+    private final UnaryPredicate<T> third;
+
+    Or3(final UnaryPredicate<T> first, final UnaryPredicate<T> second, final UnaryPredicate<T> third) {
+      this.first = first;
+      this.second = second;
+      this.third = third;
+    }
+
+    @Override
+    public boolean execute(final T argument) {
+      return first.execute(argument) || second.execute(argument) || third.execute(argument);
+    }
+  }
+
+  /** the disjunction of four predicates, the last one may be a further disjunction */
+  private static final class Or4<T>
+    implements UnaryPredicate<T>
+  {
+    private final UnaryPredicate<T> first;
+    private final UnaryPredicate<T> second;
+    private final UnaryPredicate<T> third;
+    private final UnaryPredicate<T> fourth;
+
+    Or4(final UnaryPredicate<T> first, final UnaryPredicate<T> second, final UnaryPredicate<T> third,
+      final UnaryPredicate<T> fourth)
+    {
+      this.first = first;
+      this.second = second;
+      this.third = third;
+      this.fourth = fourth;
+    }
+
+    @Override
+    public boolean execute(final T argument) {
+      return first.execute(argument) || second.execute(argument) || third.execute(argument)
+        || fourth.execute(argument);
+    }
+  }
+}
@@ -1,9 +1,26 @@
 package org.jcommons.functional;
 
+import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.jcommons.functional.function.BinaryFunction;
+import org.jcommons.functional.function.DoubleBinaryFunction;
+import org.jcommons.functional.function.DoubleUnaryFunction;
+import org.jcommons.functional.function.IntBinaryFunction;
+import org.jcommons.functional.function.IntUnaryFunction;
+import org.jcommons.functional.function.LongBinaryFunction;
+import org.jcommons.functional.function.LongUnaryFunction;
+import org.jcommons.functional.function.NaryFunction;
+import org.jcommons.functional.function.ToDoubleFunction;
+import org.jcommons.functional.function.ToIntFunction;
+import org.jcommons.functional.function.ToLongFunction;
 import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.predicate.BinaryPredicate;
+import org.jcommons.functional.predicate.DoublePredicate;
+import org.jcommons.functional.predicate.IntPredicate;
+import org.jcommons.functional.predicate.LongPredicate;
+import org.jcommons.functional.predicate.NaryPredicate;
 import org.jcommons.functional.predicate.UnaryPredicate;
 
 /**
@@ -52,9 +69,13 @@ public final class Functions
    */
   public static <R, T> void forEach(final UnaryFunction<R, T> function, final List<T> list) {
     if (list == null || function == null) return;
+    if (!(list instanceof RandomAccess)) {
+      forEach(function, list.iterator());
+      return;
+    }
 
-    for (T item : list) {
-      function.execute(item);
+    for (int index = 0, size = list.size(); index < size; ++index) {
+      function.execute(list.get(index));
     }
   }
 
@@ -69,7 +90,39 @@ public final class Functions
   @SafeVarargs
   public static <R, T> void forEach(final UnaryFunction<R, T> function, final T... list) {
     if (list == null || function == null) return;
-    forEach(function, Arrays.asList(list));
+
+    for (T item : list) {
+      function.execute(item);
+    }
+  }
+
+  /**
+   * Executes the given function on each item of the given iterable.
+   *
+   * @param function the function to apply
+   * @param iterable the items on which to apply the function
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   */
+  public static <R, T> void forEach(final UnaryFunction<R, T> function, final Iterable<T> iterable) {
+    if (iterable == null || function == null) return;
+    forEach(function, iterable.iterator());
+  }
+
+  /**
+   * Executes the given function on each remaining item of the given iterator, reading one item at a time.
+   *
+   * @param function the function to apply
+   * @param iterator the items on which to apply the function
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   */
+  public static <R, T> void forEach(final UnaryFunction<R, T> function, final Iterator<T> iterator) {
+    if (iterator == null || function == null) return;
+
+    while (iterator.hasNext()) {
+      function.execute(iterator.next());
+    }
   }
 
   /**
@@ -86,12 +139,17 @@ public final class Functions
     if (list == null) return null;
 
     List<R> result = new ArrayList<R>(list.size());
-    for (T item : list) {
-      if (function != null) {
+    if (function == null) return result;
+
+    if (list instanceof RandomAccess) {
+      for (int index = 0, size = list.size(); index < size; ++index) {
+        result.add(function.execute(list.get(index)));
+      }
+    } else {
+      for (T item : list) {
         result.add(function.execute(item));
       }
     }
-
     return result;
   }
 
@@ -108,7 +166,158 @@ public final class Functions
   @SafeVarargs
   public static <R, T> List<R> map(final UnaryFunction<R, T> function, final T... list) {
     if (list == null) return null;
-    return map(function, Arrays.asList(list));
+
+    List<R> result = new ArrayList<R>(list.length);
+    if (function != null) {
+      for (T item : list) {
+        result.add(function.execute(item));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Applies the given function on each item of the given list and collects the primitive results.
+   *
+   * @param function the function to apply, e.g. extracting a numeric field
+   * @param list the list of items on which to apply the function
+   * @param <T> template for the object class
+   * @return an array containing the respective results, can be null if the list is null. Will be empty if no function
+   *         is defined.
+   */
+  public static <T> int[] mapToInt(final ToIntFunction<T> function, final List<T> list) {
+    if (list == null) return null;
+    if (function == null) return new int[0];
+
+    int[] result = new int[list.size()];
+    if (list instanceof RandomAccess) {
+      for (int index = 0; index < result.length; ++index) {
+        result[index] = function.execute(list.get(index));
+      }
+    } else {
+      int index = 0;
+      for (T item : list) {
+        result[index++] = function.execute(item);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Applies the given function on each item of the argument list and collects the primitive results.
+   *
+   * @param function the function to apply, e.g. extracting a numeric field
+   * @param list the list of items on which to apply the function
+   * @param <T> template for the object class
+   * @return an array containing the respective results, can be null if the list is null. Will be empty if no function
+   *         is defined.
+   */
+  @SafeVarargs
+  public static <T> int[] mapToInt(final ToIntFunction<T> function, final T... list) {
+    if (list == null) return null;
+    if (function == null) return new int[0];
+
+    int[] result = new int[list.length];
+    for (int index = 0; index < list.length; ++index) {
+      result[index] = function.execute(list[index]);
+    }
+    return result;
+  }
+
+  /**
+   * Applies the given function on each item of the given list and collects the primitive results.
+   *
+   * @param function the function to apply, e.g. extracting a numeric field
+   * @param list the list of items on which to apply the function
+   * @param <T> template for the object class
+   * @return an array containing the respective results, can be null if the list is null. Will be empty if no function
+   *         is defined.
+   */
+  public static <T> long[] mapToLong(final ToLongFunction<T> function, final List<T> list) {
+    if (list == null) return null;
+    if (function == null) return new long[0];
+
+    long[] result = new long[list.size()];
+    if (list instanceof RandomAccess) {
+      for (int index = 0; index < result.length; ++index) {
+        result[index] = function.execute(list.get(index));
+      }
+    } else {
+      int index = 0;
+      for (T item : list) {
+        result[index++] = function.execute(item);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Applies the given function on each item of the argument list and collects the primitive results.
+   *
+   * @param function the function to apply, e.g. extracting a numeric field
+   * @param list the list of items on which to apply the function
+   * @param <T> template for the object class
+   * @return an array containing the respective results, can be null if the list is null. Will be empty if no function
+   *         is defined.
+   */
+  @SafeVarargs
+  public static <T> long[] mapToLong(final ToLongFunction<T> function, final T... list) {
+    if (list == null) return null;
+    if (function == null) return new long[0];
+
+    long[] result = new long[list.length];
+    for (int index = 0; index < list.length; ++index) {
+      result[index] = function.execute(list[index]);
+    }
+    return result;
+  }
+
+  /**
+   * Applies the given function on each item of the given list and collects the primitive results.
+   *
+   * @param function the function to apply, e.g. extracting a numeric field
+   * @param list the list of items on which to apply the function
+   * @param <T> template for the object class
+   * @return an array containing the respective results, can be null if the list is null. Will be empty if no function
+   *         is defined.
+   */
+  public static <T> double[] mapToDouble(final ToDoubleFunction<T> function, final List<T> list) {
+    if (list == null) return null;
+    if (function == null) return new double[0];
+
+    double[] result = new double[list.size()];
+    if (list instanceof RandomAccess) {
+      for (int index = 0; index < result.length; ++index) {
+        result[index] = function.execute(list.get(index));
+      }
+    } else {
+      int index = 0;
+      for (T item : list) {
+        result[index++] = function.execute(item);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Applies the given function on each item of the argument list and collects the primitive results.
+   *
+   * @param function the function to apply, e.g. extracting a numeric field
+   * @param list the list of items on which to apply the function
+   * @param <T> template for the object class
+   * @return an array containing the respective results, can be null if the list is null. Will be empty if no function
+   *         is defined.
+   */
+  @SafeVarargs
+  public static <T> double[] mapToDouble(final ToDoubleFunction<T> function, final T... list) {
+    if (list == null) return null;
+    if (function == null) return new double[0];
+
+    double[] result = new double[list.length];
+    for (int index = 0; index < list.length; ++index) {
+      result[index] = function.execute(list[index]);
+    }
+    return result;
   }
 
   /**
@@ -121,15 +330,12 @@ public final class Functions
    */
   public static <T> boolean some(final UnaryPredicate<T> predicate, final List<T> list) {
     if (list == null || predicate == null) return false;
+    if (!(list instanceof RandomAccess)) return some(predicate, list.iterator());
 
-    boolean matches = false;
-    for (T item : list) {
-      matches = predicate.execute(item);
-      if (matches) {
-        break;
-      }
+    for (int index = 0, size = list.size(); index < size; ++index) {
+      if (predicate.execute(list.get(index))) return true;
     }
-    return matches;
+    return false;
   }
 
   /**
@@ -143,7 +349,43 @@ public final class Functions
   @SafeVarargs
   public static <T> boolean some(final UnaryPredicate<T> predicate, final T... list) {
     if (list == null || predicate == null) return false;
-    return some(predicate, Arrays.asList(list));
+
+    for (T item : list) {
+      if (predicate.execute(item)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Determines if at least one element of the given iterable fits the predicate.
+   *
+   * @param predicate the predicate to apply
+   * @param iterable the elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return true if at least one element meets the predicate, otherwise false
+   */
+  public static <T> boolean some(final UnaryPredicate<T> predicate, final Iterable<T> iterable) {
+    if (iterable == null || predicate == null) return false;
+    return some(predicate, iterable.iterator());
+  }
+
+  /**
+   * Determines if at least one remaining element of the given iterator fits the predicate.
+   *
+   * The iterator is only read up to the first matching element.
+   *
+   * @param predicate the predicate to apply
+   * @param iterator the elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return true if at least one element meets the predicate, otherwise false
+   */
+  public static <T> boolean some(final UnaryPredicate<T> predicate, final Iterator<T> iterator) {
+    if (iterator == null || predicate == null) return false;
+
+    while (iterator.hasNext()) {
+      if (predicate.execute(iterator.next())) return true;
+    }
+    return false;
   }
 
   /**
@@ -156,15 +398,12 @@ public final class Functions
    */
   public static <T> boolean every(final UnaryPredicate<T> predicate, final List<T> list) {
     if (list == null || predicate == null) return false;
+    if (!(list instanceof RandomAccess)) return every(predicate, list.iterator());
 
-    boolean matches = true;
-    for (T item : list) {
-      matches = predicate.execute(item);
-      if (!matches) {
-        break;
-      }
+    for (int index = 0, size = list.size(); index < size; ++index) {
+      if (!predicate.execute(list.get(index))) return false;
     }
-    return matches;
+    return true;
   }
 
   /**
@@ -178,7 +417,43 @@ public final class Functions
   @SafeVarargs
   public static <T> boolean every(final UnaryPredicate<T> predicate, final T... list) {
     if (list == null || predicate == null) return false;
-    return every(predicate, Arrays.asList(list));
+
+    for (T item : list) {
+      if (!predicate.execute(item)) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Determine if every element of the given iterable fits the predicate.
+   *
+   * @param predicate the predicate to apply
+   * @param iterable the elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return true if all elements meets the predicate, otherwise false
+   */
+  public static <T> boolean every(final UnaryPredicate<T> predicate, final Iterable<T> iterable) {
+    if (iterable == null || predicate == null) return false;
+    return every(predicate, iterable.iterator());
+  }
+
+  /**
+   * Determine if every remaining element of the given iterator fits the predicate.
+   *
+   * The iterator is only read up to the first element not matching.
+   *
+   * @param predicate the predicate to apply
+   * @param iterator the elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return true if all elements meets the predicate, otherwise false
+   */
+  public static <T> boolean every(final UnaryPredicate<T> predicate, final Iterator<T> iterator) {
+    if (iterator == null || predicate == null) return false;
+
+    while (iterator.hasNext()) {
+      if (!predicate.execute(iterator.next())) return false;
+    }
+    return true;
   }
 
   /**
@@ -196,14 +471,21 @@ public final class Functions
     // may be oversized, but at least it will be fast
     List<T> result = new ArrayList<T>(list.size());
 
-    for (T item : list) {
-      if (predicate != null) {
+    // every item is matched if no predicate is given
+    if (predicate == null) {
+      result.addAll(list);
+    } else if (list instanceof RandomAccess) {
+      for (int index = 0, size = list.size(); index < size; ++index) {
+        T item = list.get(index);
+        if (predicate.execute(item)) {
+          result.add(item);
+        }
+      }
+    } else {
+      for (T item : list) {
         if (predicate.execute(item)) {
           result.add(item);
         }
-      } else {
-        // every item is matched if no predicate is given
-        result.add(item);
       }
     }
     return result;
@@ -221,112 +503,559 @@ public final class Functions
   @SafeVarargs
   public static <T> List<T> filter(final UnaryPredicate<T> predicate, final T... list) {
     if (list == null) return null;
-    return filter(predicate, Arrays.asList(list));
+
+    List<T> result = new ArrayList<T>(list.length);
+    for (T item : list) {
+      // every item is matched if no predicate is given
+      if (predicate == null || predicate.execute(item)) {
+        result.add(item);
+      }
+    }
+    return result;
   }
 
   /**
-   * Eliminates all elements from the list until a single element is left over.
+   * Retrieve only those elements that meet the given predicate in a list of exactly the required size.
    *
-   * @param function the function to reduce two values to one
-   * @param list the list of elements to resolve, e.g. sum up
+   * In contrast to <code>filter</code>, the result does not keep a backing array as large as the given list. The
+   * matches are first remembered in a bit set, one bit per element, and the result is created once the amount of
+   * matches is known. Prefer this if the result is kept for a long time and the predicate is selective.
+   *
+   * @param predicate the predicate to apply
+   * @param list the list of elements to apply the predicate to
    * @param <T> template for the object class
-   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
-   *         function is given.
+   * @return the list of elements that meet the predicate. If no function is defined, all items will be returned. If the
+   *         list is null, null will be returned.
    */
-  public static <T> T resolve(final BinaryFunction<T, T> function, final List<T> list) {
-    return resolve(null, function, list);
+  public static <T> List<T> filterCompact(final UnaryPredicate<T> predicate, final List<T> list) {
+    if (list == null) return null;
+    if (predicate == null) return new ArrayList<T>(list);
+    return pick(select(predicate, list), list);
   }
 
   /**
-   * Eliminates all elements from the list until a single element is left over.
+   * Determines the indices of those elements that meet the given predicate.
    *
-   * @param function the function to reduce two values to one
-   * @param list the list of elements to resolve, e.g. sum up
+   * @param predicate the predicate to apply
+   * @param list the list of elements to apply the predicate to
    * @param <T> template for the object class
-   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
-   *         function is given.
+   * @return a bit set where the bit of each matching index is set. If no predicate is defined, all indices will be set.
+   *         If the list is null, null will be returned.
    */
-  @SafeVarargs
-  public static <T> T resolve(final BinaryFunction<T, T> function, final T... list) {
-    if (list == null || function == null) return null;
-    return resolve(function, Arrays.asList(list));
+  public static <T> BitSet select(final UnaryPredicate<T> predicate, final List<T> list) {
+    if (list == null) return null;
+
+    int size = list.size();
+    BitSet selection = new BitSet(size);
+    if (predicate == null) {
+      selection.set(0, size);
+    } else if (list instanceof RandomAccess) {
+      for (int index = 0; index < size; ++index) {
+        if (predicate.execute(list.get(index))) {
+          selection.set(index);
+        }
+      }
+    } else {
+      int index = 0;
+      for (T item : list) {
+        if (predicate.execute(item)) {
+          selection.set(index);
+        }
+        ++index;
+      }
+    }
+    return selection;
   }
 
   /**
-   * Eliminates all elements from the list until a single element is left over.
+   * Retrieves the elements at the given indices in a list of exactly the required size.
    *
-   * @param initial an initial value to start the reduction
-   * @param function the function to reduce two values to one
-   * @param list the list of elements to resolve, e.g. sum up
+   * @param selection the indices of the elements to retrieve, indices beyond the end of the list are ignored
+   * @param list the list of elements to pick from
    * @param <T> template for the object class
-   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
-   *         function is given.
+   * @return the elements at the selected indices in the order of the list. If no selection is given, no elements will
+   *         be returned. If the list is null, null will be returned.
    */
-  public static <T> T resolve(final T initial, final BinaryFunction<T, T> function, final List<T> list) {
-    if (list == null || function == null) return null;
-
-    T result = initial;
-    boolean first = true;
+  public static <T> List<T> pick(final BitSet selection, final List<T> list) {
+    if (list == null) return null;
+    if (selection == null) return new ArrayList<T>(0);
 
-    for (T item : list) {
-      if (first && initial == null) {
-        // initialize with the first value of the list
-        result = item;
-      } else {
-        result = function.execute(result, item);
+    int size = list.size();
+    int count = selection.length() <= size ? selection.cardinality() : selection.get(0, size).cardinality();
+    List<T> result = new ArrayList<T>(count);
+    if (list instanceof RandomAccess) {
+      for (int index = selection.nextSetBit(0); index >= 0 && index < size; index = selection.nextSetBit(index + 1)) {
+        result.add(list.get(index));
+      }
+    } else {
+      Iterator<T> iterator = list.iterator();
+      for (int index = 0; result.size() < count; ++index) {
+        T item = iterator.next();
+        if (selection.get(index)) {
+          result.add(item);
+        }
       }
-      first = false;
     }
-
     return result;
   }
 
   /**
-   * Eliminates all elements from the array until a single element is left over.
+   * Applies the given function on batches of consecutive items of the given list.
    *
-   * @param initial an initial value to start the reduction
-   * @param function the function to reduce two values to one
-   * @param list the list of elements to resolve, e.g. sum up
+   * Functions backed by bulk operations, e.g. a lookup of many keys at once, are executed once per batch instead of
+   * once per element. The last batch may be smaller than the others. The batches are read-only and must not be kept
+   * after the function returns.
+   *
+   * @param function the function to apply, must return one result per element of the batch in the same order
+   * @param list the list of items on which to apply the function
+   * @param batchSize the maximum amount of items passed to the function at once
+   * @param <R> template for the return class
    * @param <T> template for the object class
-   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
-   *         function is given.
+   * @return a corresponding list containing the respective results, can be null if the list is null. Will be empty if
+   *         no function is defined.
+   * @throws IllegalArgumentException if the batch size is not positive
+   * @throws IllegalStateException if the function does not return exactly one result per element of a batch
    */
-  @SafeVarargs
-  public static <T> T resolve(final T initial, final BinaryFunction<T, T> function, final T... list) {
-    if (list == null || function == null) return null;
-    return resolve(initial, function, Arrays.asList(list));
+  public static <R, T> List<R> mapBatched(final NaryFunction<List<R>, T> function, final List<T> list,
+    final int batchSize)
+  {
+    if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+    if (list == null) return null;
+    if (function == null) return new ArrayList<R>();
+
+    int size = list.size();
+    List<R> result = new ArrayList<R>(size);
+    Iterator<T> iterator = list instanceof RandomAccess ? null : list.iterator();
+    for (int from = 0; from < size; from += batchSize) {
+      List<T> batch = batch(list, iterator, from, Math.min(size, from + batchSize));
+      List<R> results = function.execute(batch);
+      if (results == null || results.size() != batch.size()) {
+        throw new IllegalStateException("Expected " + batch.size() + " results for the batch at " + from + " but got "
+            + (results == null ? "none" : Integer.toString(results.size())));
+      }
+      result.addAll(results);
+    }
+    return result;
   }
 
   /**
-   * Eliminates all elements from the list until a single element is left over.
+   * Determine if the predicate holds for at least one batch of consecutive elements of the list.
    *
-   * Alternative name for <code>resolve</code>.
+   * The predicate decides for a whole batch at once, e.g. if any of its elements is known to a remote service. The
+   * remaining batches are not read once a batch meets the predicate. The batches are read-only and must not be kept
+   * after the predicate returns.
    *
-   * @param function the function to reduce two values to one
-   * @param list the list of elements to resolve, e.g. sum up
+   * @param predicate the predicate to apply on each batch
+   * @param list the list of elements to apply the predicate to
+   * @param batchSize the maximum amount of elements passed to the predicate at once
    * @param <T> template for the object class
-   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
-   *         function is given.
+   * @return true if at least one batch meets the predicate, otherwise false
+   * @throws IllegalArgumentException if the batch size is not positive
    */
-  public static <T> T reduce(final BinaryFunction<T, T> function, final List<T> list) {
-    return resolve(null, function, list);
+  public static <T> boolean someBatched(final NaryPredicate<T> predicate, final List<T> list, final int batchSize) {
+    return matchBatched(predicate, list, batchSize, true);
   }
 
   /**
-   * Eliminates all elements from the list until a single element is left over.
+   * Determine if the predicate holds for every batch of consecutive elements of the list.
    *
-   * Alternative name for <code>resolve</code>.
+   * The predicate decides for a whole batch at once, e.g. if all of its elements are valid. The remaining batches are
+   * not read once a batch does not meet the predicate. The batches are read-only and must not be kept after the
+   * predicate returns.
    *
-   * @param function the function to reduce two values to one
-   * @param list the list of elements to resolve, e.g. sum up
+   * @param predicate the predicate to apply on each batch
+   * @param list the list of elements to apply the predicate to
+   * @param batchSize the maximum amount of elements passed to the predicate at once
+   * @param <T> template for the object class
+   * @return true if all batches meet the predicate, otherwise false
+   * @throws IllegalArgumentException if the batch size is not positive
+   */
+  public static <T> boolean everyBatched(final NaryPredicate<T> predicate, final List<T> list, final int batchSize) {
+    return !matchBatched(predicate, list, batchSize, false);
+  }
+
+  /**
+   * Searches for a batch the predicate evaluates to the given result for.
+   *
+   * @param predicate the predicate to apply on each batch
+   * @param list the list of elements to apply the predicate to
+   * @param batchSize the maximum amount of elements passed to the predicate at once
+   * @param wanted the result of the predicate looked for, true for some and false for every
+   * @param <T> template for the object class
+   * @return true if such a batch has been found, also if there is no list or predicate; otherwise false
+   */
+  private static <T> boolean matchBatched(final NaryPredicate<T> predicate, final List<T> list, final int batchSize,
+    final boolean wanted)
+  {
+    if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+    // like some and every, both are false without a list or predicate
+    if (list == null || predicate == null) return !wanted;
+
+    int size = list.size();
+    Iterator<T> iterator = list instanceof RandomAccess ? null : list.iterator();
+    for (int from = 0; from < size; from += batchSize) {
+      if (predicate.execute(batch(list, iterator, from, Math.min(size, from + batchSize))) == wanted) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Retrieves a range of consecutive elements.
+   *
+   * @param list the list to read from
+   * @param iterator the iterator positioned at the start of the range if the list has no random access, otherwise
+   *          null
+   * @param from the index of the first element of the range
+   * @param to the index after the last element of the range
+   * @param <T> template for the object class
+   * @return a read-only view on the range for lists with random access, otherwise a copy of the range
+   */
+  private static <T> List<T> batch(final List<T> list, final Iterator<T> iterator, final int from, final int to) {
+    if (iterator == null) return Collections.unmodifiableList(list.subList(from, to));
+
+    List<T> batch = new ArrayList<T>(to - from);
+    for (int index = from; index < to; ++index) {
+      batch.add(iterator.next());
+    }
+    return Collections.unmodifiableList(batch);
+  }
+
+  /**
+   * Groups the elements of the list by their key in a single pass.
+   *
+   * @param key the function retrieving the key of an element, may return null
+   * @param list the list of elements to group
+   * @param <K> template for the key class
+   * @param <T> template for the object class
+   * @return the elements per key in the order of the list, the keys in the order of their first element. Will be null
+   *         if the list is null, empty if no function is defined.
+   */
+  public static <K, T> Map<K, List<T>> groupBy(final UnaryFunction<K, T> key, final List<T> list) {
+    if (list == null) return null;
+    if (key == null) return new LinkedHashMap<K, List<T>>();
+    return GroupTable.group(key, list).toMap();
+  }
+
+  /**
+   * Combines the elements of the list with an equal key in a single pass.
+   *
+   * @param key the function retrieving the key of an element, may return null
+   * @param function the function to reduce two elements of the same key to one
+   * @param list the list of elements to aggregate
+   * @param <K> template for the key class
+   * @param <T> template for the object class
+   * @return the single element left per key after reducing all elements with that key in the order of the list, the
+   *         keys in the order of their first element. Will be null if the list is null, empty if no function is
+   *         defined.
+   */
+  public static <K, T> Map<K, T> aggregateBy(final UnaryFunction<K, T> key, final BinaryFunction<T, T> function,
+    final List<T> list)
+  {
+    return aggregateBy(key, Functions.<T> identity(), function, list);
+  }
+
+  /**
+   * Combines the values of the elements of the list with an equal key in a single pass, e.g. sums up an amount per
+   * customer.
+   *
+   * @param key the function retrieving the key of an element, may return null
+   * @param value the function retrieving the value of an element
+   * @param function the function to reduce two values of the same key to one
+   * @param list the list of elements to aggregate
+   * @param <K> template for the key class
+   * @param <V> template for the value class
+   * @param <T> template for the object class
+   * @return the single value left per key after reducing all values with that key in the order of the list, the keys
+   *         in the order of their first element. Will be null if the list is null, empty if any function is not
+   *         defined.
+   */
+  public static <K, V, T> Map<K, V> aggregateBy(final UnaryFunction<K, T> key, final UnaryFunction<V, T> value,
+    final BinaryFunction<V, V> function, final List<T> list)
+  {
+    if (list == null) return null;
+    if (key == null || value == null || function == null) return new LinkedHashMap<K, V>();
+    return GroupTable.aggregate(key, value, function, list).toMap();
+  }
+
+  /**
+   * Retrieves the greatest elements of the list without sorting the whole list.
+   *
+   * The elements are kept in a heap bounded by the amount wanted, which takes <code>O(n log k)</code> instead of
+   * <code>O(n log n)</code> for sorting the list. Elements that are equal by the order are taken in the order of the
+   * list.
+   *
+   * @param k the amount of elements wanted
+   * @param lessThan the order of the elements, true if the 1st element is less than the 2nd one
+   * @param list the list of elements to select from
+   * @param <T> template for the object class
+   * @return a list of the <code>k</code> greatest elements, the greatest first, less if the list is shorter. Will be
+   *         null if the list is null, empty if no predicate is defined.
+   * @throws IllegalArgumentException if the amount is negative
+   */
+  public static <T> List<T> topK(final int k, final BinaryPredicate<T> lessThan, final List<T> list) {
+    if (k < 0) throw new IllegalArgumentException("k must not be negative: " + k);
+    if (list == null) return null;
+    if (lessThan == null) return new ArrayList<T>();
+
+    TopHeap<T> heap = new TopHeap<T>(lessThan, k);
+    heap.addAll(list, 0);
+    return heap.toList();
+  }
+
+  /**
+   * Retrieves the element that would be at the given index if the list was sorted in ascending order.
+   *
+   * The element is found by repeatedly partitioning a copy of the list around a random pivot, which takes
+   * <code>O(n)</code> on average. The list itself is not modified.
+   *
+   * @param n the index in the sorted list, 0 for the least element
+   * @param lessThan the order of the elements, true if the 1st element is less than the 2nd one
+   * @param list the list of elements to select from
+   * @param <T> template for the object class
+   * @return the element at the given index of the sorted list. Will be null if the list is null or no predicate is
+   *         defined.
+   * @throws IndexOutOfBoundsException if the index is not within the list
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T nthElement(final int n, final BinaryPredicate<T> lessThan, final List<T> list) {
+    if (list == null || lessThan == null) return null;
+    if (n < 0 || n >= list.size()) throw new IndexOutOfBoundsException("Index: " + n + ", Size: " + list.size());
+
+    Object[] items = list.toArray();
+    Random random = ThreadLocalRandom.current();
+    int from = 0;
+    int to = items.length;
+    while (to - from > 1) {
+      T pivot = (T) items[from + random.nextInt(to - from)];
+
+      // partition into the elements less than, equal to and greater than the pivot, so duplicates end the search
+      int less = from;
+      int greater = to;
+      int index = from;
+      while (index < greater) {
+        T item = (T) items[index];
+        if (lessThan.execute(item, pivot)) {
+          swap(items, less++, index++);
+        } else if (lessThan.execute(pivot, item)) {
+          swap(items, index, --greater);
+        } else {
+          ++index;
+        }
+      }
+
+      if (n < less) {
+        to = less;
+      } else if (n >= greater) {
+        from = greater;
+      } else {
+        return pivot;
+      }
+    }
+    return (T) items[from];
+  }
+
+  /**
+   * @param items the array to modify
+   * @param left the index of the 1st element
+   * @param right the index of the 2nd element
+   */
+  private static void swap(final Object[] items, final int left, final int right) {
+    Object item = items[left];
+    items[left] = items[right];
+    items[right] = item;
+  }
+
+  /**
+   * @param <T> template for the object class
+   * @return a function returning its argument
+   */
+  static <T> UnaryFunction<T, T> identity() {
+    return new UnaryFunction<T, T>() {
+      @Override
+      public T execute(final T argument) {
+        return argument;
+      }
+    };
+  }
+
+  /**
+   * Eliminates all elements from the list until a single element is left over.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the list of elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
+   *         function is given.
+   */
+  public static <T> T resolve(final BinaryFunction<T, T> function, final List<T> list) {
+    return resolve(null, function, list);
+  }
+
+  /**
+   * Eliminates all elements from the list until a single element is left over.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the list of elements to resolve, e.g. sum up
    * @param <T> template for the object class
    * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
    *         function is given.
    */
   @SafeVarargs
-  public static <T> T reduce(final BinaryFunction<T, T> function, final T... list) {
+  public static <T> T resolve(final BinaryFunction<T, T> function, final T... list) {
+    if (list == null || function == null) return null;
+    return resolve(null, function, list);
+  }
+
+  /**
+   * Eliminates all elements from the list until a single element is left over.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param list the list of elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
+   *         function is given.
+   */
+  public static <T> T resolve(final T initial, final BinaryFunction<T, T> function, final List<T> list) {
+    if (list == null || function == null) return null;
+    if (!(list instanceof RandomAccess)) return resolve(initial, function, list.iterator());
+
+    int size = list.size();
+    if (size == 0) return initial;
+
+    // initialize with the first value of the list if there is no initial value
+    T result = initial == null ? list.get(0) : function.execute(initial, list.get(0));
+    for (int index = 1; index < size; ++index) {
+      result = function.execute(result, list.get(index));
+    }
+    return result;
+  }
+
+  /**
+   * Eliminates all elements from the array until a single element is left over.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param list the list of elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
+   *         function is given.
+   */
+  @SafeVarargs
+  public static <T> T resolve(final T initial, final BinaryFunction<T, T> function, final T... list) {
     if (list == null || function == null) return null;
-    return resolve(function, Arrays.asList(list));
+    if (list.length == 0) return initial;
+
+    // initialize with the first value of the array if there is no initial value
+    T result = initial == null ? list[0] : function.execute(initial, list[0]);
+    for (int index = 1; index < list.length; ++index) {
+      result = function.execute(result, list[index]);
+    }
+    return result;
+  }
+
+  /**
+   * Eliminates all elements of the given iterable until a single element is left over.
+   *
+   * @param function the function to reduce two values to one
+   * @param iterable the elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the iterable is null or
+   *         no function is given.
+   */
+  public static <T> T resolve(final BinaryFunction<T, T> function, final Iterable<T> iterable) {
+    return resolve(null, function, iterable);
+  }
+
+  /**
+   * Eliminates all elements of the given iterable until a single element is left over.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param iterable the elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the iterable is null or
+   *         no function is given.
+   */
+  public static <T> T resolve(final T initial, final BinaryFunction<T, T> function, final Iterable<T> iterable) {
+    if (iterable == null || function == null) return null;
+    return resolve(initial, function, iterable.iterator());
+  }
+
+  /**
+   * Eliminates all remaining elements of the given iterator until a single element is left over.
+   *
+   * @param function the function to reduce two values to one
+   * @param iterator the elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the iterator is null or
+   *         no function is given.
+   */
+  public static <T> T resolve(final BinaryFunction<T, T> function, final Iterator<T> iterator) {
+    return resolve(null, function, iterator);
+  }
+
+  /**
+   * Eliminates all remaining elements of the given iterator until a single element is left over.
+   *
+   * Only one element is read at a time, so the elements need not fit into memory at once.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param iterator the elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the iterator is null or
+   *         no function is given.
+   */
+  public static <T> T resolve(final T initial, final BinaryFunction<T, T> function, final Iterator<T> iterator) {
+    if (iterator == null || function == null) return null;
+
+    T result = initial;
+    boolean first = true;
+
+    while (iterator.hasNext()) {
+      T item = iterator.next();
+      if (first && initial == null) {
+        // initialize with the first value of the iterator
+        result = item;
+      } else {
+        result = function.execute(result, item);
+      }
+      first = false;
+    }
+
+    return result;
+  }
+
+  /**
+   * Eliminates all elements from the list until a single element is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the list of elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
+   *         function is given.
+   */
+  public static <T> T reduce(final BinaryFunction<T, T> function, final List<T> list) {
+    return resolve(null, function, list);
+  }
+
+  /**
+   * Eliminates all elements from the list until a single element is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the list of elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
+   *         function is given.
+   */
+  @SafeVarargs
+  public static <T> T reduce(final BinaryFunction<T, T> function, final T... list) {
+    return resolve(null, function, list);
   }
 
   /**
@@ -359,7 +1088,473 @@ public final class Functions
    */
   @SafeVarargs
   public static <T> T reduce(final T initial, final BinaryFunction<T, T> function, final T... list) {
-    if (list == null || function == null) return null;
-    return resolve(initial, function, Arrays.asList(list));
+    return resolve(initial, function, list);
+  }
+
+  /**
+   * Eliminates all elements of the given iterable until a single element is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param function the function to reduce two values to one
+   * @param iterable the elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the iterable is null or
+   *         no function is given.
+   */
+  public static <T> T reduce(final BinaryFunction<T, T> function, final Iterable<T> iterable) {
+    return resolve(null, function, iterable);
+  }
+
+  /**
+   * Eliminates all elements of the given iterable until a single element is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param iterable the elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the iterable is null or
+   *         no function is given.
+   */
+  public static <T> T reduce(final T initial, final BinaryFunction<T, T> function, final Iterable<T> iterable) {
+    return resolve(initial, function, iterable);
+  }
+
+  /**
+   * Eliminates all remaining elements of the given iterator until a single element is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param function the function to reduce two values to one
+   * @param iterator the elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the iterator is null or
+   *         no function is given.
+   */
+  public static <T> T reduce(final BinaryFunction<T, T> function, final Iterator<T> iterator) {
+    return resolve(null, function, iterator);
+  }
+
+  /**
+   * Eliminates all remaining elements of the given iterator until a single element is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param iterator the elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the iterator is null or
+   *         no function is given.
+   */
+  public static <T> T reduce(final T initial, final BinaryFunction<T, T> function, final Iterator<T> iterator) {
+    return resolve(initial, function, iterator);
+  }
+
+  /**
+   * Applies the given function on each item of the given argument list and stores the results in an array.
+   *
+   * Like <code>Collection.toArray(T[])</code>, the results are stored in the given array if it is large enough, so a
+   * caller may reuse the same array for each call and avoid any allocation. If the given array is larger, the element
+   * following the last result is set to null.
+   *
+   * @param function the function to apply
+   * @param result the array to store the results in if it is large enough, otherwise an array of the same type is
+   *          created
+   * @param list the list of items on which to apply the function
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   * @return an array containing the respective results, can be null if the list is null. Will be empty if no function
+   *         is defined.
+   * @throws IllegalArgumentException if no result array is given, as the type of the results cannot be determined
+   *           otherwise
+   */
+  @SafeVarargs
+  public static <R, T> R[] mapToArray(final UnaryFunction<R, T> function, final R[] result, final T... list) {
+    if (result == null) throw new IllegalArgumentException("result must not be null");
+    if (list == null) return null;
+    if (function == null) return Arrays.copyOf(result, 0);
+
+    R[] target = result.length >= list.length ? result : Arrays.copyOf(result, list.length);
+    for (int index = 0; index < list.length; ++index) {
+      target[index] = function.execute(list[index]);
+    }
+    if (target.length > list.length) {
+      target[list.length] = null;
+    }
+    return target;
+  }
+
+  /**
+   * Retrieve only those elements of the argument list that meet the given predicate.
+   *
+   * The matches are remembered in a bit mask, so that exactly one array of the exact size is created.
+   *
+   * @param predicate the predicate to apply
+   * @param list the list of elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return an array of the same type as the given array with the elements that meet the predicate. If no predicate is
+   *         defined, all items will be returned. If the list is null, null will be returned.
+   */
+  @SafeVarargs
+  @SuppressWarnings("unchecked")
+  public static <T> T[] filterToArray(final UnaryPredicate<T> predicate, final T... list) {
+    if (list == null) return null;
+    if (predicate == null) return list.clone();
+
+    // short argument lists fit into a single mask that needs no allocation
+    long mask = 0L;
+    long[] masks = list.length > Long.SIZE ? new long[(list.length + Long.SIZE - 1) / Long.SIZE] : null;
+    int size = 0;
+    for (int index = 0; index < list.length; ++index) {
+      if (predicate.execute(list[index])) {
+        if (masks == null) {
+          mask |= 1L << index;
+        } else {
+          masks[index / Long.SIZE] |= 1L << index;
+        }
+        ++size;
+      }
+    }
+
+    T[] result = (T[]) Array.newInstance(list.getClass().getComponentType(), size);
+    for (int index = 0, position = 0; position < size; ++index) {
+      long bits = masks == null ? mask : masks[index / Long.SIZE];
+      if ((bits & 1L << index) != 0) {
+        result[position++] = list[index];
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Applies the given function on each item of the given array without boxing.
+   *
+   * @param function the function to apply
+   * @param list the array of items on which to apply the function
+   * @return a corresponding array containing the respective results, can be null if the array is null. Will be empty
+   *         if no function is defined.
+   */
+  public static int[] map(final IntUnaryFunction function, final int[] list) {
+    if (list == null) return null;
+    if (function == null) return new int[0];
+
+    int[] result = new int[list.length];
+    for (int index = 0; index < list.length; ++index) {
+      result[index] = function.execute(list[index]);
+    }
+    return result;
+  }
+
+  /**
+   * Retrieve only those items of the given array that meet the given predicate without boxing.
+   *
+   * @param predicate the predicate to apply
+   * @param list the array of items to apply the predicate to
+   * @return the exactly sized array of items that meet the predicate. If no predicate is defined, all items will be
+   *         returned. If the array is null, null will be returned.
+   */
+  public static int[] filter(final IntPredicate predicate, final int[] list) {
+    if (list == null) return null;
+    if (predicate == null) return list.clone();
+
+    int[] result = new int[list.length];
+    int size = 0;
+    for (int item : list) {
+      if (predicate.execute(item)) {
+        result[size++] = item;
+      }
+    }
+    return size == result.length ? result : Arrays.copyOf(result, size);
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * To sum up an array, <code>Reductions.sum</code> is faster.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be 0 if the array is null or empty
+   *         or no function is given.
+   */
+  public static int resolve(final IntBinaryFunction function, final int[] list) {
+    if (list == null || list.length == 0 || function == null) return 0;
+
+    int result = list[0];
+    for (int index = 1; index < list.length; ++index) {
+      result = function.execute(result, list[index]);
+    }
+    return result;
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * To sum up an array, <code>Reductions.sum</code> is faster.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be the initial value if the array is
+   *         null or no function is given.
+   */
+  public static int resolve(final int initial, final IntBinaryFunction function, final int[] list) {
+    if (list == null || function == null) return initial;
+
+    int result = initial;
+    for (int item : list) {
+      result = function.execute(result, item);
+    }
+    return result;
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be 0 if the array is null or empty
+   *         or no function is given.
+   */
+  public static int reduce(final IntBinaryFunction function, final int[] list) {
+    return resolve(function, list);
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be the initial value if the array is
+   *         null or no function is given.
+   */
+  public static int reduce(final int initial, final IntBinaryFunction function, final int[] list) {
+    return resolve(initial, function, list);
+  }
+
+  /**
+   * Applies the given function on each item of the given array without boxing.
+   *
+   * @param function the function to apply
+   * @param list the array of items on which to apply the function
+   * @return a corresponding array containing the respective results, can be null if the array is null. Will be empty
+   *         if no function is defined.
+   */
+  public static long[] map(final LongUnaryFunction function, final long[] list) {
+    if (list == null) return null;
+    if (function == null) return new long[0];
+
+    long[] result = new long[list.length];
+    for (int index = 0; index < list.length; ++index) {
+      result[index] = function.execute(list[index]);
+    }
+    return result;
+  }
+
+  /**
+   * Retrieve only those items of the given array that meet the given predicate without boxing.
+   *
+   * @param predicate the predicate to apply
+   * @param list the array of items to apply the predicate to
+   * @return the exactly sized array of items that meet the predicate. If no predicate is defined, all items will be
+   *         returned. If the array is null, null will be returned.
+   */
+  public static long[] filter(final LongPredicate predicate, final long[] list) {
+    if (list == null) return null;
+    if (predicate == null) return list.clone();
+
+    long[] result = new long[list.length];
+    int size = 0;
+    for (long item : list) {
+      if (predicate.execute(item)) {
+        result[size++] = item;
+      }
+    }
+    return size == result.length ? result : Arrays.copyOf(result, size);
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * To sum up an array, <code>Reductions.sum</code> is faster.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be 0 if the array is null or empty
+   *         or no function is given.
+   */
+  public static long resolve(final LongBinaryFunction function, final long[] list) {
+    if (list == null || list.length == 0 || function == null) return 0;
+
+    long result = list[0];
+    for (int index = 1; index < list.length; ++index) {
+      result = function.execute(result, list[index]);
+    }
+    return result;
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * To sum up an array, <code>Reductions.sum</code> is faster.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be the initial value if the array is
+   *         null or no function is given.
+   */
+  public static long resolve(final long initial, final LongBinaryFunction function, final long[] list) {
+    if (list == null || function == null) return initial;
+
+    long result = initial;
+    for (long item : list) {
+      result = function.execute(result, item);
+    }
+    return result;
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be 0 if the array is null or empty
+   *         or no function is given.
+   */
+  public static long reduce(final LongBinaryFunction function, final long[] list) {
+    return resolve(function, list);
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be the initial value if the array is
+   *         null or no function is given.
+   */
+  public static long reduce(final long initial, final LongBinaryFunction function, final long[] list) {
+    return resolve(initial, function, list);
+  }
+
+  /**
+   * Applies the given function on each item of the given array without boxing.
+   *
+   * @param function the function to apply
+   * @param list the array of items on which to apply the function
+   * @return a corresponding array containing the respective results, can be null if the array is null. Will be empty
+   *         if no function is defined.
+   */
+  public static double[] map(final DoubleUnaryFunction function, final double[] list) {
+    if (list == null) return null;
+    if (function == null) return new double[0];
+
+    double[] result = new double[list.length];
+    for (int index = 0; index < list.length; ++index) {
+      result[index] = function.execute(list[index]);
+    }
+    return result;
+  }
+
+  /**
+   * Retrieve only those items of the given array that meet the given predicate without boxing.
+   *
+   * @param predicate the predicate to apply
+   * @param list the array of items to apply the predicate to
+   * @return the exactly sized array of items that meet the predicate. If no predicate is defined, all items will be
+   *         returned. If the array is null, null will be returned.
+   */
+  public static double[] filter(final DoublePredicate predicate, final double[] list) {
+    if (list == null) return null;
+    if (predicate == null) return list.clone();
+
+    double[] result = new double[list.length];
+    int size = 0;
+    for (double item : list) {
+      if (predicate.execute(item)) {
+        result[size++] = item;
+      }
+    }
+    return size == result.length ? result : Arrays.copyOf(result, size);
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be 0 if the array is null or empty
+   *         or no function is given.
+   */
+  public static double resolve(final DoubleBinaryFunction function, final double[] list) {
+    if (list == null || list.length == 0 || function == null) return 0;
+
+    double result = list[0];
+    for (int index = 1; index < list.length; ++index) {
+      result = function.execute(result, list[index]);
+    }
+    return result;
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be the initial value if the array is
+   *         null or no function is given.
+   */
+  public static double resolve(final double initial, final DoubleBinaryFunction function, final double[] list) {
+    if (list == null || function == null) return initial;
+
+    double result = initial;
+    for (double item : list) {
+      result = function.execute(result, item);
+    }
+    return result;
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be 0 if the array is null or empty
+   *         or no function is given.
+   */
+  public static double reduce(final DoubleBinaryFunction function, final double[] list) {
+    return resolve(function, list);
+  }
+
+  /**
+   * Eliminates all items from the array until a single item is left over without boxing.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param list the array of items to resolve, e.g. sum up
+   * @return the single item that is left after reduction of all other ones. Will be the initial value if the array is
+   *         null or no function is given.
+   */
+  public static double reduce(final double initial, final DoubleBinaryFunction function, final double[] list) {
+    return resolve(initial, function, list);
   }
 }
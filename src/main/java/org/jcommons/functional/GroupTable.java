@@ -0,0 +1,203 @@
+package org.jcommons.functional;
+
+import java.util.*;
+
+import org.jcommons.functional.function.BinaryFunction;
+import org.jcommons.functional.function.UnaryFunction;
+
+/**
+ * A hash table from keys to aggregated values used for grouping, the keys keep the order they were added in.
+ *
+ * The table uses open addressing with linear probing on an array of entry indexes, the entries themselves are kept in
+ * parallel arrays in the order of their creation. A lookup thus touches two arrays instead of following a chain of
+ * entry objects as <code>HashMap</code> does, and no object is allocated per key. Null keys are supported.
+ *
+ * @param <K> template for the key class
+ * @param <V> template for the value class
+ */
+final class GroupTable<K, V>
+{
+  /** stands in for the null key */
+  private static final Object NULL = new Object();
+
+  /** the initial amount of entries */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** the index of each entry plus one by the hash of its key, 0 marks a free slot; at most half of it is used */
+  private int[] slots = new int[INITIAL_CAPACITY * 2];
+  private Object[] keys = new Object[INITIAL_CAPACITY];
+  private Object[] values = new Object[INITIAL_CAPACITY];
+  private int[] hashes = new int[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Groups the given items by their key.
+   *
+   * @param key the function retrieving the key of an item
+   * @param items the items to group
+   * @param <K> template for the key class
+   * @param <T> template for the object class
+   * @return the table of the items per key, in the order of the items
+   */
+  static <K, T> GroupTable<K, List<T>> group(final UnaryFunction<K, T> key, final Iterable<T> items) {
+    GroupTable<K, List<T>> table = new GroupTable<K, List<T>>();
+    for (T item : items) {
+      int index = table.insert(key.execute(item));
+      if (index < 0) {
+        index = ~index;
+        table.set(index, new ArrayList<T>());
+      }
+      table.get(index).add(item);
+    }
+    return table;
+  }
+
+  /**
+   * Combines the values of the given items by their key.
+   *
+   * @param key the function retrieving the key of an item
+   * @param value the function retrieving the value of an item
+   * @param function the function combining two values of the same key
+   * @param items the items to aggregate
+   * @param <K> template for the key class
+   * @param <V> template for the value class
+   * @param <T> template for the object class
+   * @return the table of the combined values per key
+   */
+  static <K, V, T> GroupTable<K, V> aggregate(final UnaryFunction<K, T> key, final UnaryFunction<V, T> value,
+    final BinaryFunction<V, V> function, final Iterable<T> items)
+  {
+    GroupTable<K, V> table = new GroupTable<K, V>();
+    for (T item : items) {
+      int index = table.insert(key.execute(item));
+      if (index < 0) {
+        table.set(~index, value.execute(item));
+      } else {
+        table.set(index, function.execute(table.get(index), value.execute(item)));
+      }
+    }
+    return table;
+  }
+
+  /**
+   * @param <T> template for the object class
+   * @return a function appending the elements of the 2nd list to the 1st one
+   */
+  static <T> BinaryFunction<List<T>, List<T>> concatenation() {
+    return new BinaryFunction<List<T>, List<T>>() {
+      @Override
+      public List<T> execute(final List<T> argument0, final List<T> argument1) {
+        argument0.addAll(argument1);
+        return argument0;
+      }
+    };
+  }
+
+  /**
+   * Looks up the entry of a key, creates it if there is none.
+   *
+   * @param key the key to look up
+   * @return the index of the entry of the key, or its complement <code>~index</code> if it has just been created
+   */
+  int insert(final K key) {
+    Object lookup = key == null ? NULL : key;
+    int hash = lookup.hashCode();
+    // spread the higher bits, as the slot is chosen by the lower bits only
+    hash ^= (hash >>> 16);
+
+    int mask = slots.length - 1;
+    for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+      int index = slots[slot] - 1;
+      if (index < 0) {
+        index = add(lookup, hash);
+        slots[slot] = index + 1;
+        if (size * 2 > slots.length) rehash();
+        return ~index;
+      }
+      if (hashes[index] == hash && keys[index].equals(lookup)) return index;
+    }
+  }
+
+  /**
+   * @param index the index of an entry
+   * @return the value of the entry
+   */
+  @SuppressWarnings("unchecked")
+  V get(final int index) {
+    return (V) values[index];
+  }
+
+  /**
+   * @param index the index of an entry
+   * @param value the new value of the entry
+   */
+  void set(final int index, final V value) {
+    values[index] = value;
+  }
+
+  /** @return the amount of keys */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Adds the entries of another table, keys not known so far are appended in their order.
+   *
+   * @param other the table to add, it must not be used afterwards
+   * @param function the function combining the value of a key in this table with the one in the other table
+   */
+  @SuppressWarnings("unchecked")
+  void merge(final GroupTable<K, V> other, final BinaryFunction<V, V> function) {
+    for (int entry = 0; entry < other.size; ++entry) {
+      Object key = other.keys[entry];
+      int index = insert(key == NULL ? null : (K) key);
+      V value = (V) other.values[entry];
+      if (index < 0) {
+        set(~index, value);
+      } else {
+        set(index, function.execute(get(index), value));
+      }
+    }
+  }
+
+  /** @return a map of the values by key, in the order the keys were added */
+  @SuppressWarnings("unchecked")
+  Map<K, V> toMap() {
+    Map<K, V> result = new LinkedHashMap<K, V>(size * 4 / 3 + 1);
+    for (int index = 0; index < size; ++index) {
+      result.put(keys[index] == NULL ? null : (K) keys[index], (V) values[index]);
+    }
+    return result;
+  }
+
+  /**
+   * Appends a new entry.
+   *
+   * @param key the key of the entry
+   * @param hash the spread hash of the key
+   * @return the index of the entry
+   */
+  private int add(final Object key, final int hash) {
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      values = Arrays.copyOf(values, size * 2);
+      hashes = Arrays.copyOf(hashes, size * 2);
+    }
+    keys[size] = key;
+    hashes[size] = hash;
+    return size++;
+  }
+
+  /** Doubles the slots, the entries keep their indexes. */
+  private void rehash() {
+    slots = new int[slots.length * 2];
+    int mask = slots.length - 1;
+    for (int index = 0; index < size; ++index) {
+      int slot = hashes[index] & mask;
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = index + 1;
+    }
+  }
+}
@@ -0,0 +1,478 @@
+package org.jcommons.functional;
+
+import java.util.*;
+
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.predicate.UnaryPredicate;
+
+/**
+ * Functional programming common functions that evaluate lazily.
+ *
+ * In contrast to <code>Functions</code> the lists returned in here are read-only views on the original list, the
+ * function or predicate is only executed when an element is accessed. This is the "on-the-fly" implementation
+ * sketched in <code>Functions</code> and pays off if only a part of a large result is ever read.
+ *
+ * Iterables and iterators are processed the same way, one element at a time, so sources like database cursors that do
+ * not fit into memory can be transformed with constant memory.
+ *
+ * Keep in mind that a view reflects the current state of the original list, so the original list should not be
+ * modified as long as the view is in use. Views that memoize their results or remember the matching elements found so
+ * far will return stale results if it is. None of the views is thread safe.
+ */
+public final class LazyFunctions
+{
+  /** amount of results memoized per page, pages are only allocated once an element on them is read */
+  private static final int PAGE_SIZE = 1024;
+
+  /** marks a result that has not been computed yet, as null is a valid result */
+  private static final Object UNSET = new Object();
+
+  /** hide default constructor */
+  private LazyFunctions() {
+  }
+
+  /**
+   * Applies the given function on each item of the given list as soon as the item is read.
+   *
+   * The function is executed on every access, so reading an element twice executes the function twice.
+   *
+   * @param function the function to apply
+   * @param list the list of items on which to apply the function
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   * @return a read-only view containing the respective results, can be null if the list is null. Will be empty if no
+   *         function is defined.
+   */
+  public static <R, T> List<R> map(final UnaryFunction<R, T> function, final List<T> list) {
+    return map(function, list, false);
+  }
+
+  /**
+   * Applies the given function on each item of the given list as soon as the item is read.
+   *
+   * @param function the function to apply
+   * @param list the list of items on which to apply the function
+   * @param memoize true if the result for each index shall be computed only once, otherwise the function is executed
+   *          on each access
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   * @return a read-only view containing the respective results, can be null if the list is null. Will be empty if no
+   *         function is defined.
+   */
+  public static <R, T> List<R> map(final UnaryFunction<R, T> function, final List<T> list, final boolean memoize) {
+    if (list == null) return null;
+    if (function == null) return Collections.emptyList();
+
+    if (list instanceof RandomAccess) return new RandomAccessMapView<R, T>(function, list, memoize);
+    return new MapView<R, T>(function, list, memoize);
+  }
+
+  /**
+   * Applies the given function on each item of the given iterable as soon as the item is read.
+   *
+   * @param function the function to apply
+   * @param iterable the items on which to apply the function
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   * @return an iterable whose iterators apply the function while reading the given iterable, can be null if the
+   *         iterable is null. Will be empty if no function is defined.
+   */
+  public static <R, T> Iterable<R> map(final UnaryFunction<R, T> function, final Iterable<T> iterable) {
+    if (iterable == null) return null;
+
+    return new Iterable<R>() {
+      @Override
+      public Iterator<R> iterator() {
+        return map(function, iterable.iterator());
+      }
+    };
+  }
+
+  /**
+   * Applies the given function on each remaining item of the given iterator as soon as the item is read.
+   *
+   * Only one item is read at a time, so the items need not fit into memory at once.
+   *
+   * @param function the function to apply
+   * @param iterator the items on which to apply the function
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   * @return an iterator on the respective results, can be null if the iterator is null. Will be empty if no function is
+   *         defined.
+   */
+  public static <R, T> Iterator<R> map(final UnaryFunction<R, T> function, final Iterator<T> iterator) {
+    if (iterator == null) return null;
+    if (function == null) return Collections.emptyIterator();
+
+    return new Iterator<R>() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public R next() {
+        return function.execute(iterator.next());
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  /**
+   * Retrieve only those elements that meet the given predicate as soon as they are read.
+   *
+   * The original list is only scanned once and only as far as needed to answer the access. The matching elements found
+   * so far are remembered, so the predicate is executed at most once per element. Asking for the size of the view will
+   * scan the whole list.
+   *
+   * @param predicate the predicate to apply
+   * @param list the list of elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return a read-only view on the elements that meet the predicate. If no predicate is defined, all items will be
+   *         returned. If the list is null, null will be returned.
+   */
+  public static <T> List<T> filter(final UnaryPredicate<T> predicate, final List<T> list) {
+    if (list == null) return null;
+    if (predicate == null) return Collections.unmodifiableList(list);
+    return new FilterView<T>(predicate, list);
+  }
+
+  /**
+   * Retrieve only those elements of the given iterable that meet the given predicate as soon as they are read.
+   *
+   * @param predicate the predicate to apply
+   * @param iterable the elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return an iterable whose iterators only return the elements that meet the predicate. If no predicate is defined,
+   *         all items will be returned. If the iterable is null, null will be returned.
+   */
+  public static <T> Iterable<T> filter(final UnaryPredicate<T> predicate, final Iterable<T> iterable) {
+    if (iterable == null) return null;
+
+    return new Iterable<T>() {
+      @Override
+      public Iterator<T> iterator() {
+        return filter(predicate, iterable.iterator());
+      }
+    };
+  }
+
+  /**
+   * Retrieve only those remaining elements of the given iterator that meet the given predicate as soon as they are
+   * read.
+   *
+   * The given iterator is read one element ahead to find out if there is a next matching element.
+   *
+   * @param predicate the predicate to apply
+   * @param iterator the elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return an iterator on the elements that meet the predicate. If no predicate is defined, all items will be
+   *         returned. If the iterator is null, null will be returned.
+   */
+  public static <T> Iterator<T> filter(final UnaryPredicate<T> predicate, final Iterator<T> iterator) {
+    if (iterator == null) return null;
+    if (predicate == null) return new ReadOnlyIterator<T>(iterator);
+    return new FilterIterator<T>(predicate, iterator);
+  }
+
+  /**
+   * A view that maps each element of the original list on access.
+   *
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   */
+  private static class MapView<R, T>
+    extends AbstractList<R>
+  {
+    private final UnaryFunction<R, T> function;
+    private final List<T> list;
+    private final Object[][] pages;
+
+    /**
+     * @param function the function to apply
+     * @param list the original list
+     * @param memoize true if results shall be remembered
+     */
+    MapView(final UnaryFunction<R, T> function, final List<T> list, final boolean memoize) {
+      this.function = function;
+      this.list = list;
+      this.pages = memoize ? new Object[(list.size() + PAGE_SIZE - 1) / PAGE_SIZE][] : null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public R get(final int index) {
+      if (pages == null) return function.execute(list.get(index));
+      return result(index, null, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+      return list.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterator<R> iterator() {
+      final Iterator<T> iterator = list.iterator();
+      return new Iterator<R>() {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public R next() {
+          T item = iterator.next();
+          if (pages == null) return function.execute(item);
+          return result(index++, item, true);
+        }
+
+        @Override
+        public void remove() {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+
+    /**
+     * Retrieves the memoized result for the given index, computes it if it has not been computed so far.
+     *
+     * @param index the index of the element
+     * @param item the element at the index if already known
+     * @param known true if the given item is the element at the index
+     * @return the result of the function for the element at the given index
+     */
+    @SuppressWarnings("unchecked")
+    private R result(final int index, final T item, final boolean known) {
+      int page = index / PAGE_SIZE;
+      if (page >= pages.length) {
+        // the list has grown since the view was created, nothing to remember for these elements
+        return function.execute(known ? item : list.get(index));
+      }
+
+      if (pages[page] == null) {
+        pages[page] = new Object[PAGE_SIZE];
+        Arrays.fill(pages[page], UNSET);
+      }
+
+      Object result = pages[page][index % PAGE_SIZE];
+      if (result == UNSET) {
+        result = function.execute(known ? item : list.get(index));
+        pages[page][index % PAGE_SIZE] = result;
+      }
+      return (R) result;
+    }
+  }
+
+  /**
+   * A view that maps each element of an original list with fast indexed access.
+   *
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   */
+  private static final class RandomAccessMapView<R, T>
+    extends MapView<R, T>
+    implements RandomAccess
+  {
+    /**
+     * @param function the function to apply
+     * @param list the original list
+     * @param memoize true if results shall be remembered
+     */
+    RandomAccessMapView(final UnaryFunction<R, T> function, final List<T> list, final boolean memoize) {
+      super(function, list, memoize);
+    }
+  }
+
+  /**
+   * A view that contains only those elements of the original list that meet a predicate.
+   *
+   * @param <T> template for the object class
+   */
+  private static final class FilterView<T>
+    extends AbstractList<T>
+  {
+    private final UnaryPredicate<T> predicate;
+    private final Iterator<T> scanner;
+
+    /** the matching elements found so far */
+    private Object[] elements = new Object[16];
+    /** the amount of matching elements found so far */
+    private int matches;
+
+    /**
+     * @param predicate the predicate to apply
+     * @param list the original list
+     */
+    FilterView(final UnaryPredicate<T> predicate, final List<T> list) {
+      this.predicate = predicate;
+      this.scanner = list.iterator();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(final int index) {
+      if (index < 0 || !scan(index)) {
+        throw new IndexOutOfBoundsException("Index: " + index);
+      }
+      return (T) elements[index];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+      scan(Integer.MAX_VALUE - 1);
+      return matches;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isEmpty() {
+      return !scan(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterator<T> iterator() {
+      return new Iterator<T>() {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+          return scan(index);
+        }
+
+        @Override
+        public T next() {
+          if (!hasNext()) throw new NoSuchElementException();
+          return get(index++);
+        }
+
+        @Override
+        public void remove() {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+
+    /**
+     * Scans the original list until the matching element with the given index has been found.
+     *
+     * @param index the index of the matching element looked for
+     * @return true if there is such an element, otherwise false
+     */
+    private boolean scan(final int index) {
+      while (matches <= index && scanner.hasNext()) {
+        T item = scanner.next();
+        if (predicate.execute(item)) {
+          if (matches == elements.length) {
+            elements = Arrays.copyOf(elements, matches * 2);
+          }
+          elements[matches++] = item;
+        }
+      }
+      return index < matches;
+    }
+  }
+
+  /**
+   * An iterator that skips all elements not meeting a predicate.
+   *
+   * @param <T> template for the object class
+   */
+  private static final class FilterIterator<T>
+    implements Iterator<T>
+  {
+    private final UnaryPredicate<T> predicate;
+    private final Iterator<T> iterator;
+
+    /** the next matching element, only valid if found */
+    private T next;
+    /** true if the next matching element has been read already */
+    private boolean found;
+
+    /**
+     * @param predicate the predicate to apply
+     * @param iterator the original iterator
+     */
+    FilterIterator(final UnaryPredicate<T> predicate, final Iterator<T> iterator) {
+      this.predicate = predicate;
+      this.iterator = iterator;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+      while (!found && iterator.hasNext()) {
+        T item = iterator.next();
+        if (predicate.execute(item)) {
+          next = item;
+          found = true;
+        }
+      }
+      return found;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T next() {
+      if (!hasNext()) throw new NoSuchElementException();
+
+      T result = next;
+      next = null;
+      found = false;
+      return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * An iterator that returns all elements of another one, but cannot remove them.
+   *
+   * @param <T> template for the object class
+   */
+  private static final class ReadOnlyIterator<T>
+    implements Iterator<T>
+  {
+    private final Iterator<T> iterator;
+
+    /**
+     * @param iterator the original iterator
+     */
+    ReadOnlyIterator(final Iterator<T> iterator) {
+      this.iterator = iterator;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+      return iterator.hasNext();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T next() {
+      return iterator.next();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
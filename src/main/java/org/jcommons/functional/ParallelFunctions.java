@@ -0,0 +1,862 @@
+package org.jcommons.functional;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jcommons.functional.function.Associative;
+import org.jcommons.functional.function.BinaryFunction;
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.predicate.BinaryPredicate;
+import org.jcommons.functional.predicate.UnaryPredicate;
+
+/**
+ * Functional programming common functions executed in parallel on a fork/join pool.
+ *
+ * The functions behave like their counterparts in <code>Functions</code>, i.e. they copy the results and keep the order
+ * of the given list. Large lists that implement <code>RandomAccess</code> are split into chunks that are processed
+ * concurrently, all other lists are processed sequentially by <code>Functions</code>, as splitting them would cost
+ * more than it gains.
+ *
+ * The searches <code>some</code> and <code>every</code> share a flag between all chunks, once any chunk has decided
+ * the result the remaining chunks stop evaluating the predicate.
+ *
+ * Reductions are only split if the reducing function is tagged as <code>Associative</code>. The parts are then
+ * combined in a tree while keeping the order of the elements, so the function does not need to be commutative. The
+ * same holds for <code>aggregateBy</code>, where each chunk is aggregated into a hash table of its own and the tables
+ * are merged key by key.
+ *
+ * The functions applied must be thread safe. If no pool is given, a shared pool using all available processors will
+ * be used.
+ */
+public final class ParallelFunctions
+{
+  /** lists with at most this many elements are processed sequentially, also the minimum size of a chunk */
+  public static final int MINIMUM_CHUNK_SIZE = 512;
+
+  /** how many chunks to create per worker thread so that idle workers can steal work from busy ones */
+  private static final int CHUNKS_PER_THREAD = 8;
+
+  /** the pool used if none is given explicitly */
+  private static final ForkJoinPool POOL = new ForkJoinPool();
+
+  /** hide default constructor */
+  private ParallelFunctions() {
+  }
+
+  /**
+   * Executes the given function on each item of the given list in parallel in no particular order.
+   *
+   * @param function the function to apply
+   * @param list the list of items on which to apply the function
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   */
+  public static <R, T> void forEach(final UnaryFunction<R, T> function, final List<T> list) {
+    forEach(POOL, function, list);
+  }
+
+  /**
+   * Executes the given function on each item of the given list in parallel in no particular order.
+   *
+   * @param pool the pool to execute the function in
+   * @param function the function to apply
+   * @param list the list of items on which to apply the function
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   */
+  public static <R, T> void forEach(final ForkJoinPool pool, final UnaryFunction<R, T> function, final List<T> list) {
+    if (list == null || function == null) return;
+    if (!isParallel(pool, list)) {
+      Functions.forEach(function, list);
+      return;
+    }
+
+    int chunkSize = chunkSize(pool, list.size());
+    pool.invoke(new ForEachTask<R, T>(function, list, chunkSize, 0, chunks(list.size(), chunkSize)));
+  }
+
+  /**
+   * Applies the given function on each item of the given list in parallel.
+   *
+   * @param function the function to apply
+   * @param list the list of items on which to apply the function
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   * @return a corresponding list containing the respective results in the order of the given list, can be null if the
+   *         list is null. Will be empty if no function is defined.
+   */
+  public static <R, T> List<R> map(final UnaryFunction<R, T> function, final List<T> list) {
+    return map(POOL, function, list);
+  }
+
+  /**
+   * Applies the given function on each item of the given list in parallel.
+   *
+   * @param pool the pool to execute the function in
+   * @param function the function to apply
+   * @param list the list of items on which to apply the function
+   * @param <R> template for the return class
+   * @param <T> template for the object class
+   * @return a corresponding list containing the respective results in the order of the given list, can be null if the
+   *         list is null. Will be empty if no function is defined.
+   */
+  @SuppressWarnings("unchecked")
+  public static <R, T> List<R> map(final ForkJoinPool pool, final UnaryFunction<R, T> function, final List<T> list) {
+    if (list == null) return null;
+    if (function == null) return new ArrayList<R>();
+    if (!isParallel(pool, list)) return Functions.map(function, list);
+
+    int chunkSize = chunkSize(pool, list.size());
+    Object[] results = new Object[list.size()];
+    pool.invoke(new MapTask<R, T>(function, list, results, chunkSize, 0, chunks(list.size(), chunkSize)));
+    return new ArrayList<R>((List<R>) Arrays.asList(results));
+  }
+
+  /**
+   * Retrieve only those elements that meet the given predicate, evaluating the predicate in parallel.
+   *
+   * @param predicate the predicate to apply
+   * @param list the list of elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return the list of elements that meet the predicate in the order of the given list. If no predicate is defined,
+   *         all items will be returned. If the list is null, null will be returned.
+   */
+  public static <T> List<T> filter(final UnaryPredicate<T> predicate, final List<T> list) {
+    return filter(POOL, predicate, list);
+  }
+
+  /**
+   * Retrieve only those elements that meet the given predicate, evaluating the predicate in parallel.
+   *
+   * @param pool the pool to execute the predicate in
+   * @param predicate the predicate to apply
+   * @param list the list of elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return the list of elements that meet the predicate in the order of the given list. If no predicate is defined,
+   *         all items will be returned. If the list is null, null will be returned.
+   */
+  public static <T> List<T> filter(final ForkJoinPool pool, final UnaryPredicate<T> predicate, final List<T> list) {
+    if (list == null) return null;
+    if (predicate == null || !isParallel(pool, list)) return Functions.filter(predicate, list);
+
+    int chunkSize = chunkSize(pool, list.size());
+    int chunks = chunks(list.size(), chunkSize);
+    List<List<T>> parts = new ArrayList<List<T>>(Collections.<List<T>> nCopies(chunks, null));
+    pool.invoke(new FilterTask<T>(predicate, list, parts, chunkSize, 0, chunks));
+
+    int size = 0;
+    for (List<T> part : parts) {
+      size += part.size();
+    }
+
+    List<T> result = new ArrayList<T>(size);
+    for (List<T> part : parts) {
+      result.addAll(part);
+    }
+    return result;
+  }
+
+  /**
+   * Determines if at least one element in the list fits the predicate, evaluating the predicate in parallel.
+   *
+   * As soon as any chunk finds a matching element, all other chunks stop evaluating the predicate.
+   *
+   * @param predicate the predicate to apply
+   * @param list the list of elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return true if at least one element meets the predicate, otherwise false
+   */
+  public static <T> boolean some(final UnaryPredicate<T> predicate, final List<T> list) {
+    return some(POOL, predicate, list);
+  }
+
+  /**
+   * Determines if at least one element in the list fits the predicate, evaluating the predicate in parallel.
+   *
+   * As soon as any chunk finds a matching element, all other chunks stop evaluating the predicate.
+   *
+   * @param pool the pool to execute the predicate in
+   * @param predicate the predicate to apply
+   * @param list the list of elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return true if at least one element meets the predicate, otherwise false
+   */
+  public static <T> boolean some(final ForkJoinPool pool, final UnaryPredicate<T> predicate, final List<T> list) {
+    if (list == null || predicate == null) return false;
+    if (!isParallel(pool, list)) return Functions.some(predicate, list);
+
+    return match(pool, predicate, list, true);
+  }
+
+  /**
+   * Determine if every element in the list fits the predicate, evaluating the predicate in parallel.
+   *
+   * As soon as any chunk finds an element not meeting the predicate, all other chunks stop evaluating the predicate.
+   *
+   * @param predicate the predicate to apply
+   * @param list the list of elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return true if all elements meets the predicate, otherwise false
+   */
+  public static <T> boolean every(final UnaryPredicate<T> predicate, final List<T> list) {
+    return every(POOL, predicate, list);
+  }
+
+  /**
+   * Determine if every element in the list fits the predicate, evaluating the predicate in parallel.
+   *
+   * As soon as any chunk finds an element not meeting the predicate, all other chunks stop evaluating the predicate.
+   *
+   * @param pool the pool to execute the predicate in
+   * @param predicate the predicate to apply
+   * @param list the list of elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return true if all elements meets the predicate, otherwise false
+   */
+  public static <T> boolean every(final ForkJoinPool pool, final UnaryPredicate<T> predicate, final List<T> list) {
+    if (list == null || predicate == null) return false;
+    if (!isParallel(pool, list)) return Functions.every(predicate, list);
+
+    return !match(pool, predicate, list, false);
+  }
+
+  /**
+   * Eliminates all elements from the list until a single element is left over.
+   *
+   * The reduction is only executed in parallel if the function is <code>Associative</code>.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the list of elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
+   *         function is given.
+   */
+  public static <T> T resolve(final BinaryFunction<T, T> function, final List<T> list) {
+    return resolve(POOL, null, function, list);
+  }
+
+  /**
+   * Eliminates all elements from the list until a single element is left over.
+   *
+   * The reduction is only executed in parallel if the function is <code>Associative</code>.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param list the list of elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
+   *         function is given.
+   */
+  public static <T> T resolve(final T initial, final BinaryFunction<T, T> function, final List<T> list) {
+    return resolve(POOL, initial, function, list);
+  }
+
+  /**
+   * Eliminates all elements from the list until a single element is left over.
+   *
+   * The reduction is only executed in parallel if the function is <code>Associative</code>.
+   *
+   * @param pool the pool to execute the function in
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param list the list of elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
+   *         function is given.
+   */
+  public static <T> T resolve(final ForkJoinPool pool, final T initial, final BinaryFunction<T, T> function,
+    final List<T> list)
+  {
+    if (list == null || function == null) return null;
+    if (!(function instanceof Associative) || !isParallel(pool, list)) {
+      return Functions.resolve(initial, function, list);
+    }
+
+    int chunkSize = chunkSize(pool, list.size());
+    T result = pool.invoke(new ResolveTask<T>(function, list, chunkSize, 0, chunks(list.size(), chunkSize)));
+    return initial == null ? result : function.execute(initial, result);
+  }
+
+  /**
+   * Eliminates all elements from the list until a single element is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param function the function to reduce two values to one
+   * @param list the list of elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
+   *         function is given.
+   */
+  public static <T> T reduce(final BinaryFunction<T, T> function, final List<T> list) {
+    return resolve(POOL, null, function, list);
+  }
+
+  /**
+   * Eliminates all elements from the list until a single element is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @param list the list of elements to resolve, e.g. sum up
+   * @param <T> template for the object class
+   * @return the single element that is left after reduction of all other ones. Will be null if the list is null or no
+   *         function is given.
+   */
+  public static <T> T reduce(final T initial, final BinaryFunction<T, T> function, final List<T> list) {
+    return resolve(POOL, initial, function, list);
+  }
+
+  /**
+   * Groups the elements of the list by their key in parallel.
+   *
+   * Each chunk is grouped into its own table, neighbouring tables are merged in order, so the result equals the one of
+   * <code>Functions.groupBy</code>.
+   *
+   * @param key the function retrieving the key of an element, may return null
+   * @param list the list of elements to group
+   * @param <K> template for the key class
+   * @param <T> template for the object class
+   * @return the elements per key in the order of the list, the keys in the order of their first element. Will be null
+   *         if the list is null, empty if no function is defined.
+   */
+  public static <K, T> Map<K, List<T>> groupBy(final UnaryFunction<K, T> key, final List<T> list) {
+    return groupBy(POOL, key, list);
+  }
+
+  /**
+   * Groups the elements of the list by their key in parallel.
+   *
+   * @param pool the pool to execute the function in
+   * @param key the function retrieving the key of an element, may return null
+   * @param list the list of elements to group
+   * @param <K> template for the key class
+   * @param <T> template for the object class
+   * @return the elements per key in the order of the list, the keys in the order of their first element. Will be null
+   *         if the list is null, empty if no function is defined.
+   */
+  public static <K, T> Map<K, List<T>> groupBy(final ForkJoinPool pool, final UnaryFunction<K, T> key,
+    final List<T> list)
+  {
+    if (list == null || key == null || !isParallel(pool, list)) return Functions.groupBy(key, list);
+
+    int chunkSize = chunkSize(pool, list.size());
+    BinaryFunction<List<T>, List<T>> concatenation = GroupTable.concatenation();
+    return pool.invoke(new GroupTask<K, List<T>, T>(key, null, concatenation, list, chunkSize, 0,
+      chunks(list.size(), chunkSize))).toMap();
+  }
+
+  /**
+   * Combines the elements of the list with an equal key in parallel.
+   *
+   * The aggregation is only executed in parallel if the function is <code>Associative</code>.
+   *
+   * @param key the function retrieving the key of an element, may return null
+   * @param function the function to reduce two elements of the same key to one
+   * @param list the list of elements to aggregate
+   * @param <K> template for the key class
+   * @param <T> template for the object class
+   * @return the single element left per key after reducing all elements with that key, the keys in the order of their
+   *         first element. Will be null if the list is null, empty if no function is defined.
+   */
+  public static <K, T> Map<K, T> aggregateBy(final UnaryFunction<K, T> key, final BinaryFunction<T, T> function,
+    final List<T> list)
+  {
+    return aggregateBy(POOL, key, Functions.<T> identity(), function, list);
+  }
+
+  /**
+   * Combines the values of the elements of the list with an equal key in parallel.
+   *
+   * The aggregation is only executed in parallel if the function is <code>Associative</code>.
+   *
+   * @param key the function retrieving the key of an element, may return null
+   * @param value the function retrieving the value of an element
+   * @param function the function to reduce two values of the same key to one
+   * @param list the list of elements to aggregate
+   * @param <K> template for the key class
+   * @param <V> template for the value class
+   * @param <T> template for the object class
+   * @return the single value left per key after reducing all values with that key, the keys in the order of their
+   *         first element. Will be null if the list is null, empty if any function is not defined.
+   */
+  public static <K, V, T> Map<K, V> aggregateBy(final UnaryFunction<K, T> key, final UnaryFunction<V, T> value,
+    final BinaryFunction<V, V> function, final List<T> list)
+  {
+    return aggregateBy(POOL, key, value, function, list);
+  }
+
+  /**
+   * Combines the values of the elements of the list with an equal key in parallel.
+   *
+   * Each chunk is aggregated into its own table, neighbouring tables are merged in order. The aggregation is only
+   * executed in parallel if the function is <code>Associative</code>.
+   *
+   * @param pool the pool to execute the functions in
+   * @param key the function retrieving the key of an element, may return null
+   * @param value the function retrieving the value of an element
+   * @param function the function to reduce two values of the same key to one
+   * @param list the list of elements to aggregate
+   * @param <K> template for the key class
+   * @param <V> template for the value class
+   * @param <T> template for the object class
+   * @return the single value left per key after reducing all values with that key, the keys in the order of their
+   *         first element. Will be null if the list is null, empty if any function is not defined.
+   */
+  public static <K, V, T> Map<K, V> aggregateBy(final ForkJoinPool pool, final UnaryFunction<K, T> key,
+    final UnaryFunction<V, T> value, final BinaryFunction<V, V> function, final List<T> list)
+  {
+    if (list == null || key == null || value == null || !(function instanceof Associative)
+        || !isParallel(pool, list))
+    {
+      return Functions.aggregateBy(key, value, function, list);
+    }
+
+    int chunkSize = chunkSize(pool, list.size());
+    return pool.invoke(new GroupTask<K, V, T>(key, value, function, list, chunkSize, 0,
+      chunks(list.size(), chunkSize))).toMap();
+  }
+
+  /**
+   * Retrieves the greatest elements of the list in parallel without sorting the whole list.
+   *
+   * Each chunk keeps its greatest elements in a bounded heap of its own, the heaps of neighbouring chunks are merged.
+   * Elements that are equal by the order are taken in the order of the list, so the result equals the one of
+   * <code>Functions.topK</code>.
+   *
+   * @param k the amount of elements wanted
+   * @param lessThan the order of the elements, true if the 1st element is less than the 2nd one
+   * @param list the list of elements to select from
+   * @param <T> template for the object class
+   * @return a list of the <code>k</code> greatest elements, the greatest first, less if the list is shorter. Will be
+   *         null if the list is null, empty if no predicate is defined.
+   * @throws IllegalArgumentException if the amount is negative
+   */
+  public static <T> List<T> topK(final int k, final BinaryPredicate<T> lessThan, final List<T> list) {
+    return topK(POOL, k, lessThan, list);
+  }
+
+  /**
+   * Retrieves the greatest elements of the list in parallel without sorting the whole list.
+   *
+   * @param pool the pool to execute the predicate in
+   * @param k the amount of elements wanted
+   * @param lessThan the order of the elements, true if the 1st element is less than the 2nd one
+   * @param list the list of elements to select from
+   * @param <T> template for the object class
+   * @return a list of the <code>k</code> greatest elements, the greatest first, less if the list is shorter. Will be
+   *         null if the list is null, empty if no predicate is defined.
+   * @throws IllegalArgumentException if the amount is negative
+   */
+  public static <T> List<T> topK(final ForkJoinPool pool, final int k, final BinaryPredicate<T> lessThan,
+    final List<T> list)
+  {
+    if (k < 0 || list == null || lessThan == null || !isParallel(pool, list)) {
+      return Functions.topK(k, lessThan, list);
+    }
+
+    int chunkSize = chunkSize(pool, list.size());
+    return pool.invoke(new TopTask<T>(k, lessThan, list, chunkSize, 0, chunks(list.size(), chunkSize))).toList();
+  }
+
+  /**
+   * Searches the list in parallel for an element the predicate evaluates to the given result for.
+   *
+   * @param pool the pool to execute in
+   * @param predicate the predicate to apply
+   * @param list the list to search
+   * @param wanted the result of the predicate looked for, true for some and false for every
+   * @param <T> template for the object class
+   * @return true if such an element has been found, otherwise false
+   */
+  private static <T> boolean match(final ForkJoinPool pool, final UnaryPredicate<T> predicate, final List<T> list,
+    final boolean wanted)
+  {
+    int chunkSize = chunkSize(pool, list.size());
+    AtomicBoolean found = new AtomicBoolean();
+    pool.invoke(new MatchTask<T>(predicate, wanted, found, list, chunkSize, 0, chunks(list.size(), chunkSize)));
+    return found.get();
+  }
+
+  /**
+   * Determines if the list is worth to be processed in parallel.
+   *
+   * @param pool the pool to execute in
+   * @param list the list to process
+   * @return true if the list is large enough and can be split cheaply, otherwise false
+   */
+  private static boolean isParallel(final ForkJoinPool pool, final List<?> list) {
+    return pool != null && pool.getParallelism() > 1 && list instanceof RandomAccess
+        && list.size() > MINIMUM_CHUNK_SIZE;
+  }
+
+  /**
+   * Determines the size of each chunk so that every worker gets several chunks.
+   *
+   * @param pool the pool to execute in
+   * @param size the size of the list to process
+   * @return the amount of elements to process sequentially in one chunk
+   */
+  private static int chunkSize(final ForkJoinPool pool, final int size) {
+    return Math.max(MINIMUM_CHUNK_SIZE, size / (pool.getParallelism() * CHUNKS_PER_THREAD));
+  }
+
+  /**
+   * @param size the size of the list to process
+   * @param chunkSize the size of each chunk
+   * @return the amount of chunks needed to cover the list
+   */
+  private static int chunks(final int size, final int chunkSize) {
+    return (size + chunkSize - 1) / chunkSize;
+  }
+
+  /**
+   * Processes a range of chunks of a list by splitting the range in halves until a single chunk is left.
+   *
+   * @param <T> template for the object class
+   */
+  private abstract static class ChunkTask<T>
+    extends RecursiveAction
+  {
+    private static final long serialVersionUID = 1L;
+
+    protected final List<T> list;
+    private final int chunkSize;
+    private final int firstChunk;
+    private final int lastChunk;
+
+    /**
+     * @param list the list to process
+     * @param chunkSize the size of each chunk
+     * @param firstChunk the first chunk to process
+     * @param lastChunk the chunk after the last one to process
+     */
+    ChunkTask(final List<T> list, final int chunkSize, final int firstChunk, final int lastChunk) {
+      this.list = list;
+      this.chunkSize = chunkSize;
+      this.firstChunk = firstChunk;
+      this.lastChunk = lastChunk;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void compute() {
+      if (lastChunk - firstChunk == 1) {
+        execute(firstChunk, firstChunk * chunkSize, Math.min(list.size(), (firstChunk + 1) * chunkSize));
+      } else {
+        int middle = (firstChunk + lastChunk) >>> 1;
+        invokeAll(create(chunkSize, firstChunk, middle), create(chunkSize, middle, lastChunk));
+      }
+    }
+
+    /**
+     * Creates a task for a part of the chunks.
+     *
+     * @param chunkSize the size of each chunk
+     * @param firstChunk the first chunk to process
+     * @param lastChunk the chunk after the last one to process
+     * @return the task of the same kind for the given range
+     */
+    protected abstract ChunkTask<T> create(int chunkSize, int firstChunk, int lastChunk);
+
+    /**
+     * Processes a single chunk sequentially.
+     *
+     * @param chunk the index of the chunk
+     * @param from the index of the first element of the chunk
+     * @param to the index after the last element of the chunk
+     */
+    protected abstract void execute(int chunk, int from, int to);
+  }
+
+  /** executes a function on each element */
+  private static final class ForEachTask<R, T>
+    extends ChunkTask<T>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final UnaryFunction<R, T> function;
+
+    ForEachTask(final UnaryFunction<R, T> function, final List<T> list, final int chunkSize, final int firstChunk,
+      final int lastChunk)
+    {
+      super(list, chunkSize, firstChunk, lastChunk);
+      this.function = function;
+    }
+
+    @Override
+    protected ChunkTask<T> create(final int chunkSize, final int firstChunk, final int lastChunk) {
+      return new ForEachTask<R, T>(function, list, chunkSize, firstChunk, lastChunk);
+    }
+
+    @Override
+    protected void execute(final int chunk, final int from, final int to) {
+      for (int index = from; index < to; ++index) {
+        function.execute(list.get(index));
+      }
+    }
+  }
+
+  /** maps each element into the same position of a result array */
+  private static final class MapTask<R, T>
+    extends ChunkTask<T>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final UnaryFunction<R, T> function;
+    private final Object[] results;
+
+    MapTask(final UnaryFunction<R, T> function, final List<T> list, final Object[] results, final int chunkSize,
+      final int firstChunk, final int lastChunk)
+    {
+      super(list, chunkSize, firstChunk, lastChunk);
+      this.function = function;
+      this.results = results;
+    }
+
+    @Override
+    protected ChunkTask<T> create(final int chunkSize, final int firstChunk, final int lastChunk) {
+      return new MapTask<R, T>(function, list, results, chunkSize, firstChunk, lastChunk);
+    }
+
+    @Override
+    protected void execute(final int chunk, final int from, final int to) {
+      for (int index = from; index < to; ++index) {
+        results[index] = function.execute(list.get(index));
+      }
+    }
+  }
+
+  /** filters each chunk into its own part so the parts can be concatenated in order */
+  private static final class FilterTask<T>
+    extends ChunkTask<T>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final UnaryPredicate<T> predicate;
+    private final List<List<T>> parts;
+
+    FilterTask(final UnaryPredicate<T> predicate, final List<T> list, final List<List<T>> parts, final int chunkSize,
+      final int firstChunk, final int lastChunk)
+    {
+      super(list, chunkSize, firstChunk, lastChunk);
+      this.predicate = predicate;
+      this.parts = parts;
+    }
+
+    @Override
+    protected ChunkTask<T> create(final int chunkSize, final int firstChunk, final int lastChunk) {
+      return new FilterTask<T>(predicate, list, parts, chunkSize, firstChunk, lastChunk);
+    }
+
+    @Override
+    protected void execute(final int chunk, final int from, final int to) {
+      List<T> part = new ArrayList<T>();
+      for (int index = from; index < to; ++index) {
+        T item = list.get(index);
+        if (predicate.execute(item)) {
+          part.add(item);
+        }
+      }
+      parts.set(chunk, part);
+    }
+  }
+
+  /** stops all chunks as soon as one of them finds an element the predicate evaluates to the wanted result for */
+  private static final class MatchTask<T>
+    extends ChunkTask<T>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final UnaryPredicate<T> predicate;
+    private final boolean wanted;
+    private final AtomicBoolean found;
+
+    MatchTask(final UnaryPredicate<T> predicate, final boolean wanted, final AtomicBoolean found, final List<T> list,
+      final int chunkSize, final int firstChunk, final int lastChunk)
+    {
+      super(list, chunkSize, firstChunk, lastChunk);
+      this.predicate = predicate;
+      this.wanted = wanted;
+      this.found = found;
+    }
+
+    @Override
+    protected void compute() {
+      // chunks not started yet are skipped entirely once the result is known
+      if (!found.get()) {
+        super.compute();
+      }
+    }
+
+    @Override
+    protected ChunkTask<T> create(final int chunkSize, final int firstChunk, final int lastChunk) {
+      return new MatchTask<T>(predicate, wanted, found, list, chunkSize, firstChunk, lastChunk);
+    }
+
+    @Override
+    protected void execute(final int chunk, final int from, final int to) {
+      // running chunks look at the shared flag before each costly evaluation
+      for (int index = from; index < to && !found.get(); ++index) {
+        if (predicate.execute(list.get(index)) == wanted) {
+          found.set(true);
+        }
+      }
+    }
+  }
+
+  /** reduces each chunk sequentially and combines the results of neighbouring chunks in order */
+  private static final class ResolveTask<T>
+    extends RecursiveTask<T>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final BinaryFunction<T, T> function;
+    private final List<T> list;
+    private final int chunkSize;
+    private final int firstChunk;
+    private final int lastChunk;
+
+    ResolveTask(final BinaryFunction<T, T> function, final List<T> list, final int chunkSize, final int firstChunk,
+      final int lastChunk)
+    {
+      this.function = function;
+      this.list = list;
+      this.chunkSize = chunkSize;
+      this.firstChunk = firstChunk;
+      this.lastChunk = lastChunk;
+    }
+
+    @Override
+    protected T compute() {
+      if (lastChunk - firstChunk == 1) {
+        int from = firstChunk * chunkSize;
+        int to = Math.min(list.size(), from + chunkSize);
+
+        T result = list.get(from);
+        for (int index = from + 1; index < to; ++index) {
+          result = function.execute(result, list.get(index));
+        }
+        return result;
+      }
+
+      int middle = (firstChunk + lastChunk) >>> 1;
+      ResolveTask<T> left = new ResolveTask<T>(function, list, chunkSize, firstChunk, middle);
+      ResolveTask<T> right = new ResolveTask<T>(function, list, chunkSize, middle, lastChunk);
+      left.fork();
+      T rightResult = right.compute();
+      return function.execute(left.join(), rightResult);
+    }
+  }
+
+  /**
+   * Groups or aggregates each chunk into its own table and merges the tables of neighbouring chunks in order.
+   *
+   * @param <K> template for the key class
+   * @param <V> template for the value class
+   * @param <T> template for the object class
+   */
+  private static final class GroupTask<K, V, T>
+    extends RecursiveTask<GroupTable<K, V>>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final UnaryFunction<K, T> key;
+    private final UnaryFunction<V, T> value;
+    private final BinaryFunction<V, V> function;
+    private final List<T> list;
+    private final int chunkSize;
+    private final int firstChunk;
+    private final int lastChunk;
+
+    /**
+     * @param key the function retrieving the key of an element
+     * @param value the function retrieving the value of an element, null to group the elements in lists
+     * @param function the function merging two values of the same key
+     * @param list the list to process
+     * @param chunkSize the size of each chunk
+     * @param firstChunk the first chunk to process
+     * @param lastChunk the chunk after the last one to process
+     */
+    GroupTask(final UnaryFunction<K, T> key, final UnaryFunction<V, T> value, final BinaryFunction<V, V> function,
+      final List<T> list, final int chunkSize, final int firstChunk, final int lastChunk)
+    {
+      this.key = key;
+      this.value = value;
+      this.function = function;
+      this.list = list;
+      this.chunkSize = chunkSize;
+      this.firstChunk = firstChunk;
+      this.lastChunk = lastChunk;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected GroupTable<K, V> compute() {
+      if (lastChunk - firstChunk == 1) {
+        int from = firstChunk * chunkSize;
+        List<T> chunk = list.subList(from, Math.min(list.size(), from + chunkSize));
+        // without a value function the values are the lists of elements
+        if (value == null) return (GroupTable<K, V>) (Object) GroupTable.group(key, chunk);
+        return GroupTable.aggregate(key, value, function, chunk);
+      }
+
+      int middle = (firstChunk + lastChunk) >>> 1;
+      GroupTask<K, V, T> left = new GroupTask<K, V, T>(key, value, function, list, chunkSize, firstChunk, middle);
+      GroupTask<K, V, T> right = new GroupTask<K, V, T>(key, value, function, list, chunkSize, middle, lastChunk);
+      left.fork();
+      GroupTable<K, V> rightTable = right.compute();
+      GroupTable<K, V> leftTable = left.join();
+      leftTable.merge(rightTable, function);
+      return leftTable;
+    }
+  }
+
+  /** keeps the greatest elements of each chunk in a heap of its own and merges the heaps of neighbouring chunks */
+  private static final class TopTask<T>
+    extends RecursiveTask<TopHeap<T>>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final int k;
+    private final BinaryPredicate<T> lessThan;
+    private final List<T> list;
+    private final int chunkSize;
+    private final int firstChunk;
+    private final int lastChunk;
+
+    TopTask(final int k, final BinaryPredicate<T> lessThan, final List<T> list, final int chunkSize,
+      final int firstChunk, final int lastChunk)
+    {
+      this.k = k;
+      this.lessThan = lessThan;
+      this.list = list;
+      this.chunkSize = chunkSize;
+      this.firstChunk = firstChunk;
+      this.lastChunk = lastChunk;
+    }
+
+    @Override
+    protected TopHeap<T> compute() {
+      if (lastChunk - firstChunk == 1) {
+        int from = firstChunk * chunkSize;
+        TopHeap<T> heap = new TopHeap<T>(lessThan, k);
+        heap.addAll(list.subList(from, Math.min(list.size(), from + chunkSize)), from);
+        return heap;
+      }
+
+      int middle = (firstChunk + lastChunk) >>> 1;
+      TopTask<T> left = new TopTask<T>(k, lessThan, list, chunkSize, firstChunk, middle);
+      TopTask<T> right = new TopTask<T>(k, lessThan, list, chunkSize, middle, lastChunk);
+      left.fork();
+      TopHeap<T> rightHeap = right.compute();
+      TopHeap<T> leftHeap = left.join();
+      leftHeap.merge(rightHeap);
+      return leftHeap;
+    }
+  }
+}
@@ -0,0 +1,473 @@
+package org.jcommons.functional;
+
+import java.util.*;
+
+import org.jcommons.functional.function.BinaryFunction;
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.predicate.UnaryPredicate;
+
+/**
+ * A chain of functions that is executed in a single pass over its source.
+ *
+ * Chaining <code>Functions.filter</code>, <code>Functions.map</code> and <code>Functions.resolve</code> creates a full
+ * copy of the list after each step. A pipeline only records the steps and executes all of them element by element once
+ * a terminal operation like <code>resolve</code> or <code>toList</code> is called:
+ *
+ * <pre>
+ * Integer total = Pipeline.from(customers).filter(new IsActive()).map(new GetId()).resolve(new IntegerSum());
+ * </pre>
+ *
+ * Besides the objects returned by the functions themselves, no objects are created per element. Terminal operations
+ * like <code>some</code>, <code>every</code> and <code>first</code>, as well as <code>limit</code>, stop reading the
+ * source as soon as the result is known.
+ *
+ * A pipeline is immutable and can be executed any number of times, each terminal operation reads the source again. A
+ * null source is treated like an empty one, except that <code>every</code> is false for it like for
+ * <code>Functions.every</code>.
+ *
+ * @param <T> template for the class of the elements leaving the pipeline
+ */
+public abstract class Pipeline<T>
+{
+  /** hide default constructor, only the nested stages extend a pipeline */
+  private Pipeline() {
+  }
+
+  /**
+   * Starts a pipeline reading the given elements.
+   *
+   * @param iterable the source of the pipeline, lists implementing <code>RandomAccess</code> are read by index
+   * @param <T> template for the object class
+   * @return a pipeline passing on all elements of the source
+   */
+  public static <T> Pipeline<T> from(final Iterable<T> iterable) {
+    return new Source<T>(iterable);
+  }
+
+  /**
+   * Starts a pipeline reading the given elements.
+   *
+   * @param list the elements passed on by the pipeline
+   * @param <T> template for the object class
+   * @return a pipeline passing on all given elements
+   */
+  @SafeVarargs
+  public static <T> Pipeline<T> from(final T... list) {
+    return new Source<T>(list == null ? null : Arrays.asList(list));
+  }
+
+  /**
+   * Only passes on those elements that meet the given predicate.
+   *
+   * @param predicate the predicate to apply, if null all elements are passed on
+   * @return a new pipeline with an additional filter step
+   */
+  public Pipeline<T> filter(final UnaryPredicate<T> predicate) {
+    if (predicate == null) return this;
+    return new Filter<T>(this, predicate);
+  }
+
+  /**
+   * Passes on the result of the given function for each element.
+   *
+   * @param function the function to apply, if null no elements are passed on
+   * @param <R> template for the return class
+   * @return a new pipeline with an additional transformation step
+   */
+  public <R> Pipeline<R> map(final UnaryFunction<R, T> function) {
+    return new Mapping<R, T>(this, function);
+  }
+
+  /**
+   * Only passes on the given amount of elements, after that no more elements are read.
+   *
+   * @param size the maximum amount of elements to pass on
+   * @return a new pipeline with an additional limiting step
+   */
+  public Pipeline<T> limit(final int size) {
+    return new Limit<T>(this, size);
+  }
+
+  /**
+   * Executes the given function on each element leaving the pipeline.
+   *
+   * @param function the function to apply
+   * @param <R> template for the return class
+   */
+  public <R> void forEach(final UnaryFunction<R, T> function) {
+    if (function == null) return;
+    run(new ForEachSink<R, T>(function));
+  }
+
+  /**
+   * Collects all elements leaving the pipeline.
+   *
+   * @return the list of elements leaving the pipeline, never null
+   */
+  public List<T> toList() {
+    CollectSink<T> sink = new CollectSink<T>();
+    run(sink);
+    return sink.result;
+  }
+
+  /**
+   * Counts the elements leaving the pipeline.
+   *
+   * @return the amount of elements leaving the pipeline
+   */
+  public int count() {
+    CountSink<T> sink = new CountSink<T>();
+    run(sink);
+    return sink.count;
+  }
+
+  /**
+   * Retrieves the first element leaving the pipeline, no further elements are read.
+   *
+   * @return the first element leaving the pipeline, null if there is none
+   */
+  public T first() {
+    FirstSink<T> sink = new FirstSink<T>();
+    run(sink);
+    return sink.result;
+  }
+
+  /**
+   * Determines if at least one element leaving the pipeline fits the predicate, stops at the first match.
+   *
+   * @param predicate the predicate to apply
+   * @return true if at least one element meets the predicate, otherwise false
+   */
+  public boolean some(final UnaryPredicate<T> predicate) {
+    if (predicate == null) return false;
+
+    MatchSink<T> sink = new MatchSink<T>(predicate, true);
+    run(sink);
+    return sink.matches;
+  }
+
+  /**
+   * Determine if every element leaving the pipeline fits the predicate, stops at the first mismatch.
+   *
+   * @param predicate the predicate to apply
+   * @return true if all elements meets the predicate, otherwise false. Will be false if the source is null.
+   */
+  public boolean every(final UnaryPredicate<T> predicate) {
+    if (predicate == null || !hasSource()) return false;
+
+    MatchSink<T> sink = new MatchSink<T>(predicate, false);
+    run(sink);
+    return sink.matches;
+  }
+
+  /**
+   * Eliminates all elements leaving the pipeline until a single element is left over.
+   *
+   * @param function the function to reduce two values to one
+   * @return the single element that is left after reduction of all other ones. Will be null if no elements leave the
+   *         pipeline or no function is given.
+   */
+  public T resolve(final BinaryFunction<T, T> function) {
+    return resolve(null, function);
+  }
+
+  /**
+   * Eliminates all elements leaving the pipeline until a single element is left over.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @return the single element that is left after reduction of all other ones. Will be null if no function is given.
+   */
+  public T resolve(final T initial, final BinaryFunction<T, T> function) {
+    if (function == null) return null;
+
+    ResolveSink<T> sink = new ResolveSink<T>(initial, function);
+    run(sink);
+    return sink.result;
+  }
+
+  /**
+   * Eliminates all elements leaving the pipeline until a single element is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param function the function to reduce two values to one
+   * @return the single element that is left after reduction of all other ones. Will be null if no elements leave the
+   *         pipeline or no function is given.
+   */
+  public T reduce(final BinaryFunction<T, T> function) {
+    return resolve(null, function);
+  }
+
+  /**
+   * Eliminates all elements leaving the pipeline until a single element is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @return the single element that is left after reduction of all other ones. Will be null if no function is given.
+   */
+  public T reduce(final T initial, final BinaryFunction<T, T> function) {
+    return resolve(initial, function);
+  }
+
+  /**
+   * Reads the source and pushes each element through all steps into the given sink.
+   *
+   * @param sink the receiver of the elements leaving this pipeline
+   */
+  abstract void run(Sink<T> sink);
+
+  /** @return false if the source of the pipeline is null, otherwise true */
+  abstract boolean hasSource();
+
+  /**
+   * Receives the elements pushed through a pipeline.
+   *
+   * @param <T> template for the object class
+   */
+  interface Sink<T>
+  {
+    /**
+     * Receives the next element.
+     *
+     * @param item the element
+     * @return true if more elements are requested, false if the source need not be read any further
+     */
+    boolean accept(T item);
+  }
+
+  /** reads the elements of an iterable */
+  private static final class Source<T>
+    extends Pipeline<T>
+  {
+    private final Iterable<T> iterable;
+
+    Source(final Iterable<T> iterable) {
+      this.iterable = iterable;
+    }
+
+    @Override
+    boolean hasSource() {
+      return iterable != null;
+    }
+
+    @Override
+    void run(final Sink<T> sink) {
+      if (iterable == null) return;
+
+      if (iterable instanceof RandomAccess && iterable instanceof List) {
+        List<T> list = (List<T>) iterable;
+        for (int index = 0, size = list.size(); index < size; ++index) {
+          if (!sink.accept(list.get(index))) return;
+        }
+      } else {
+        for (T item : iterable) {
+          if (!sink.accept(item)) return;
+        }
+      }
+    }
+  }
+
+  /** passes on matching elements */
+  private static final class Filter<T>
+    extends Pipeline<T>
+  {
+    private final Pipeline<T> upstream;
+    private final UnaryPredicate<T> predicate;
+
+    Filter(final Pipeline<T> upstream, final UnaryPredicate<T> predicate) {
+      this.upstream = upstream;
+      this.predicate = predicate;
+    }
+
+    @Override
+    boolean hasSource() {
+      return upstream.hasSource();
+    }
+
+    @Override
+    void run(final Sink<T> sink) {
+      upstream.run(new Sink<T>() {
+        @Override
+        public boolean accept(final T item) {
+          return !predicate.execute(item) || sink.accept(item);
+        }
+      });
+    }
+  }
+
+  /** passes on transformed elements */
+  private static final class Mapping<R, T>
+    extends Pipeline<R>
+  {
+    private final Pipeline<T> upstream;
+    private final UnaryFunction<R, T> function;
+
+    Mapping(final Pipeline<T> upstream, final UnaryFunction<R, T> function) {
+      this.upstream = upstream;
+      this.function = function;
+    }
+
+    @Override
+    boolean hasSource() {
+      return upstream.hasSource();
+    }
+
+    @Override
+    void run(final Sink<R> sink) {
+      // like Functions.map, nothing is passed on without a function
+      if (function == null) return;
+
+      upstream.run(new Sink<T>() {
+        @Override
+        public boolean accept(final T item) {
+          return sink.accept(function.execute(item));
+        }
+      });
+    }
+  }
+
+  /** passes on a limited amount of elements */
+  private static final class Limit<T>
+    extends Pipeline<T>
+  {
+    private final Pipeline<T> upstream;
+    private final int size;
+
+    Limit(final Pipeline<T> upstream, final int size) {
+      this.upstream = upstream;
+      this.size = size;
+    }
+
+    @Override
+    boolean hasSource() {
+      return upstream.hasSource();
+    }
+
+    @Override
+    void run(final Sink<T> sink) {
+      if (size <= 0) return;
+
+      upstream.run(new Sink<T>() {
+        private int remaining = size;
+
+        @Override
+        public boolean accept(final T item) {
+          return sink.accept(item) && --remaining > 0;
+        }
+      });
+    }
+  }
+
+  /** executes a function on each element */
+  private static final class ForEachSink<R, T>
+    implements Sink<T>
+  {
+    private final UnaryFunction<R, T> function;
+
+    ForEachSink(final UnaryFunction<R, T> function) {
+      this.function = function;
+    }
+
+    @Override
+    public boolean accept(final T item) {
+      function.execute(item);
+      return true;
+    }
+  }
+
+  /** collects all elements */
+  private static final class CollectSink<T>
+    implements Sink<T>
+  {
+    private final List<T> result = new ArrayList<T>();
+
+    @Override
+    public boolean accept(final T item) {
+      result.add(item);
+      return true;
+    }
+  }
+
+  /** counts all elements */
+  private static final class CountSink<T>
+    implements Sink<T>
+  {
+    private int count;
+
+    @Override
+    public boolean accept(final T item) {
+      ++count;
+      return true;
+    }
+  }
+
+  /** remembers the first element */
+  private static final class FirstSink<T>
+    implements Sink<T>
+  {
+    private T result;
+
+    @Override
+    public boolean accept(final T item) {
+      result = item;
+      return false;
+    }
+  }
+
+  /** stops as soon as the predicate evaluates to the result looked for */
+  private static final class MatchSink<T>
+    implements Sink<T>
+  {
+    private final UnaryPredicate<T> predicate;
+    private final boolean stopOn;
+    private boolean matches;
+
+    /**
+     * @param predicate the predicate to apply
+     * @param stopOn the result of the predicate that decides the outcome, true for some and false for every
+     */
+    MatchSink(final UnaryPredicate<T> predicate, final boolean stopOn) {
+      this.predicate = predicate;
+      this.stopOn = stopOn;
+      this.matches = !stopOn;
+    }
+
+    @Override
+    public boolean accept(final T item) {
+      if (predicate.execute(item) != stopOn) return true;
+
+      matches = stopOn;
+      return false;
+    }
+  }
+
+  /** reduces all elements to one */
+  private static final class ResolveSink<T>
+    implements Sink<T>
+  {
+    private final BinaryFunction<T, T> function;
+    private T result;
+    private boolean first;
+
+    ResolveSink(final T initial, final BinaryFunction<T, T> function) {
+      this.function = function;
+      this.result = initial;
+      this.first = initial == null;
+    }
+
+    @Override
+    public boolean accept(final T item) {
+      if (first) {
+        // initialize with the first element like Functions.resolve does
+        result = item;
+        first = false;
+      } else {
+        result = function.execute(result, item);
+      }
+      return true;
+    }
+  }
+}
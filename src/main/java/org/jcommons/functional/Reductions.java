@@ -0,0 +1,290 @@
+package org.jcommons.functional;
+
+/**
+ * Sums, minima, maxima and dot products of primitive arrays written for throughput.
+ *
+ * Sums and dot products keep four independent accumulators, so consecutive additions do not wait for each other,
+ * which takes about half the time of a plain loop. Minima and maxima are plain loops, the JIT already compiles these
+ * well and four accumulators measured slower, see <code>ReductionsBenchmark</code> in the benchmarks project.
+ *
+ * For <code>int</code> and <code>long</code> the results are exactly those of a plain loop, overflows wrap around like
+ * in <code>PrimitiveIntegerSum</code>. For <code>double</code> the elements are added in a different order than by a
+ * plain loop, so the result may differ in the last bits, but it is the same on every run. Minima and maxima of
+ * <code>double</code> follow <code>Math.min</code> and <code>Math.max</code>: they are NaN if any element is NaN, and
+ * <code>-0.0</code> counts as less than <code>0.0</code>.
+ *
+ * Like <code>Functions.resolve</code> all reductions return 0 for null or empty arrays.
+ */
+public final class Reductions
+{
+  /** hide default constructor */
+  private Reductions() {
+  }
+
+  /**
+   * Sums up all elements.
+   *
+   * @param list the elements to sum up
+   * @return the sum of all elements, 0 if there are none
+   */
+  public static int sum(final int[] list) {
+    if (list == null) return 0;
+
+    int sum0 = 0;
+    int sum1 = 0;
+    int sum2 = 0;
+    int sum3 = 0;
+    int index = 0;
+    for (int end = list.length & ~3; index < end; index += 4) {
+      sum0 += list[index];
+      sum1 += list[index + 1];
+      sum2 += list[index + 2];
+      sum3 += list[index + 3];
+    }
+    for (; index < list.length; ++index) {
+      sum0 += list[index];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+
+  /**
+   * Determines the smallest element.
+   *
+   * @param list the elements to compare
+   * @return the smallest element, 0 if there are none
+   */
+  public static int min(final int[] list) {
+    if (list == null || list.length == 0) return 0;
+
+    int min = list[0];
+    for (int index = 1; index < list.length; ++index) {
+      min = Math.min(min, list[index]);
+    }
+    return min;
+  }
+
+  /**
+   * Determines the largest element.
+   *
+   * @param list the elements to compare
+   * @return the largest element, 0 if there are none
+   */
+  public static int max(final int[] list) {
+    if (list == null || list.length == 0) return 0;
+
+    int max = list[0];
+    for (int index = 1; index < list.length; ++index) {
+      max = Math.max(max, list[index]);
+    }
+    return max;
+  }
+
+  /**
+   * Sums up the products of the elements at the same index.
+   *
+   * @param left the first factors
+   * @param right the second factors
+   * @return the dot product of both arrays, 0 if one of them is null
+   * @throws IllegalArgumentException if the arrays differ in length
+   */
+  public static int dot(final int[] left, final int[] right) {
+    if (left == null || right == null) return 0;
+    if (left.length != right.length) {
+      throw new IllegalArgumentException("Lengths differ: " + left.length + " and " + right.length);
+    }
+
+    int sum0 = 0;
+    int sum1 = 0;
+    int sum2 = 0;
+    int sum3 = 0;
+    int index = 0;
+    for (int end = left.length & ~3; index < end; index += 4) {
+      sum0 += left[index] * right[index];
+      sum1 += left[index + 1] * right[index + 1];
+      sum2 += left[index + 2] * right[index + 2];
+      sum3 += left[index + 3] * right[index + 3];
+    }
+    for (; index < left.length; ++index) {
+      sum0 += left[index] * right[index];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+
+  /**
+   * Sums up all elements.
+   *
+   * @param list the elements to sum up
+   * @return the sum of all elements, 0 if there are none
+   */
+  public static long sum(final long[] list) {
+    if (list == null) return 0L;
+
+    long sum0 = 0L;
+    long sum1 = 0L;
+    long sum2 = 0L;
+    long sum3 = 0L;
+    int index = 0;
+    for (int end = list.length & ~3; index < end; index += 4) {
+      sum0 += list[index];
+      sum1 += list[index + 1];
+      sum2 += list[index + 2];
+      sum3 += list[index + 3];
+    }
+    for (; index < list.length; ++index) {
+      sum0 += list[index];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+
+  /**
+   * Determines the smallest element.
+   *
+   * @param list the elements to compare
+   * @return the smallest element, 0 if there are none
+   */
+  public static long min(final long[] list) {
+    if (list == null || list.length == 0) return 0L;
+
+    long min = list[0];
+    for (int index = 1; index < list.length; ++index) {
+      min = Math.min(min, list[index]);
+    }
+    return min;
+  }
+
+  /**
+   * Determines the largest element.
+   *
+   * @param list the elements to compare
+   * @return the largest element, 0 if there are none
+   */
+  public static long max(final long[] list) {
+    if (list == null || list.length == 0) return 0L;
+
+    long max = list[0];
+    for (int index = 1; index < list.length; ++index) {
+      max = Math.max(max, list[index]);
+    }
+    return max;
+  }
+
+  /**
+   * Sums up the products of the elements at the same index.
+   *
+   * @param left the first factors
+   * @param right the second factors
+   * @return the dot product of both arrays, 0 if one of them is null
+   * @throws IllegalArgumentException if the arrays differ in length
+   */
+  public static long dot(final long[] left, final long[] right) {
+    if (left == null || right == null) return 0L;
+    if (left.length != right.length) {
+      throw new IllegalArgumentException("Lengths differ: " + left.length + " and " + right.length);
+    }
+
+    long sum0 = 0L;
+    long sum1 = 0L;
+    long sum2 = 0L;
+    long sum3 = 0L;
+    int index = 0;
+    for (int end = left.length & ~3; index < end; index += 4) {
+      sum0 += left[index] * right[index];
+      sum1 += left[index + 1] * right[index + 1];
+      sum2 += left[index + 2] * right[index + 2];
+      sum3 += left[index + 3] * right[index + 3];
+    }
+    for (; index < left.length; ++index) {
+      sum0 += left[index] * right[index];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+
+  /**
+   * Sums up all elements.
+   *
+   * @param list the elements to sum up
+   * @return the sum of all elements, 0 if there are none
+   */
+  public static double sum(final double[] list) {
+    if (list == null) return 0.0;
+
+    double sum0 = 0.0;
+    double sum1 = 0.0;
+    double sum2 = 0.0;
+    double sum3 = 0.0;
+    int index = 0;
+    for (int end = list.length & ~3; index < end; index += 4) {
+      sum0 += list[index];
+      sum1 += list[index + 1];
+      sum2 += list[index + 2];
+      sum3 += list[index + 3];
+    }
+    for (; index < list.length; ++index) {
+      sum0 += list[index];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+
+  /**
+   * Determines the smallest element.
+   *
+   * @param list the elements to compare
+   * @return the smallest element, 0 if there are none
+   */
+  public static double min(final double[] list) {
+    if (list == null || list.length == 0) return 0.0;
+
+    double min = list[0];
+    for (int index = 1; index < list.length; ++index) {
+      min = Math.min(min, list[index]);
+    }
+    return min;
+  }
+
+  /**
+   * Determines the largest element.
+   *
+   * @param list the elements to compare
+   * @return the largest element, 0 if there are none
+   */
+  public static double max(final double[] list) {
+    if (list == null || list.length == 0) return 0.0;
+
+    double max = list[0];
+    for (int index = 1; index < list.length; ++index) {
+      max = Math.max(max, list[index]);
+    }
+    return max;
+  }
+
+  /**
+   * Sums up the products of the elements at the same index.
+   *
+   * @param left the first factors
+   * @param right the second factors
+   * @return the dot product of both arrays, 0 if one of them is null
+   * @throws IllegalArgumentException if the arrays differ in length
+   */
+  public static double dot(final double[] left, final double[] right) {
+    if (left == null || right == null) return 0.0;
+    if (left.length != right.length) {
+      throw new IllegalArgumentException("Lengths differ: " + left.length + " and " + right.length);
+    }
+
+    double sum0 = 0.0;
+    double sum1 = 0.0;
+    double sum2 = 0.0;
+    double sum3 = 0.0;
+    int index = 0;
+    for (int end = left.length & ~3; index < end; index += 4) {
+      sum0 += left[index] * right[index];
+      sum1 += left[index + 1] * right[index + 1];
+      sum2 += left[index + 2] * right[index + 2];
+      sum3 += left[index + 3] * right[index + 3];
+    }
+    for (; index < left.length; ++index) {
+      sum0 += left[index] * right[index];
+    }
+    return (sum0 + sum1) + (sum2 + sum3);
+  }
+}
@@ -0,0 +1,759 @@
+package org.jcommons.functional;
+
+import java.util.*;
+
+import org.jcommons.functional.predicate.UnaryPredicate;
+
+/**
+ * A compressed set of selected indices of a list, e.g. the elements meeting a predicate.
+ *
+ * Instead of copying the matching elements like <code>Functions.filter</code>, a selection only remembers their
+ * indices, so the results of several predicates over the same list can be combined with <code>and</code>,
+ * <code>or</code> and <code>andNot</code> before picking the elements once. The indices are split into blocks of
+ * 65536. Each block keeps its indices as a sorted array of 16 bit values if there are at most 4096 of them,
+ * otherwise as a bitmap of 1024 words that is combined a word at a time. Sparse and dense selections thus both need
+ * little memory, and blocks without any index need none.
+ *
+ * <pre>
+ * Selection red = Selection.select(new IsRed(), products);
+ * Selection cheap = Selection.select(new IsCheap(), products);
+ * List&lt;Product&gt; offers = red.and(cheap).pick(products);
+ * </pre>
+ *
+ * Selections are immutable and thus thread safe.
+ */
+public final class Selection
+  implements Iterable<Integer>
+{
+  /** the selection without any index */
+  public static final Selection EMPTY = new Selection(new char[0], new Container[0]);
+
+  /** blocks with at most this many indices are kept as arrays */
+  private static final int ARRAY_LIMIT = 4096;
+  /** the amount of words in a bitmap block */
+  private static final int WORDS = 1024;
+
+  /** the upper 16 bits of the indices of each block in ascending order */
+  private final char[] keys;
+  /** the lower 16 bits of the indices of each block, never empty */
+  private final Container[] containers;
+  private final int cardinality;
+  /** the cached hash code, 0 if not computed yet */
+  private int hash;
+
+  /**
+   * @param keys the upper 16 bits of the blocks in ascending order
+   * @param containers the non-empty blocks
+   */
+  private Selection(final char[] keys, final Container[] containers) {
+    this.keys = keys;
+    this.containers = containers;
+
+    int count = 0;
+    for (Container container : containers) {
+      count += container.cardinality();
+    }
+    this.cardinality = count;
+  }
+
+  /**
+   * Selects the indices of those elements that meet the given predicate.
+   *
+   * @param predicate the predicate to apply
+   * @param list the list of elements to apply the predicate to
+   * @param <T> template for the object class
+   * @return the selection of all matching indices. If no predicate is defined, all indices will be selected. If the
+   *         list is null, null will be returned.
+   */
+  public static <T> Selection select(final UnaryPredicate<T> predicate, final List<T> list) {
+    if (list == null) return null;
+    if (predicate == null) return range(0, list.size());
+
+    Builder builder = new Builder();
+    if (list instanceof RandomAccess) {
+      for (int index = 0, size = list.size(); index < size; ++index) {
+        if (predicate.execute(list.get(index))) {
+          builder.add(index);
+        }
+      }
+    } else {
+      int index = 0;
+      for (T item : list) {
+        if (predicate.execute(item)) {
+          builder.add(index);
+        }
+        ++index;
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Selects the given indices.
+   *
+   * @param selection the indices to select
+   * @return the selection of the same indices, empty if null
+   */
+  public static Selection of(final BitSet selection) {
+    if (selection == null) return EMPTY;
+
+    Builder builder = new Builder();
+    for (int index = selection.nextSetBit(0); index >= 0; index = selection.nextSetBit(index + 1)) {
+      builder.add(index);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Selects a range of indices, e.g. all indices of a list to negate another selection with <code>andNot</code>.
+   *
+   * @param from the first index to select
+   * @param to the index after the last one to select
+   * @return the selection of the range
+   */
+  public static Selection range(final int from, final int to) {
+    if (from < 0) throw new IllegalArgumentException("from must not be negative: " + from);
+
+    Builder builder = new Builder();
+    for (int index = from; index < to; ++index) {
+      builder.add(index);
+    }
+    return builder.build();
+  }
+
+  /** @return the amount of selected indices */
+  public int cardinality() {
+    return cardinality;
+  }
+
+  /** @return true if no index is selected, otherwise false */
+  public boolean isEmpty() {
+    return cardinality == 0;
+  }
+
+  /**
+   * @param index an index
+   * @return true if the index is selected, otherwise false
+   */
+  public boolean contains(final int index) {
+    if (index < 0) return false;
+
+    int block = Arrays.binarySearch(keys, (char) (index >>> 16));
+    return block >= 0 && containers[block].contains((char) index);
+  }
+
+  /**
+   * Intersects two selections.
+   *
+   * @param other the other selection
+   * @return the indices selected in both selections
+   */
+  public Selection and(final Selection other) {
+    List<Character> resultKeys = new ArrayList<Character>();
+    List<Container> result = new ArrayList<Container>();
+    for (int left = 0, right = 0; left < keys.length && right < other.keys.length;) {
+      if (keys[left] < other.keys[right]) {
+        ++left;
+      } else if (keys[left] > other.keys[right]) {
+        ++right;
+      } else {
+        add(resultKeys, result, keys[left], containers[left++].and(other.containers[right++]));
+      }
+    }
+    return create(resultKeys, result);
+  }
+
+  /**
+   * Unites two selections.
+   *
+   * @param other the other selection
+   * @return the indices selected in any of both selections
+   */
+  public Selection or(final Selection other) {
+    List<Character> resultKeys = new ArrayList<Character>();
+    List<Container> result = new ArrayList<Container>();
+    int left = 0;
+    int right = 0;
+    while (left < keys.length || right < other.keys.length) {
+      if (right == other.keys.length || left < keys.length && keys[left] < other.keys[right]) {
+        add(resultKeys, result, keys[left], containers[left++]);
+      } else if (left == keys.length || keys[left] > other.keys[right]) {
+        add(resultKeys, result, other.keys[right], other.containers[right++]);
+      } else {
+        add(resultKeys, result, keys[left], containers[left++].or(other.containers[right++]));
+      }
+    }
+    return create(resultKeys, result);
+  }
+
+  /**
+   * Removes the indices of another selection.
+   *
+   * @param other the other selection
+   * @return the indices selected in this selection but not in the other one
+   */
+  public Selection andNot(final Selection other) {
+    List<Character> resultKeys = new ArrayList<Character>();
+    List<Container> result = new ArrayList<Container>();
+    int right = 0;
+    for (int left = 0; left < keys.length; ++left) {
+      while (right < other.keys.length && other.keys[right] < keys[left]) {
+        ++right;
+      }
+      if (right < other.keys.length && other.keys[right] == keys[left]) {
+        add(resultKeys, result, keys[left], containers[left].andNot(other.containers[right]));
+      } else {
+        add(resultKeys, result, keys[left], containers[left]);
+      }
+    }
+    return create(resultKeys, result);
+  }
+
+  /**
+   * Retrieves the selected elements of a list.
+   *
+   * @param list the list the selection has been created for
+   * @param <T> template for the object class
+   * @return the selected elements in the order of the list, indices beyond the end of the list are ignored. If the list
+   *         is null, null will be returned.
+   */
+  public <T> List<T> pick(final List<T> list) {
+    if (list == null) return null;
+
+    int[] indices = toArray();
+    int size = list.size();
+    int count = 0;
+    while (count < indices.length && indices[count] < size) {
+      ++count;
+    }
+
+    List<T> result = new ArrayList<T>(count);
+    if (list instanceof RandomAccess) {
+      for (int position = 0; position < count; ++position) {
+        result.add(list.get(indices[position]));
+      }
+    } else {
+      Iterator<T> iterator = list.iterator();
+      int next = 0;
+      for (int index = 0; next < count; ++index) {
+        T item = iterator.next();
+        if (index == indices[next]) {
+          result.add(item);
+          ++next;
+        }
+      }
+    }
+    return result;
+  }
+
+  /** @return the selected indices in ascending order */
+  public int[] toArray() {
+    int[] result = new int[cardinality];
+    int size = 0;
+    for (int block = 0; block < keys.length; ++block) {
+      size = containers[block].copyTo(result, size, keys[block] << 16);
+    }
+    return result;
+  }
+
+  /** @return the selected indices as bit set */
+  public BitSet toBitSet() {
+    BitSet result = new BitSet();
+    for (Indices indices = new Indices(); indices.hasNext();) {
+      result.set(indices.nextIndex());
+    }
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Iterator<Integer> iterator() {
+    return new Indices();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean equals(final Object other) {
+    if (other == this) return true;
+    if (!(other instanceof Selection)) return false;
+
+    Selection selection = (Selection) other;
+    if (cardinality != selection.cardinality || !Arrays.equals(keys, selection.keys)) return false;
+    for (int block = 0; block < containers.length; ++block) {
+      if (!containers[block].same(selection.containers[block])) return false;
+    }
+    return true;
+  }
+
+  /** @return the hash code of the selected indices in ascending order, like <code>Arrays.hashCode(toArray())</code> */
+  @Override
+  public int hashCode() {
+    int result = hash;
+    if (result == 0) {
+      result = 1;
+      for (int block = 0; block < keys.length; ++block) {
+        result = containers[block].hash(result, keys[block] << 16);
+      }
+      hash = result;
+    }
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder("[");
+    for (Indices indices = new Indices(); indices.hasNext();) {
+      if (result.length() > 1) {
+        result.append(", ");
+      }
+      result.append(indices.nextIndex());
+    }
+    return result.append(']').toString();
+  }
+
+  /**
+   * Adds a block to a result unless it is empty.
+   *
+   * @param resultKeys the keys of the result
+   * @param result the blocks of the result
+   * @param key the key of the block
+   * @param container the block
+   */
+  private static void add(final List<Character> resultKeys, final List<Container> result, final char key,
+    final Container container)
+  {
+    if (container.cardinality() > 0) {
+      resultKeys.add(key);
+      result.add(container);
+    }
+  }
+
+  /**
+   * @param resultKeys the keys of the blocks
+   * @param result the non-empty blocks
+   * @return the selection of the given blocks
+   */
+  private static Selection create(final List<Character> resultKeys, final List<Container> result) {
+    if (result.isEmpty()) return EMPTY;
+
+    char[] blockKeys = new char[resultKeys.size()];
+    for (int block = 0; block < blockKeys.length; ++block) {
+      blockKeys[block] = resultKeys.get(block);
+    }
+    return new Selection(blockKeys, result.toArray(new Container[result.size()]));
+  }
+
+  /** collects indices in ascending order one block at a time */
+  private static final class Builder
+  {
+    private final List<Character> keys = new ArrayList<Character>();
+    private final List<Container> containers = new ArrayList<Container>();
+    private final long[] words = new long[WORDS];
+    private int key = -1;
+    private int count;
+
+    /**
+     * @param index the next index, larger than all indices added before
+     */
+    void add(final int index) {
+      if (index >>> 16 != key) {
+        flush();
+        key = index >>> 16;
+      }
+      words[(index & 0xFFFF) >>> 6] |= 1L << index;
+      ++count;
+    }
+
+    /** @return the selection of all added indices */
+    Selection build() {
+      flush();
+      return create(keys, containers);
+    }
+
+    /** stores the current block in its most compact form */
+    private void flush() {
+      if (count > 0) {
+        keys.add((char) key);
+        containers.add(Bitmap.compact(words.clone(), count));
+        Arrays.fill(words, 0L);
+        count = 0;
+      }
+    }
+  }
+
+  /** the lower 16 bits of the indices of a block */
+  private abstract static class Container
+  {
+    /** @return the amount of indices in the block */
+    abstract int cardinality();
+
+    /**
+     * @param low the lower 16 bits of an index
+     * @return true if the index is in the block
+     */
+    abstract boolean contains(char low);
+
+    /**
+     * @param other a block with the same key
+     * @return the indices in both blocks
+     */
+    abstract Container and(Container other);
+
+    /**
+     * @param other a block with the same key
+     * @return the indices in any of both blocks
+     */
+    abstract Container or(Container other);
+
+    /**
+     * @param other a block with the same key
+     * @return the indices in this block but not in the other one
+     */
+    abstract Container andNot(Container other);
+
+    /**
+     * @param target the array to copy the indices to
+     * @param position the position of the first index in the array
+     * @param high the upper 16 bits of the indices
+     * @return the position after the last copied index
+     */
+    abstract int copyTo(int[] target, int position, int high);
+
+    /** @return the indices as bitmap, may be shared and must not be modified */
+    abstract long[] words();
+
+    /**
+     * @param hash the hash code of the indices before this block
+     * @param high the upper 16 bits of the indices
+     * @return the hash code continued with the indices of this block
+     */
+    abstract int hash(int hash, int high);
+
+    /**
+     * @param other a block with the same key
+     * @return true if both blocks hold the same indices
+     */
+    boolean same(final Container other) {
+      return cardinality() == other.cardinality() && Arrays.equals(words(), other.words());
+    }
+  }
+
+  /** a sparse block as sorted array */
+  private static final class Sparse
+    extends Container
+  {
+    private final char[] values;
+
+    /**
+     * @param values the lower 16 bits of the indices in ascending order
+     */
+    Sparse(final char[] values) {
+      this.values = values;
+    }
+
+    @Override
+    int cardinality() {
+      return values.length;
+    }
+
+    @Override
+    boolean contains(final char low) {
+      return Arrays.binarySearch(values, low) >= 0;
+    }
+
+    @Override
+    Container and(final Container other) {
+      char[] result = new char[Math.min(values.length, other.cardinality())];
+      int size = 0;
+      if (other instanceof Sparse) {
+        char[] others = ((Sparse) other).values;
+        for (int left = 0, right = 0; left < values.length && right < others.length;) {
+          if (values[left] < others[right]) {
+            ++left;
+          } else if (values[left] > others[right]) {
+            ++right;
+          } else {
+            result[size++] = values[left++];
+            ++right;
+          }
+        }
+      } else {
+        for (char value : values) {
+          if (other.contains(value)) {
+            result[size++] = value;
+          }
+        }
+      }
+      return new Sparse(Arrays.copyOf(result, size));
+    }
+
+    @Override
+    Container or(final Container other) {
+      if (other instanceof Bitmap) return other.or(this);
+
+      char[] others = ((Sparse) other).values;
+      char[] result = new char[values.length + others.length];
+      int size = 0;
+      int left = 0;
+      int right = 0;
+      while (left < values.length || right < others.length) {
+        if (right == others.length || left < values.length && values[left] < others[right]) {
+          result[size++] = values[left++];
+        } else if (left == values.length || values[left] > others[right]) {
+          result[size++] = others[right++];
+        } else {
+          result[size++] = values[left++];
+          ++right;
+        }
+      }
+      if (size <= ARRAY_LIMIT) return new Sparse(Arrays.copyOf(result, size));
+
+      long[] words = new long[WORDS];
+      for (int position = 0; position < size; ++position) {
+        words[result[position] >>> 6] |= 1L << result[position];
+      }
+      return new Bitmap(words, size);
+    }
+
+    @Override
+    Container andNot(final Container other) {
+      char[] result = new char[values.length];
+      int size = 0;
+      for (char value : values) {
+        if (!other.contains(value)) {
+          result[size++] = value;
+        }
+      }
+      return new Sparse(Arrays.copyOf(result, size));
+    }
+
+    @Override
+    int copyTo(final int[] target, final int position, final int high) {
+      int next = position;
+      for (char value : values) {
+        target[next++] = high | value;
+      }
+      return next;
+    }
+
+    @Override
+    long[] words() {
+      long[] words = new long[WORDS];
+      for (char value : values) {
+        words[value >>> 6] |= 1L << value;
+      }
+      return words;
+    }
+
+    @Override
+    int hash(final int hash, final int high) {
+      int result = hash;
+      for (char value : values) {
+        result = 31 * result + (high | value);
+      }
+      return result;
+    }
+
+    @Override
+    boolean same(final Container other) {
+      if (other instanceof Sparse) return Arrays.equals(values, ((Sparse) other).values);
+      return super.same(other);
+    }
+  }
+
+  /** a dense block as bitmap */
+  private static final class Bitmap
+    extends Container
+  {
+    private final long[] words;
+    private final int cardinality;
+
+    /**
+     * @param words the bitmap of the lower 16 bits of the indices
+     * @param cardinality the amount of bits set
+     */
+    Bitmap(final long[] words, final int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    /**
+     * @param words a bitmap
+     * @param cardinality the amount of bits set
+     * @return the bitmap as array if sparse enough, otherwise as bitmap
+     */
+    static Container compact(final long[] words, final int cardinality) {
+      if (cardinality > ARRAY_LIMIT) return new Bitmap(words, cardinality);
+
+      char[] values = new char[cardinality];
+      int size = 0;
+      for (int word = 0; word < WORDS; ++word) {
+        for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+          values[size++] = (char) (word << 6 | Long.numberOfTrailingZeros(bits));
+        }
+      }
+      return new Sparse(values);
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    boolean contains(final char low) {
+      return (words[low >>> 6] & 1L << low) != 0;
+    }
+
+    @Override
+    Container and(final Container other) {
+      if (other instanceof Sparse) return other.and(this);
+
+      long[] others = other.words();
+      long[] result = new long[WORDS];
+      int count = 0;
+      for (int word = 0; word < WORDS; ++word) {
+        result[word] = words[word] & others[word];
+        count += Long.bitCount(result[word]);
+      }
+      return compact(result, count);
+    }
+
+    @Override
+    Container or(final Container other) {
+      long[] others = other.words();
+      long[] result = new long[WORDS];
+      int count = 0;
+      for (int word = 0; word < WORDS; ++word) {
+        result[word] = words[word] | others[word];
+        count += Long.bitCount(result[word]);
+      }
+      return new Bitmap(result, count);
+    }
+
+    @Override
+    Container andNot(final Container other) {
+      long[] others = other.words();
+      long[] result = new long[WORDS];
+      int count = 0;
+      for (int word = 0; word < WORDS; ++word) {
+        result[word] = words[word] & ~others[word];
+        count += Long.bitCount(result[word]);
+      }
+      return compact(result, count);
+    }
+
+    @Override
+    int copyTo(final int[] target, final int position, final int high) {
+      int next = position;
+      for (int word = 0; word < WORDS; ++word) {
+        for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+          target[next++] = high | word << 6 | Long.numberOfTrailingZeros(bits);
+        }
+      }
+      return next;
+    }
+
+    @Override
+    long[] words() {
+      return words;
+    }
+
+    @Override
+    int hash(final int hash, final int high) {
+      int result = hash;
+      for (int word = 0; word < WORDS; ++word) {
+        for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+          result = 31 * result + (high | word << 6 | Long.numberOfTrailingZeros(bits));
+        }
+      }
+      return result;
+    }
+  }
+
+  /** iterates the selected indices block by block, reading the arrays and bitmaps directly */
+  private final class Indices
+    implements Iterator<Integer>
+  {
+    /** the current block */
+    private int block = -1;
+    /** the upper 16 bits of the indices of the current block */
+    private int high;
+    /** the values of the current block if sparse, otherwise null */
+    private char[] values;
+    private int position;
+    /** the bitmap of the current block if dense, otherwise null */
+    private long[] words;
+    private int word;
+    /** the bits of the current word not returned yet */
+    private long bits;
+    /** the next index, -1 at the end */
+    private int next;
+
+    Indices() {
+      advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next >= 0;
+    }
+
+    @Override
+    public Integer next() {
+      return nextIndex();
+    }
+
+    /** @return the next index */
+    int nextIndex() {
+      if (next < 0) throw new NoSuchElementException();
+
+      int result = next;
+      advance();
+      return result;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    /** moves on to the next selected index */
+    private void advance() {
+      while (true) {
+        if (values != null && position < values.length) {
+          next = high | values[position++];
+          return;
+        }
+        if (words != null) {
+          while (bits == 0 && ++word < WORDS) {
+            bits = words[word];
+          }
+          if (bits != 0) {
+            next = high | word << 6 | Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+            return;
+          }
+        }
+        if (++block == keys.length) {
+          next = -1;
+          return;
+        }
+
+        high = keys[block] << 16;
+        Container container = containers[block];
+        if (container instanceof Sparse) {
+          values = ((Sparse) container).values;
+          position = 0;
+          words = null;
+        } else {
+          values = null;
+          words = container.words();
+          word = 0;
+          bits = words[0];
+        }
+      }
+    }
+  }
+}
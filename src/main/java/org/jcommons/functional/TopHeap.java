@@ -0,0 +1,175 @@
+package org.jcommons.functional;
+
+import java.util.*;
+
+import org.jcommons.functional.predicate.BinaryPredicate;
+
+/**
+ * A bounded heap keeping the greatest elements seen so far, the least of them on top.
+ *
+ * An element only enters the heap if it is greater than the least element kept, so a heap of <code>k</code> elements
+ * takes <code>O(n log k)</code> for <code>n</code> elements and usually much less, as most elements of a long list are
+ * rejected by a single comparison. Elements that are equal by the order are ranked by their index, the element added
+ * first counts as greater, so the result does not depend on how a list has been split.
+ *
+ * @param <T> template for the object class
+ */
+final class TopHeap<T>
+{
+  /** the initial amount of elements, the heap only grows as far as needed */
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final BinaryPredicate<T> lessThan;
+  private final int capacity;
+
+  private Object[] items;
+  /** the index of each element in the original list */
+  private int[] indexes;
+  private int size;
+
+  /**
+   * @param lessThan the order of the elements
+   * @param capacity the maximum amount of elements to keep
+   */
+  TopHeap(final BinaryPredicate<T> lessThan, final int capacity) {
+    this.lessThan = lessThan;
+    this.capacity = capacity;
+    this.items = new Object[Math.min(capacity, INITIAL_CAPACITY)];
+    this.indexes = new int[items.length];
+  }
+
+  /**
+   * Offers consecutive elements of a list.
+   *
+   * @param elements the elements to offer
+   * @param firstIndex the index of the first element in the list
+   */
+  void addAll(final Iterable<T> elements, final int firstIndex) {
+    int index = firstIndex;
+    for (T item : elements) {
+      add(item, index++);
+    }
+  }
+
+  /**
+   * Offers an element, it is kept if the heap is not full yet or it is greater than the least element kept.
+   *
+   * @param item the element
+   * @param index the index of the element in the list
+   */
+  @SuppressWarnings("unchecked")
+  void add(final T item, final int index) {
+    if (size < capacity) {
+      if (size == items.length) {
+        int length = (int) Math.min(capacity, items.length * 2L);
+        items = Arrays.copyOf(items, length);
+        indexes = Arrays.copyOf(indexes, length);
+      }
+      items[size] = item;
+      indexes[size] = index;
+      siftUp(size++);
+    } else if (capacity > 0 && less((T) items[0], indexes[0], item, index)) {
+      items[0] = item;
+      indexes[0] = index;
+      siftDown(0);
+    }
+  }
+
+  /**
+   * Offers all elements of another heap.
+   *
+   * @param other the heap to merge into this one
+   */
+  @SuppressWarnings("unchecked")
+  void merge(final TopHeap<T> other) {
+    for (int entry = 0; entry < other.size; ++entry) {
+      add((T) other.items[entry], other.indexes[entry]);
+    }
+  }
+
+  /**
+   * Empties the heap.
+   *
+   * @return the elements kept, the greatest first
+   */
+  @SuppressWarnings("unchecked")
+  List<T> toList() {
+    Object[] result = new Object[size];
+    // the least element is on top, so the list is filled from its end
+    while (size > 0) {
+      result[size - 1] = items[0];
+      --size;
+      items[0] = items[size];
+      indexes[0] = indexes[size];
+      items[size] = null;
+      siftDown(0);
+    }
+    return new ArrayList<T>((List<T>) Arrays.asList(result));
+  }
+
+  /**
+   * @param item the 1st element
+   * @param index the index of the 1st element
+   * @param other the 2nd element
+   * @param otherIndex the index of the 2nd element
+   * @return true if the 1st element ranks below the 2nd one
+   */
+  private boolean less(final T item, final int index, final T other, final int otherIndex) {
+    if (lessThan.execute(item, other)) return true;
+    return index > otherIndex && !lessThan.execute(other, item);
+  }
+
+  /**
+   * @param left the position of the 1st element in the heap
+   * @param right the position of the 2nd element in the heap
+   * @return true if the 1st element ranks below the 2nd one
+   */
+  @SuppressWarnings("unchecked")
+  private boolean less(final int left, final int right) {
+    return less((T) items[left], indexes[left], (T) items[right], indexes[right]);
+  }
+
+  /**
+   * Moves an element up until its parent ranks below it.
+   *
+   * @param position the position of the element in the heap
+   */
+  private void siftUp(final int position) {
+    int child = position;
+    while (child > 0) {
+      int parent = (child - 1) >>> 1;
+      if (!less(child, parent)) return;
+      swap(child, parent);
+      child = parent;
+    }
+  }
+
+  /**
+   * Moves an element down until its children rank above it.
+   *
+   * @param position the position of the element in the heap
+   */
+  private void siftDown(final int position) {
+    int parent = position;
+    for (int child = 2 * parent + 1; child < size; child = 2 * parent + 1) {
+      if (child + 1 < size && less(child + 1, child)) ++child;
+      if (!less(child, parent)) return;
+      swap(child, parent);
+      parent = child;
+    }
+  }
+
+  /**
+   * @param left the position of the 1st element in the heap
+   * @param right the position of the 2nd element in the heap
+   */
+  private void swap(final int left, final int right) {
+    Object item = items[left];
+    items[left] = items[right];
+    items[right] = item;
+
+    int index = indexes[left];
+    indexes[left] = indexes[right];
+    indexes[right] = index;
+  }
+}
@@ -0,0 +1,15 @@
+package org.jcommons.functional.function;
+
+/**
+ * Tagging interface to mark a binary function as associative.
+ *
+ * A function <code>f</code> is associative if <code>f(f(a, b), c)</code> equals <code>f(a, f(b, c))</code> for all
+ * arguments, so the elements of a list can be reduced in any grouping as long as their order is kept. Parallel
+ * implementations rely on this tag to split a reduction into independent parts.
+ *
+ * Floating point additions round, so their result depends on the grouping and sums of floating point numbers must not
+ * be tagged.
+ */
+public interface Associative {
+
+}
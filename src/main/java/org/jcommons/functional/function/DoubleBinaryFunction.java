@@ -0,0 +1,19 @@
+package org.jcommons.functional.function;
+
+/**
+ * A function that accepts two primitive <code>double</code> arguments and returns a <code>double</code>.
+ *
+ * This is the boxing free counterpart of <code>BinaryFunction&lt;Double, Double&gt;</code>.
+ */
+public interface DoubleBinaryFunction
+  extends Function
+{
+  /**
+   * Executes the function with the two given arguments.
+   *
+   * @param argument0 the first argument
+   * @param argument1 the second argument
+   * @return the result of the function depends on their implementation
+   */
+  double execute(double argument0, double argument1);
+}
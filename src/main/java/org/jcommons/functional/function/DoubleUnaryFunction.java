@@ -0,0 +1,18 @@
+package org.jcommons.functional.function;
+
+/**
+ * A function that accepts a single primitive <code>double</code> argument and returns a <code>double</code>.
+ *
+ * This is the boxing free counterpart of <code>UnaryFunction&lt;Double, Double&gt;</code>.
+ */
+public interface DoubleUnaryFunction
+  extends Function
+{
+  /**
+   * Executes the function with the given argument.
+   *
+   * @param argument the argument
+   * @return the result of the function depends on their implementation
+   */
+  double execute(double argument);
+}
@@ -0,0 +1,19 @@
+package org.jcommons.functional.function;
+
+/**
+ * A function that accepts two primitive <code>int</code> arguments and returns a <code>int</code>.
+ *
+ * This is the boxing free counterpart of <code>BinaryFunction&lt;Integer, Integer&gt;</code>.
+ */
+public interface IntBinaryFunction
+  extends Function
+{
+  /**
+   * Executes the function with the two given arguments.
+   *
+   * @param argument0 the first argument
+   * @param argument1 the second argument
+   * @return the result of the function depends on their implementation
+   */
+  int execute(int argument0, int argument1);
+}
@@ -0,0 +1,18 @@
+package org.jcommons.functional.function;
+
+/**
+ * A function that accepts a single primitive <code>int</code> argument and returns a <code>int</code>.
+ *
+ * This is the boxing free counterpart of <code>UnaryFunction&lt;Integer, Integer&gt;</code>.
+ */
+public interface IntUnaryFunction
+  extends Function
+{
+  /**
+   * Executes the function with the given argument.
+   *
+   * @param argument the argument
+   * @return the result of the function depends on their implementation
+   */
+  int execute(int argument);
+}
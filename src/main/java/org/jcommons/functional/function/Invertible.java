@@ -0,0 +1,25 @@
+package org.jcommons.functional.function;
+
+/**
+ * A binary function whose effect can be undone.
+ *
+ * A function <code>f</code> is invertible if <code>inverse(f(a, b), b)</code> equals <code>a</code> for all arguments.
+ * Aggregations over a moving window rely on this to remove the oldest value from a running result in constant time
+ * instead of combining all remaining values again.
+ *
+ * The inverse must be exact. Floating point sums are not invertible, as the low bits lost by rounding when adding a
+ * large value cannot be recovered by subtracting it again.
+ *
+ * @param <T> template for the object class
+ */
+public interface Invertible<T>
+{
+  /**
+   * Removes the contribution of a value from a result the value has been combined into.
+   *
+   * @param result the result containing the value
+   * @param value the value to remove
+   * @return the result without the value
+   */
+  T inverse(T result, T value);
+}
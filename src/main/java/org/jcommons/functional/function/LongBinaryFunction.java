@@ -0,0 +1,19 @@
+package org.jcommons.functional.function;
+
+/**
+ * A function that accepts two primitive <code>long</code> arguments and returns a <code>long</code>.
+ *
+ * This is the boxing free counterpart of <code>BinaryFunction&lt;Long, Long&gt;</code>.
+ */
+public interface LongBinaryFunction
+  extends Function
+{
+  /**
+   * Executes the function with the two given arguments.
+   *
+   * @param argument0 the first argument
+   * @param argument1 the second argument
+   * @return the result of the function depends on their implementation
+   */
+  long execute(long argument0, long argument1);
+}
@@ -0,0 +1,18 @@
+package org.jcommons.functional.function;
+
+/**
+ * A function that accepts a single primitive <code>long</code> argument and returns a <code>long</code>.
+ *
+ * This is the boxing free counterpart of <code>UnaryFunction&lt;Long, Long&gt;</code>.
+ */
+public interface LongUnaryFunction
+  extends Function
+{
+  /**
+   * Executes the function with the given argument.
+   *
+   * @param argument the argument
+   * @return the result of the function depends on their implementation
+   */
+  long execute(long argument);
+}
@@ -0,0 +1,20 @@
+package org.jcommons.functional.function;
+
+/**
+ * A function that accepts a single argument and returns a primitive <code>long</code>.
+ *
+ * This is the boxing free counterpart of <code>UnaryFunction&lt;Long, T&gt;</code>, e.g. to extract a numeric field.
+ *
+ * @param <T> template for the object class
+ */
+public interface ToLongFunction<T>
+  extends Function
+{
+  /**
+   * Executes the function with the given argument.
+   *
+   * @param argument the argument
+   * @return the result of the function depends on their implementation
+   */
+  long execute(T argument);
+}
@@ -0,0 +1,185 @@
+package org.jcommons.functional.functions;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jcommons.functional.predicate.UnaryPredicate;
+
+/**
+ * A conjunction of predicates that learns in which order to evaluate them.
+ *
+ * The cheapest order evaluates first those predicates that are cheap and reject many elements. This order is usually
+ * unknown when the conjunction is written and changes with the data. So a small random sample of the evaluations
+ * measures the time each predicate evaluated takes and how often it holds. Sampled evaluations stop at the first
+ * failing predicate like all others, so a predicate is only measured on the elements its predecessors let through.
+ * Every so many samples the predicates are sorted by their cost divided by their rejection rate, which minimizes the
+ * expected cost if the predicates are independent. Predicates never reached so far go last in their current order.
+ * The statistics are halved after each reordering, so that the order follows drifting data.
+ *
+ * The result is always the conjunction of all predicates, only the amount of work differs. All predicates must be
+ * free of side effects and must not rely on each other, as they may be evaluated in any order: a predicate guarded by
+ * another one, e.g. a test dereferencing the argument after a test for null, has to be combined with its guard into a
+ * single predicate, e.g. by <code>Compositions.and</code>. The conjunction may be used by several threads at the same
+ * time.
+ *
+ * @param <T> template for the object class
+ */
+public class AdaptiveConjunction<T>
+  implements UnaryPredicate<T>
+{
+  /** measure the predicates on one of this many evaluations by default */
+  private static final int DEFAULT_SAMPLE_RATE = 64;
+  /** reorder the predicates after this many samples by default */
+  private static final int DEFAULT_REORDER_INTERVAL = 256;
+
+  private final UnaryPredicate<T>[] predicates;
+  private final int sampleRate;
+  private final int reorderInterval;
+
+  /** the indices of the predicates in the order of evaluation, replaced as a whole on reordering */
+  private volatile int[] order;
+  private final AtomicInteger samples = new AtomicInteger();
+
+  // statistics per predicate, guarded by this
+  private final double[] evaluations;
+  private final double[] passes;
+  private final double[] nanos;
+
+  /**
+   * Creates a conjunction that samples one of 64 evaluations and reorders every 256 samples.
+   *
+   * @param predicates the predicates that all have to hold, evaluated in the given order until there is enough data
+   */
+  @SafeVarargs
+  public AdaptiveConjunction(final UnaryPredicate<T>... predicates) {
+    this(DEFAULT_SAMPLE_RATE, DEFAULT_REORDER_INTERVAL, predicates);
+  }
+
+  /**
+   * Creates a conjunction.
+   *
+   * @param sampleRate measure the predicates on one of this many evaluations
+   * @param reorderInterval reorder the predicates after this many samples
+   * @param predicates the predicates that all have to hold, evaluated in the given order until there is enough data
+   */
+  @SafeVarargs
+  public AdaptiveConjunction(final int sampleRate, final int reorderInterval, final UnaryPredicate<T>... predicates) {
+    if (sampleRate <= 0) throw new IllegalArgumentException("sampleRate must be positive: " + sampleRate);
+    if (reorderInterval <= 0) {
+      throw new IllegalArgumentException("reorderInterval must be positive: " + reorderInterval);
+    }
+    if (predicates == null || Arrays.asList(predicates).contains(null)) {
+      throw new IllegalArgumentException("predicates must not be null");
+    }
+
+    this.predicates = predicates.clone();
+    this.sampleRate = sampleRate;
+    this.reorderInterval = reorderInterval;
+
+    order = new int[predicates.length];
+    for (int index = 0; index < order.length; ++index) {
+      order[index] = index;
+    }
+    evaluations = new double[predicates.length];
+    passes = new double[predicates.length];
+    nanos = new double[predicates.length];
+  }
+
+  /**
+   * Evaluates the predicates in the order learned so far up to the first one that does not hold.
+   *
+   * @param argument the argument
+   * @return true if all predicates hold, otherwise false
+   */
+  public boolean execute(final T argument) {
+    if (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0) return sample(argument);
+
+    for (int index : order) {
+      if (!predicates[index].execute(argument)) return false;
+    }
+    return true;
+  }
+
+  /** @return the predicates in their current order of evaluation */
+  public List<UnaryPredicate<T>> getOrder() {
+    int[] current = order;
+    List<UnaryPredicate<T>> result = new ArrayList<UnaryPredicate<T>>(current.length);
+    for (int index : current) {
+      result.add(predicates[index]);
+    }
+    return result;
+  }
+
+  /**
+   * Evaluates the predicates in the current order up to the first one that does not hold, measuring each evaluated one.
+   *
+   * @param argument the argument
+   * @return true if all predicates hold, otherwise false
+   */
+  private boolean sample(final T argument) {
+    int[] current = order;
+    boolean[] passed = new boolean[current.length];
+    long[] elapsed = new long[current.length];
+    int evaluated = 0;
+    boolean result = true;
+    while (result && evaluated < current.length) {
+      long start = System.nanoTime();
+      result = predicates[current[evaluated]].execute(argument);
+      elapsed[evaluated] = System.nanoTime() - start;
+      passed[evaluated++] = result;
+    }
+
+    synchronized (this) {
+      for (int position = 0; position < evaluated; ++position) {
+        int index = current[position];
+        evaluations[index] += 1.0;
+        passes[index] += passed[position] ? 1.0 : 0.0;
+        nanos[index] += elapsed[position];
+      }
+    }
+
+    if (samples.incrementAndGet() % reorderInterval == 0) {
+      reorder();
+    }
+    return result;
+  }
+
+  /** Sorts the predicates by their expected cost per rejected element and decays the statistics. */
+  private synchronized void reorder() {
+    final double[] rank = new double[predicates.length];
+    Integer[] sorted = new Integer[order.length];
+    for (int position = 0; position < order.length; ++position) {
+      // in the current order, so that predicates without any measurement keep their relative place
+      int index = order[position];
+      sorted[position] = index;
+      if (evaluations[index] == 0.0) {
+        rank[index] = Double.POSITIVE_INFINITY;
+        continue;
+      }
+
+      double cost = nanos[index] / evaluations[index];
+      double rejections = 1.0 - passes[index] / evaluations[index];
+      // a predicate that never rejects anything is only worth evaluating last
+      rank[index] = rejections <= 0.0 ? Double.POSITIVE_INFINITY : cost / rejections;
+
+      evaluations[index] /= 2;
+      passes[index] /= 2;
+      nanos[index] /= 2;
+    }
+
+    // stable, so predicates with equal rank keep their order
+    Arrays.sort(sorted, new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer left, final Integer right) {
+        return Double.compare(rank[left], rank[right]);
+      }
+    });
+
+    int[] next = new int[sorted.length];
+    for (int index = 0; index < sorted.length; ++index) {
+      next[index] = sorted[index];
+    }
+    order = next;
+  }
+}
@@ -0,0 +1,177 @@
+package org.jcommons.functional.functions;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.jcommons.functional.function.NaryFunction;
+
+/**
+ * Sums many double numbers accurately and with the same result whatever the amount of threads.
+ *
+ * Adding up a long list with <code>DoubleSum</code> loses the low bits of each addition, and splitting it would return
+ * different results depending on where the list is split, so parallel reductions add it up sequentially. This sum
+ * uses Neumaier's compensated summation on blocks of a fixed size and combines the blocks in a fixed binary tree,
+ * again carrying the rounding errors along. The shape of the tree only depends on the amount of numbers, so the
+ * sequential and the parallel sum of the same numbers are identical to the last bit, for every pool size.
+ *
+ * Null elements are ignored.
+ */
+public class CompensatedDoubleSum
+  implements NaryFunction<Double, Double>
+{
+  /** the amount of numbers summed up in one block, fixed so the result does not depend on the threads */
+  static final int BLOCK_SIZE = 1024;
+
+  /** ranges of at most this many blocks are summed up by a single thread */
+  private static final int SEQUENTIAL_BLOCKS = 16;
+
+  private final ForkJoinPool pool;
+
+  /** Creates a sum executed in the calling thread. */
+  public CompensatedDoubleSum() {
+    this(null);
+  }
+
+  /**
+   * Creates a sum executed in parallel on the given pool, with the same result as the sequential sum.
+   *
+   * @param pool the pool to sum up large arrays in, sequential if null
+   */
+  public CompensatedDoubleSum(final ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Sums up the given numbers.
+   *
+   * @param numbers the numbers to sum up
+   * @return the sum of the numbers, 0 if there are none
+   */
+  public Double execute(final Double... numbers) {
+    return numbers == null ? 0.0 : execute(Arrays.asList(numbers));
+  }
+
+  /**
+   * Sums up the given numbers.
+   *
+   * @param numbers the numbers to sum up
+   * @return the sum of the numbers, 0 if there are none
+   */
+  public Double execute(final List<Double> numbers) {
+    if (numbers == null) return 0.0;
+
+    double[] values = new double[numbers.size()];
+    int size = 0;
+    for (Double number : numbers) {
+      if (number != null) {
+        values[size++] = number;
+      }
+    }
+    return sum(size == values.length ? values : Arrays.copyOf(values, size));
+  }
+
+  /**
+   * Sums up the given numbers.
+   *
+   * @param numbers the numbers to sum up
+   * @return the sum of the numbers, 0 if there are none
+   */
+  public double sum(final double[] numbers) {
+    if (numbers == null || numbers.length == 0) return 0.0;
+
+    int blocks = (numbers.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    double[] result;
+    if (pool == null || pool.getParallelism() <= 1 || blocks <= SEQUENTIAL_BLOCKS) {
+      result = sum(numbers, 0, blocks);
+    } else {
+      result = pool.invoke(new SumTask(numbers, 0, blocks));
+    }
+    return result[0] + result[1];
+  }
+
+  /**
+   * Sums up a range of blocks by splitting the range in halves.
+   *
+   * @param numbers the numbers to sum up
+   * @param firstBlock the first block to sum up
+   * @param lastBlock the block after the last one to sum up
+   * @return the sum and the accumulated rounding error
+   */
+  static double[] sum(final double[] numbers, final int firstBlock, final int lastBlock) {
+    if (lastBlock - firstBlock == 1) return sumBlock(numbers, firstBlock);
+
+    int middle = (firstBlock + lastBlock) >>> 1;
+    return combine(sum(numbers, firstBlock, middle), sum(numbers, middle, lastBlock));
+  }
+
+  /**
+   * Sums up a single block.
+   *
+   * @param numbers the numbers to sum up
+   * @param block the index of the block
+   * @return the sum and the accumulated rounding error
+   */
+  private static double[] sumBlock(final double[] numbers, final int block) {
+    double sum = 0.0;
+    double compensation = 0.0;
+    for (int index = block * BLOCK_SIZE, end = Math.min(numbers.length, index + BLOCK_SIZE); index < end; ++index) {
+      double number = numbers[index];
+      double total = sum + number;
+      // the bits lost by the addition, computed from the larger operand
+      if (Math.abs(sum) >= Math.abs(number)) {
+        compensation += (sum - total) + number;
+      } else {
+        compensation += (number - total) + sum;
+      }
+      sum = total;
+    }
+    return new double[] {sum, compensation};
+  }
+
+  /**
+   * Adds two partial sums.
+   *
+   * @param left the sum and rounding error of the first part
+   * @param right the sum and rounding error of the second part
+   * @return the sum and the accumulated rounding error of both parts
+   */
+  private static double[] combine(final double[] left, final double[] right) {
+    double total = left[0] + right[0];
+    double error;
+    if (Math.abs(left[0]) >= Math.abs(right[0])) {
+      error = (left[0] - total) + right[0];
+    } else {
+      error = (right[0] - total) + left[0];
+    }
+    return new double[] {total, left[1] + right[1] + error};
+  }
+
+  /** splits a range of blocks exactly like the sequential sum does */
+  private static final class SumTask
+    extends RecursiveTask<double[]>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final double[] numbers;
+    private final int firstBlock;
+    private final int lastBlock;
+
+    SumTask(final double[] numbers, final int firstBlock, final int lastBlock) {
+      this.numbers = numbers;
+      this.firstBlock = firstBlock;
+      this.lastBlock = lastBlock;
+    }
+
+    @Override
+    protected double[] compute() {
+      if (lastBlock - firstBlock <= SEQUENTIAL_BLOCKS) return sum(numbers, firstBlock, lastBlock);
+
+      int middle = (firstBlock + lastBlock) >>> 1;
+      SumTask left = new SumTask(numbers, firstBlock, middle);
+      left.fork();
+      double[] right = new SumTask(numbers, middle, lastBlock).compute();
+      return combine(left.join(), right);
+    }
+  }
+}
@@ -3,6 +3,13 @@ package org.jcommons.functional.functions;
 /**
  * Sums two double numbers.
  *
+ * Each addition rounds, so the sum of a long list loses precision and depends on the order of the additions. This sum
+ * is therefore not <code>Associative</code> and parallel reductions do not split it. Use
+ * <code>CompensatedDoubleSum</code> to sum long lists accurately and in parallel.
+ *
+ * For the same reason this sum is not <code>Invertible</code>: subtracting a large number from a rounded sum does not
+ * restore the small numbers added after it, so moving windows keep partial sums instead.
+ *
  * @author Thorsten Göckeler
  */
 public class DoubleSum
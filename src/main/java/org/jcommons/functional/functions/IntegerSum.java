@@ -1,5 +1,8 @@
 package org.jcommons.functional.functions;
 
+import org.jcommons.functional.function.Associative;
+import org.jcommons.functional.function.Invertible;
+
 /**
  * Sums two integer numbers
  *
@@ -7,6 +10,7 @@ package org.jcommons.functional.functions;
  */
 public class IntegerSum
   extends Sum<Integer>
+  implements Associative, Invertible<Integer>
 {
   /**
    * Sum the given numbers.
@@ -19,4 +23,16 @@ public class IntegerSum
   public Integer sum(final Integer numberLeft, final Integer numberRight) {
     return numberLeft + numberRight;
   }
+
+  /**
+   * Subtracts a number from a sum.
+   *
+   * @param sum the sum containing the number
+   * @param number the number to remove
+   * @return the sum without the number
+   */
+  @Override
+  public Integer inverse(final Integer sum, final Integer number) {
+    return sum - number;
+  }
 }
@@ -1,5 +1,8 @@
 package org.jcommons.functional.functions;
 
+import org.jcommons.functional.function.Associative;
+import org.jcommons.functional.function.Invertible;
+
 /**
  * Sums two long numbers.
  *
@@ -7,6 +10,7 @@ package org.jcommons.functional.functions;
  */
 public class LongSum
   extends Sum<Long>
+  implements Associative, Invertible<Long>
 {
   /**
    * Sum the given numbers.
@@ -19,4 +23,16 @@ public class LongSum
   public Long sum(final Long numberLeft, final Long numberRight) {
     return numberLeft + numberRight;
   }
+
+  /**
+   * Subtracts a number from a sum.
+   *
+   * @param sum the sum containing the number
+   * @param number the number to remove
+   * @return the sum without the number
+   */
+  @Override
+  public Long inverse(final Long sum, final Long number) {
+    return sum - number;
+  }
 }
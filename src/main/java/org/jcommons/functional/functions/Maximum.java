@@ -0,0 +1,29 @@
+package org.jcommons.functional.functions;
+
+import org.jcommons.functional.function.Associative;
+import org.jcommons.functional.function.BinaryFunction;
+
+/**
+ * Retrieves the larger of two comparable values, null values are ignored.
+ *
+ * The maximum cannot be inverted, so aggregations over a moving window keep additional state for it.
+ *
+ * @param <T> template for the object class
+ */
+public class Maximum<T extends Comparable<? super T>>
+  implements BinaryFunction<T, T>, Associative
+{
+  /**
+   * Retrieves the larger of the given values.
+   *
+   * @param valueLeft the 1st value
+   * @param valueRight the 2nd value
+   * @return the larger value, the 1st one if both are equal, null only if both are null
+   */
+  @Override
+  public T execute(final T valueLeft, final T valueRight) {
+    if (valueLeft == null) return valueRight;
+    if (valueRight == null) return valueLeft;
+    return valueLeft.compareTo(valueRight) >= 0 ? valueLeft : valueRight;
+  }
+}
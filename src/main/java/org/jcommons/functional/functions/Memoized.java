@@ -0,0 +1,241 @@
+package org.jcommons.functional.functions;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.jcommons.functional.function.UnaryFunction;
+
+/**
+ * Remembers the results of a pure function so that it is executed only once per argument.
+ *
+ * The results are kept in a bounded cache that evicts the least recently used results once it is full, and optionally
+ * drops results after a given time. The cache is split into independently locked segments so that many threads can
+ * use the same function with little contention. Two threads asking for the same missing argument at the same time may
+ * both execute the function, the result of the later one is kept.
+ *
+ * Only decorate functions whose result depends on nothing but the argument, and whose arguments implement
+ * <code>equals</code> and <code>hashCode</code>.
+ *
+ * @param <R> template for the return class
+ * @param <T> template for the object class
+ */
+public class Memoized<R, T>
+  implements UnaryFunction<R, T>
+{
+  /** a segment is not split any further below this size */
+  private static final int MINIMUM_SEGMENT_SIZE = 16;
+
+  /** stands in for the null argument */
+  private static final Object NULL = new Object();
+
+  private final UnaryFunction<R, T> function;
+  private final long expireAfterNanos;
+  private final Segment[] segments;
+
+  /**
+   * Decorates the given function with a cache that never expires.
+   *
+   * @param function the pure function to remember the results of
+   * @param maximumSize the maximum amount of results to remember
+   * @throws IllegalArgumentException if no function is given or the maximum size is not positive
+   */
+  public Memoized(final UnaryFunction<R, T> function, final int maximumSize) {
+    this(function, maximumSize, 0L, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Decorates the given function with a cache that drops results after a given time.
+   *
+   * @param function the pure function to remember the results of
+   * @param maximumSize the maximum amount of results to remember
+   * @param expireAfter the time after which a result is computed again, 0 if results shall not expire
+   * @param unit the unit of the time
+   * @throws IllegalArgumentException if no function or unit is given, the maximum size is not positive or the time is
+   *           negative
+   */
+  public Memoized(final UnaryFunction<R, T> function, final int maximumSize, final long expireAfter,
+    final TimeUnit unit)
+  {
+    if (function == null) throw new IllegalArgumentException("function must not be null");
+    if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+    if (expireAfter < 0) throw new IllegalArgumentException("expireAfter must not be negative: " + expireAfter);
+    if (unit == null) throw new IllegalArgumentException("unit must not be null");
+
+    this.function = function;
+    this.expireAfterNanos = unit.toNanos(expireAfter);
+
+    int concurrency = Runtime.getRuntime().availableProcessors() * 4;
+    int count = 1;
+    while (count < concurrency && count * 2 * MINIMUM_SEGMENT_SIZE <= maximumSize) {
+      count <<= 1;
+    }
+
+    segments = new Segment[count];
+    for (int index = 0; index < count; ++index) {
+      // distribute the remainder so the capacities add up to the maximum size exactly
+      segments[index] = new Segment(maximumSize / count + (index < maximumSize % count ? 1 : 0));
+    }
+  }
+
+  /**
+   * Returns the remembered result for the argument, executes the decorated function if there is none.
+   *
+   * @param argument the argument
+   * @return the result of the decorated function for the argument
+   */
+  @SuppressWarnings("unchecked")
+  public R execute(final T argument) {
+    Object key = argument == null ? NULL : argument;
+    Segment segment = segmentFor(key);
+
+    Result remembered = segment.lookup(key, expireAfterNanos > 0 ? System.nanoTime() : 0L);
+    if (remembered != null) return (R) remembered.value;
+
+    R result = function.execute(argument);
+    long expiresAt = expireAfterNanos > 0 ? System.nanoTime() + expireAfterNanos : 0L;
+    segment.store(key, new Result(result, expiresAt));
+    return result;
+  }
+
+  /** @return the amount of calls answered with a remembered result */
+  public long getHits() {
+    long hits = 0L;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        hits += segment.hits;
+      }
+    }
+    return hits;
+  }
+
+  /** @return the amount of calls that had to execute the decorated function */
+  public long getMisses() {
+    long misses = 0L;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        misses += segment.misses;
+      }
+    }
+    return misses;
+  }
+
+  /** @return the amount of results dropped because the cache was full or they expired */
+  public long getEvictions() {
+    long evictions = 0L;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        evictions += segment.evictions;
+      }
+    }
+    return evictions;
+  }
+
+  /** @return the amount of results currently remembered, including expired ones not yet dropped */
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  /** Forgets all remembered results, the statistics are kept. */
+  public void clear() {
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  /**
+   * @param key the argument
+   * @return the segment responsible for the argument
+   */
+  private Segment segmentFor(final Object key) {
+    int hash = key.hashCode();
+    // spread the higher bits, as the segment is chosen by the lower bits only
+    hash ^= (hash >>> 16) ^ (hash >>> 7);
+    return segments[hash & (segments.length - 1)];
+  }
+
+  /** a remembered result */
+  private static final class Result
+  {
+    private final Object value;
+    private final long expiresAt;
+
+    /**
+     * @param value the result
+     * @param expiresAt the system nano time the result expires, 0 if it does not
+     */
+    Result(final Object value, final long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /** a part of the cache with its own lock, least recently used results come first */
+  private static final class Segment
+    extends LinkedHashMap<Object, Result>
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final int capacity;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param capacity the maximum amount of results in this segment
+     */
+    Segment(final int capacity) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    /**
+     * Looks up the remembered result and marks it as recently used.
+     *
+     * @param key the argument
+     * @param now the current system nano time, only needed if results expire
+     * @return the remembered result, null if there is none or it has expired
+     */
+    synchronized Result lookup(final Object key, final long now) {
+      Result entry = get(key);
+      if (entry != null && entry.expiresAt != 0L && entry.expiresAt - now <= 0L) {
+        remove(key);
+        ++evictions;
+        entry = null;
+      }
+
+      if (entry == null) {
+        ++misses;
+      } else {
+        ++hits;
+      }
+      return entry;
+    }
+
+    /**
+     * Remembers a result, evicts the least recently used one if the segment is full.
+     *
+     * @param key the argument
+     * @param entry the result
+     */
+    synchronized void store(final Object key, final Result entry) {
+      put(key, entry);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Object, Result> eldest) {
+      if (size() <= capacity) return false;
+
+      ++evictions;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,296 @@
+package org.jcommons.functional.functions;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counts the invocations of a function or predicate and records the distribution of their latency.
+ *
+ * Meters are shared by the metered decorators, e.g. <code>MeteredFunction</code>. Every invocation is counted, but to
+ * keep the overhead low on hot paths only some invocations are timed, as configured by the sample rate. Counters are
+ * striped, each thread counts in the stripe chosen by the lower bits of its id, and every n-th invocation in a stripe
+ * is timed. Threads sharing a stripe share its count, so a single thread may be timed more or less often than every
+ * n-th invocation, while all threads together are timed at the configured rate. Latencies are recorded in a fixed
+ * log-linear histogram, so no locks are taken and no objects are created per invocation.
+ *
+ * A meter can be registered as MBean in the platform MBean server under
+ * <code>org.jcommons.functional:type=Meter,name=...</code>.
+ */
+public class Meter
+  implements MeterMBean
+{
+  /** returned by <code>start</code> if the invocation is not timed */
+  public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+  /** values below this are counted in a bucket of their own */
+  private static final int LINEAR_BUCKETS = 16;
+  /** every power of two above the linear buckets is split into this many buckets */
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int BUCKETS = LINEAR_BUCKETS + (63 - 4) * (1 << SUB_BUCKET_BITS);
+
+  /** amount of longs between two counters so that they do not share a cache line */
+  private static final int STRIDE = 8;
+  private static final int STRIPES = stripes();
+
+  private final String name;
+  private final int sampleMask;
+
+  private final AtomicLongArray invocations = new AtomicLongArray(STRIPES * STRIDE);
+  private final AtomicLongArray errors = new AtomicLongArray(STRIPES * STRIDE);
+  private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+  private final AtomicLong samples = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  private ObjectName objectName;
+
+  /**
+   * Creates a meter that times every invocation.
+   *
+   * @param name the name of the meter, used to register it
+   */
+  public Meter(final String name) {
+    this(name, 1);
+  }
+
+  /**
+   * Creates a meter that only times some of the invocations.
+   *
+   * @param name the name of the meter, used to register it
+   * @param sampleRate every how many invocations per stripe to measure the latency, rounded up to a power of two
+   */
+  public Meter(final String name, final int sampleRate) {
+    if (sampleRate <= 0) throw new IllegalArgumentException("sampleRate must be positive: " + sampleRate);
+
+    this.name = name;
+    this.sampleMask = Integer.highestOneBit(sampleRate) == sampleRate ? sampleRate - 1
+        : Integer.highestOneBit(sampleRate) * 2 - 1;
+  }
+
+  /**
+   * Counts an invocation that is about to start.
+   *
+   * @return the system nano time if this invocation shall be timed, otherwise <code>NOT_SAMPLED</code>
+   */
+  public long start() {
+    long count = invocations.incrementAndGet(stripe());
+    return (count & sampleMask) == 0 ? System.nanoTime() : NOT_SAMPLED;
+  }
+
+  /**
+   * Records the end of an invocation.
+   *
+   * @param start the value returned by <code>start</code> for this invocation
+   * @param success false if the invocation threw an exception
+   */
+  public void stop(final long start, final boolean success) {
+    if (!success) {
+      errors.incrementAndGet(stripe());
+    }
+    if (start != NOT_SAMPLED) {
+      record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Records a latency measured elsewhere.
+   *
+   * @param nanos the latency in nanoseconds
+   */
+  public void record(final long nanos) {
+    long latency = Math.max(0L, nanos);
+    histogram.incrementAndGet(bucket(latency));
+    samples.incrementAndGet();
+    totalNanos.addAndGet(latency);
+
+    long max = maxNanos.get();
+    while (latency > max && !maxNanos.compareAndSet(max, latency)) {
+      max = maxNanos.get();
+    }
+  }
+
+  /**
+   * Registers this meter in the platform MBean server.
+   *
+   * @return this meter
+   * @throws IllegalStateException if the meter cannot be registered, e.g. because the name is already in use
+   */
+  public synchronized Meter register() {
+    if (objectName != null) return this;
+
+    try {
+      ObjectName candidate = new ObjectName("org.jcommons.functional:type=Meter,name=" + ObjectName.quote(name));
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, candidate);
+      objectName = candidate;
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot register meter " + name, e);
+    }
+    return this;
+  }
+
+  /** Removes this meter from the platform MBean server if it has been registered. */
+  public synchronized void unregister() {
+    if (objectName == null) return;
+
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot unregister meter " + name, e);
+    } finally {
+      objectName = null;
+    }
+  }
+
+  /** {@inheritDoc} */
+  public String getName() {
+    return name;
+  }
+
+  /** {@inheritDoc} */
+  public int getSampleRate() {
+    return sampleMask + 1;
+  }
+
+  /** {@inheritDoc} */
+  public long getInvocations() {
+    return sum(invocations);
+  }
+
+  /** {@inheritDoc} */
+  public long getErrors() {
+    return sum(errors);
+  }
+
+  /** {@inheritDoc} */
+  public long getSamples() {
+    return samples.get();
+  }
+
+  /** {@inheritDoc} */
+  public long getMeanNanos() {
+    long count = samples.get();
+    return count == 0 ? 0L : totalNanos.get() / count;
+  }
+
+  /** {@inheritDoc} */
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  /** {@inheritDoc} */
+  public long getMedianNanos() {
+    return getPercentileNanos(50.0);
+  }
+
+  /** {@inheritDoc} */
+  public long get90thPercentileNanos() {
+    return getPercentileNanos(90.0);
+  }
+
+  /** {@inheritDoc} */
+  public long get99thPercentileNanos() {
+    return getPercentileNanos(99.0);
+  }
+
+  /** {@inheritDoc} */
+  public long get999thPercentileNanos() {
+    return getPercentileNanos(99.9);
+  }
+
+  /**
+   * Approximates the given percentile of the latency of the sampled invocations.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @return the upper bound of the histogram bucket containing the percentile, never more than the maximum latency, 0
+   *         if nothing has been sampled
+   */
+  public long getPercentileNanos(final double percentile) {
+    long[] counts = new long[BUCKETS];
+    long total = 0L;
+    for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+      counts[bucket] = histogram.get(bucket);
+      total += counts[bucket];
+    }
+    if (total == 0L) return 0L;
+
+    long rank = Math.max(1L, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+    long seen = 0L;
+    for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+      seen += counts[bucket];
+      if (seen >= rank) return Math.min(upperBound(bucket), maxNanos.get());
+    }
+    return maxNanos.get();
+  }
+
+  /** {@inheritDoc} */
+  public void reset() {
+    for (int index = 0; index < invocations.length(); ++index) {
+      invocations.set(index, 0L);
+      errors.set(index, 0L);
+    }
+    for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+      histogram.set(bucket, 0L);
+    }
+    samples.set(0L);
+    totalNanos.set(0L);
+    maxNanos.set(0L);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return name + " [invocations=" + getInvocations() + ", errors=" + getErrors() + ", median=" + getMedianNanos()
+        + "ns, 99%=" + get99thPercentileNanos() + "ns, max=" + getMaxNanos() + "ns]";
+  }
+
+  /**
+   * @param nanos a non-negative latency
+   * @return the histogram bucket counting the latency
+   */
+  static int bucket(final long nanos) {
+    if (nanos < LINEAR_BUCKETS) return (int) nanos;
+
+    int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & ((1 << SUB_BUCKET_BITS) - 1);
+    return LINEAR_BUCKETS + ((exponent - 4) << SUB_BUCKET_BITS) + subBucket;
+  }
+
+  /**
+   * @param bucket a histogram bucket
+   * @return the largest latency counted in the bucket
+   */
+  static long upperBound(final int bucket) {
+    if (bucket < LINEAR_BUCKETS) return bucket;
+
+    int exponent = ((bucket - LINEAR_BUCKETS) >>> SUB_BUCKET_BITS) + 4;
+    long subBucket = (bucket - LINEAR_BUCKETS) & ((1 << SUB_BUCKET_BITS) - 1);
+    long width = 1L << (exponent - SUB_BUCKET_BITS);
+    return ((1L << SUB_BUCKET_BITS) + subBucket) * width + width - 1;
+  }
+
+  /** @return the index of the counter used by the current thread */
+  private static int stripe() {
+    return (int) (Thread.currentThread().getId() & (STRIPES - 1)) * STRIDE;
+  }
+
+  /**
+   * @param counters striped counters
+   * @return the sum of all stripes
+   */
+  private static long sum(final AtomicLongArray counters) {
+    long sum = 0L;
+    for (int index = 0; index < counters.length(); index += STRIDE) {
+      sum += counters.get(index);
+    }
+    return sum;
+  }
+
+  /** @return a power of two of at least twice the amount of processors */
+  private static int stripes() {
+    return Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1);
+  }
+}
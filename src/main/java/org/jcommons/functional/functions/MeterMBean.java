@@ -0,0 +1,46 @@
+package org.jcommons.functional.functions;
+
+/**
+ * Management interface of a <code>Meter</code>, so that it can be watched with any JMX console.
+ *
+ * All latencies are measured in nanoseconds on the sampled invocations only. Percentiles are approximated by the upper
+ * bound of their histogram bucket, which is at most 12.5% above the exact value.
+ */
+public interface MeterMBean
+{
+  /** @return the name of the meter */
+  String getName();
+
+  /** @return every how many invocations the latency is measured */
+  int getSampleRate();
+
+  /** @return the amount of invocations so far */
+  long getInvocations();
+
+  /** @return the amount of invocations that threw an exception */
+  long getErrors();
+
+  /** @return the amount of invocations whose latency has been measured */
+  long getSamples();
+
+  /** @return the mean latency of the sampled invocations, 0 if there are none */
+  long getMeanNanos();
+
+  /** @return the maximum latency of the sampled invocations, 0 if there are none */
+  long getMaxNanos();
+
+  /** @return the median latency of the sampled invocations */
+  long getMedianNanos();
+
+  /** @return the 90th percentile of the latency of the sampled invocations */
+  long get90thPercentileNanos();
+
+  /** @return the 99th percentile of the latency of the sampled invocations */
+  long get99thPercentileNanos();
+
+  /** @return the 99.9th percentile of the latency of the sampled invocations */
+  long get999thPercentileNanos();
+
+  /** Starts all counts and measurements from scratch. */
+  void reset();
+}
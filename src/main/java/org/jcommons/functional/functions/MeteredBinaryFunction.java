@@ -0,0 +1,51 @@
+package org.jcommons.functional.functions;
+
+import org.jcommons.functional.function.BinaryFunction;
+
+/**
+ * Counts and times each execution of a binary function in a <code>Meter</code>.
+ *
+ * @param <R> template for the return class
+ * @param <T> template for the object class
+ */
+public class MeteredBinaryFunction<R, T>
+  implements BinaryFunction<R, T>
+{
+  private final BinaryFunction<R, T> function;
+  private final Meter meter;
+
+  /**
+   * Decorates the given function.
+   *
+   * @param function the function to meter
+   * @param meter the meter to record the executions in, may be shared with other decorators
+   */
+  public MeteredBinaryFunction(final BinaryFunction<R, T> function, final Meter meter) {
+    this.function = function;
+    this.meter = meter;
+  }
+
+  /**
+   * Executes the decorated function and records the execution.
+   *
+   * @param argument0 the first argument
+   * @param argument1 the second argument
+   * @return the result of the decorated function
+   */
+  public R execute(final T argument0, final T argument1) {
+    long start = meter.start();
+    boolean success = false;
+    try {
+      R result = function.execute(argument0, argument1);
+      success = true;
+      return result;
+    } finally {
+      meter.stop(start, success);
+    }
+  }
+
+  /** @return the meter recording the executions */
+  public Meter getMeter() {
+    return meter;
+  }
+}
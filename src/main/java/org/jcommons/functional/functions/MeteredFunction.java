@@ -0,0 +1,50 @@
+package org.jcommons.functional.functions;
+
+import org.jcommons.functional.function.UnaryFunction;
+
+/**
+ * Counts and times each execution of a function in a <code>Meter</code>.
+ *
+ * @param <R> template for the return class
+ * @param <T> template for the object class
+ */
+public class MeteredFunction<R, T>
+  implements UnaryFunction<R, T>
+{
+  private final UnaryFunction<R, T> function;
+  private final Meter meter;
+
+  /**
+   * Decorates the given function.
+   *
+   * @param function the function to meter
+   * @param meter the meter to record the executions in, may be shared with other decorators
+   */
+  public MeteredFunction(final UnaryFunction<R, T> function, final Meter meter) {
+    this.function = function;
+    this.meter = meter;
+  }
+
+  /**
+   * Executes the decorated function and records the execution.
+   *
+   * @param argument the argument
+   * @return the result of the decorated function
+   */
+  public R execute(final T argument) {
+    long start = meter.start();
+    boolean success = false;
+    try {
+      R result = function.execute(argument);
+      success = true;
+      return result;
+    } finally {
+      meter.stop(start, success);
+    }
+  }
+
+  /** @return the meter recording the executions */
+  public Meter getMeter() {
+    return meter;
+  }
+}
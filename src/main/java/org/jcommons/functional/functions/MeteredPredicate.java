@@ -0,0 +1,49 @@
+package org.jcommons.functional.functions;
+
+import org.jcommons.functional.predicate.UnaryPredicate;
+
+/**
+ * Counts and times each execution of a predicate in a <code>Meter</code>.
+ *
+ * @param <T> template for the object class
+ */
+public class MeteredPredicate<T>
+  implements UnaryPredicate<T>
+{
+  private final UnaryPredicate<T> predicate;
+  private final Meter meter;
+
+  /**
+   * Decorates the given predicate.
+   *
+   * @param predicate the predicate to meter
+   * @param meter the meter to record the executions in, may be shared with other decorators
+   */
+  public MeteredPredicate(final UnaryPredicate<T> predicate, final Meter meter) {
+    this.predicate = predicate;
+    this.meter = meter;
+  }
+
+  /**
+   * Executes the decorated predicate and records the execution.
+   *
+   * @param argument the argument
+   * @return the result of the decorated predicate
+   */
+  public boolean execute(final T argument) {
+    long start = meter.start();
+    boolean success = false;
+    try {
+      boolean result = predicate.execute(argument);
+      success = true;
+      return result;
+    } finally {
+      meter.stop(start, success);
+    }
+  }
+
+  /** @return the meter recording the executions */
+  public Meter getMeter() {
+    return meter;
+  }
+}
@@ -0,0 +1,24 @@
+package org.jcommons.functional.functions;
+
+import org.jcommons.functional.function.DoubleBinaryFunction;
+
+/**
+ * Sums two primitive double numbers without boxing them.
+ *
+ * Use this instead of <code>DoubleSum</code> when resolving <code>double[]</code> arrays. Floating point addition
+ * rounds and is therefore not associative, so this sum is not tagged as <code>Associative</code>.
+ */
+public class PrimitiveDoubleSum
+  implements DoubleBinaryFunction
+{
+  /**
+   * Sum the given numbers.
+   *
+   * @param numberLeft the 1st number
+   * @param numberRight the 2nd number
+   * @return the sum of the two numbers
+   */
+  public double execute(final double numberLeft, final double numberRight) {
+    return numberLeft + numberRight;
+  }
+}
@@ -0,0 +1,24 @@
+package org.jcommons.functional.functions;
+
+import org.jcommons.functional.function.Associative;
+import org.jcommons.functional.function.IntBinaryFunction;
+
+/**
+ * Sums two primitive int numbers without boxing them.
+ *
+ * Use this instead of <code>IntegerSum</code> when resolving <code>int[]</code> arrays.
+ */
+public class PrimitiveIntegerSum
+  implements IntBinaryFunction, Associative
+{
+  /**
+   * Sum the given numbers.
+   *
+   * @param numberLeft the 1st number
+   * @param numberRight the 2nd number
+   * @return the sum of the two numbers
+   */
+  public int execute(final int numberLeft, final int numberRight) {
+    return numberLeft + numberRight;
+  }
+}
@@ -0,0 +1,24 @@
+package org.jcommons.functional.functions;
+
+import org.jcommons.functional.function.Associative;
+import org.jcommons.functional.function.LongBinaryFunction;
+
+/**
+ * Sums two primitive long numbers without boxing them.
+ *
+ * Use this instead of <code>LongSum</code> when resolving <code>long[]</code> arrays.
+ */
+public class PrimitiveLongSum
+  implements LongBinaryFunction, Associative
+{
+  /**
+   * Sum the given numbers.
+   *
+   * @param numberLeft the 1st number
+   * @param numberRight the 2nd number
+   * @return the sum of the two numbers
+   */
+  public long execute(final long numberLeft, final long numberRight) {
+    return numberLeft + numberRight;
+  }
+}
@@ -0,0 +1,120 @@
+package org.jcommons.functional.index;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.observable.ListListener;
+
+/**
+ * Builds an index lazily and rebuilds it once it has been invalidated or the size of the list has changed.
+ *
+ * The built index is an immutable snapshot replaced as a whole, so lookups need no lock. Register the index as
+ * listener of an <code>ObservableList</code> to invalidate it on every change of the list, including replaced elements.
+ * Each invalidation is counted, and a snapshot is only valid for the count it has been built at, so an invalidation
+ * arriving while the index is built causes it to be built again.
+ *
+ * @param <K> template for the key class
+ * @param <T> template for the object class
+ * @param <S> template for the class of the built index
+ */
+abstract class AbstractIndex<K, T, S>
+  implements Index<K, T>, ListListener<T>
+{
+  final List<T> list;
+  final UnaryFunction<K, T> key;
+
+  /** the amount of invalidations so far */
+  private final AtomicInteger modifications = new AtomicInteger();
+  /** the built index, null if it has never been built */
+  private volatile Snapshot<S> snapshot;
+
+  /**
+   * @param list the list to index
+   * @param key the function retrieving the key of an element
+   */
+  AbstractIndex(final List<T> list, final UnaryFunction<K, T> key) {
+    if (list == null) throw new IllegalArgumentException("list must not be null");
+    if (key == null) throw new IllegalArgumentException("key must not be null");
+
+    this.list = list;
+    this.key = key;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void invalidate() {
+    modifications.incrementAndGet();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void added(final int index, final T item) {
+    invalidate();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void removed(final int index, final T item) {
+    invalidate();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void replaced(final int index, final T oldItem, final T newItem) {
+    invalidate();
+  }
+
+  /** @return true if the index is built and neither invalidated nor the size of the list changed since */
+  public boolean isValid() {
+    return isValid(snapshot);
+  }
+
+  /** @return the index, built again if it is not valid */
+  S snapshot() {
+    Snapshot<S> current = snapshot;
+    if (isValid(current)) return current.index;
+
+    synchronized (this) {
+      current = snapshot;
+      while (!isValid(current)) {
+        int modification = modifications.get();
+        int size = list.size();
+        current = new Snapshot<S>(build(), modification, size);
+        snapshot = current;
+      }
+      return current.index;
+    }
+  }
+
+  /**
+   * @param current a snapshot, may be null
+   * @return true if the snapshot is up to date, otherwise false
+   */
+  private boolean isValid(final Snapshot<S> current) {
+    return current != null && current.modification == modifications.get() && current.size == list.size();
+  }
+
+  /** @return a new index over the current elements of the list */
+  abstract S build();
+
+  /**
+   * A built index together with the state of the list it has been built for.
+   *
+   * @param <S> template for the class of the built index
+   */
+  private static final class Snapshot<S>
+  {
+    final S index;
+    /** the amount of invalidations before the index has been built */
+    final int modification;
+    /** the size of the list when the index has been built */
+    final int size;
+
+    Snapshot(final S index, final int modification, final int size) {
+      this.index = index;
+      this.modification = modification;
+      this.size = size;
+    }
+  }
+}
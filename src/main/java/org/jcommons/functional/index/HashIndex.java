@@ -0,0 +1,86 @@
+package org.jcommons.functional.index;
+
+import java.util.*;
+
+import org.jcommons.functional.function.UnaryFunction;
+
+/**
+ * An index answering lookups of equal keys in constant time.
+ *
+ * The elements found for a key are returned in the order of the list. Keys must implement <code>equals</code> and
+ * <code>hashCode</code>, null is a valid key.
+ *
+ * <pre>
+ * HashIndex&lt;String, Customer&gt; byCity = new HashIndex&lt;String, Customer&gt;(customers, new GetCity());
+ * List&lt;Customer&gt; locals = byCity.get("Hamburg");
+ * </pre>
+ *
+ * @param <K> template for the key class
+ * @param <T> template for the object class
+ */
+public class HashIndex<K, T>
+  extends AbstractIndex<K, T, Map<K, List<T>>>
+{
+  /**
+   * Creates an index, it is built on first use.
+   *
+   * @param list the list to index
+   * @param key the function retrieving the key of an element
+   */
+  public HashIndex(final List<T> list, final UnaryFunction<K, T> key) {
+    super(list, key);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<T> get(final K key) {
+    List<T> result = snapshot().get(key);
+    return result == null ? Collections.<T> emptyList() : result;
+  }
+
+  /**
+   * Retrieves all elements with any of the given keys.
+   *
+   * @param keys the keys looked for
+   * @return the elements with any of the keys, grouped by key in the order of the given keys, empty if the keys are
+   *         null
+   */
+  public List<T> get(final Collection<K> keys) {
+    if (keys == null) return Collections.<T> emptyList();
+
+    Map<K, List<T>> index = snapshot();
+    List<T> result = new ArrayList<T>();
+    for (K each : new LinkedHashSet<K>(keys)) {
+      List<T> found = index.get(each);
+      if (found != null) {
+        result.addAll(found);
+      }
+    }
+    return result;
+  }
+
+  /** @return the distinct keys of all elements */
+  public Set<K> keys() {
+    return Collections.unmodifiableSet(snapshot().keySet());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  Map<K, List<T>> build() {
+    Map<K, List<T>> index = new HashMap<K, List<T>>();
+    for (T item : list) {
+      K itemKey = key.execute(item);
+      List<T> found = index.get(itemKey);
+      if (found == null) {
+        found = new ArrayList<T>(1);
+        index.put(itemKey, found);
+      }
+      found.add(item);
+    }
+
+    for (Map.Entry<K, List<T>> entry : index.entrySet()) {
+      entry.setValue(Collections.unmodifiableList(entry.getValue()));
+    }
+    return index;
+  }
+}
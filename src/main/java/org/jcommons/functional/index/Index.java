@@ -0,0 +1,28 @@
+package org.jcommons.functional.index;
+
+import java.util.List;
+
+/**
+ * An index over the elements of a list by a key, answering lookups without scanning the list.
+ *
+ * An index is built on first use and reused as long as it is valid. It notices that elements have been added or
+ * removed by the changed size of the list, but not that elements have been replaced or modified. Call
+ * <code>invalidate</code> after such changes, so that the index is built again on its next use. The indexes of this
+ * package do so themselves if they are registered as listener of an <code>ObservableList</code>.
+ *
+ * @param <K> template for the key class
+ * @param <T> template for the object class
+ */
+public interface Index<K, T>
+{
+  /**
+   * Retrieves all elements with the given key.
+   *
+   * @param key the key looked for
+   * @return a read-only list of the elements with an equal key, empty if there are none
+   */
+  List<T> get(K key);
+
+  /** Marks the index as outdated, so that it is built again on its next use. */
+  void invalidate();
+}
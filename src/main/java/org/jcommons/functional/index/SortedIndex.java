@@ -0,0 +1,175 @@
+package org.jcommons.functional.index;
+
+import java.util.*;
+
+import org.jcommons.functional.function.UnaryFunction;
+
+/**
+ * An index answering lookups of key ranges in logarithmic time plus the size of the result.
+ *
+ * The elements found are returned in the order of their keys, elements with equal keys in the order of the list.
+ * Elements whose key is null are not indexed.
+ *
+ * <pre>
+ * SortedIndex&lt;Integer, Customer&gt; byAge = new SortedIndex&lt;Integer, Customer&gt;(customers, new GetAge());
+ * List&lt;Customer&gt; twens = byAge.range(20, 30);
+ * </pre>
+ *
+ * @param <K> template for the key class
+ * @param <T> template for the object class
+ */
+public class SortedIndex<K, T>
+  extends AbstractIndex<K, T, SortedIndex.Sorted>
+{
+  private final Comparator<? super K> comparator;
+
+  /**
+   * Creates an index on keys in their natural order, it is built on first use.
+   *
+   * @param list the list to index
+   * @param key the function retrieving the key of an element, the keys must be <code>Comparable</code>
+   */
+  public SortedIndex(final List<T> list, final UnaryFunction<K, T> key) {
+    this(list, key, null);
+  }
+
+  /**
+   * Creates an index, it is built on first use.
+   *
+   * @param list the list to index
+   * @param key the function retrieving the key of an element
+   * @param comparator the order of the keys, the natural order if null
+   */
+  public SortedIndex(final List<T> list, final UnaryFunction<K, T> key, final Comparator<? super K> comparator) {
+    super(list, key);
+    this.comparator = comparator;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<T> get(final K key) {
+    // null keys are not indexed, and a null bound of a range would be unbounded
+    if (key == null) return Collections.emptyList();
+    return range(key, true, key, true);
+  }
+
+  /**
+   * Retrieves all elements with a key in the given range.
+   *
+   * @param from the smallest key to include, unbounded if null
+   * @param to the key after the largest one to include, unbounded if null
+   * @return a read-only list of the elements in the range in the order of their keys
+   */
+  public List<T> range(final K from, final K to) {
+    return range(from, true, to, false);
+  }
+
+  /**
+   * Retrieves all elements with a key in the given range.
+   *
+   * @param from the lower bound of the keys, unbounded if null
+   * @param fromInclusive true if elements with a key equal to the lower bound are included
+   * @param to the upper bound of the keys, unbounded if null
+   * @param toInclusive true if elements with a key equal to the upper bound are included
+   * @return a read-only list of the elements in the range in the order of their keys
+   */
+  @SuppressWarnings("unchecked")
+  public List<T> range(final K from, final boolean fromInclusive, final K to, final boolean toInclusive) {
+    Sorted index = snapshot();
+    int low = from == null ? 0 : search(index.keys, from, !fromInclusive);
+    int high = to == null ? index.keys.length : search(index.keys, to, toInclusive);
+    if (low >= high) return Collections.emptyList();
+
+    return Collections.unmodifiableList((List<T>) Arrays.asList(index.items).subList(low, high));
+  }
+
+  /** @return the element with the smallest key, null if there is none */
+  @SuppressWarnings("unchecked")
+  public T first() {
+    Sorted index = snapshot();
+    return index.items.length == 0 ? null : (T) index.items[0];
+  }
+
+  /** @return the element with the largest key, the last one in the list of those, null if there is none */
+  @SuppressWarnings("unchecked")
+  public T last() {
+    Sorted index = snapshot();
+    return index.items.length == 0 ? null : (T) index.items[index.items.length - 1];
+  }
+
+  /**
+   * Finds the position of a key in the sorted keys.
+   *
+   * @param keys the sorted keys
+   * @param key the key looked for
+   * @param after true for the position after all equal keys, false for the position of the first equal key
+   * @return the position
+   */
+  private int search(final Object[] keys, final K key, final boolean after) {
+    int low = 0;
+    int high = keys.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      int comparison = compare(keys[middle], key);
+      if (comparison < 0 || after && comparison == 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @param left a key
+   * @param right another key
+   * @return the comparison of both keys in the order of this index
+   */
+  @SuppressWarnings("unchecked")
+  private int compare(final Object left, final Object right) {
+    if (comparator == null) return ((Comparable<Object>) left).compareTo(right);
+    return comparator.compare((K) left, (K) right);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  Sorted build() {
+    List<Object[]> pairs = new ArrayList<Object[]>(list.size());
+    for (T item : list) {
+      K itemKey = key.execute(item);
+      if (itemKey != null) {
+        pairs.add(new Object[] {itemKey, item});
+      }
+    }
+
+    // stable, so elements with equal keys keep the order of the list
+    Collections.sort(pairs, new Comparator<Object[]>() {
+      @Override
+      public int compare(final Object[] left, final Object[] right) {
+        return SortedIndex.this.compare(left[0], right[0]);
+      }
+    });
+
+    Sorted index = new Sorted(pairs.size());
+    for (int position = 0; position < index.keys.length; ++position) {
+      index.keys[position] = pairs.get(position)[0];
+      index.items[position] = pairs.get(position)[1];
+    }
+    return index;
+  }
+
+  /** the keys and their elements in the order of the keys */
+  static final class Sorted
+  {
+    private final Object[] keys;
+    private final Object[] items;
+
+    /**
+     * @param size the amount of indexed elements
+     */
+    Sorted(final int size) {
+      keys = new Object[size];
+      items = new Object[size];
+    }
+  }
+}
@@ -0,0 +1,228 @@
+package org.jcommons.functional.io;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.jcommons.functional.function.IntBinaryFunction;
+import org.jcommons.functional.function.IntUnaryFunction;
+import org.jcommons.functional.predicate.IntPredicate;
+
+/**
+ * A file of <code>int</code> records of 4 bytes each that is read directly from memory mapped chunks.
+ *
+ * The functions work like their counterparts on <code>int[]</code> in <code>Functions</code>, but read the records
+ * straight from the mapped file without creating any objects, so files much larger than the heap can be processed.
+ * <code>resolve</code> combines filtering, mapping and reducing in a single pass:
+ *
+ * <pre>
+ * MappedIntSource source = new MappedIntSource(Paths.get("values.bin"));
+ * try {
+ *   int total = source.resolve(new IsPositive(), null, 0, new PrimitiveIntegerSum());
+ * } finally {
+ *   source.close();
+ * }
+ * </pre>
+ *
+ * A source may be read by several threads at the same time.
+ */
+public class MappedIntSource
+  extends MappedSource<int[], IntPredicate, IntUnaryFunction>
+{
+  private final IntBuffer[] buffers;
+
+  /**
+   * Maps the given file of records in big endian byte order, as written by <code>DataOutputStream</code>.
+   *
+   * @param file the file to read
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public MappedIntSource(final Path file) throws IOException {
+    this(file, ByteOrder.BIG_ENDIAN);
+  }
+
+  /**
+   * Maps the given file of records.
+   *
+   * @param file the file to read
+   * @param order the byte order of the records
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public MappedIntSource(final Path file, final ByteOrder order) throws IOException {
+    this(file, order, CHUNK_SIZE);
+  }
+
+  /**
+   * Maps the given file of records in chunks of the given size.
+   *
+   * @param file the file to read
+   * @param order the byte order of the records
+   * @param chunkSize the maximum size of a mapped chunk in bytes
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  MappedIntSource(final Path file, final ByteOrder order, final int chunkSize) throws IOException {
+    super(file, order, 4, chunkSize);
+
+    buffers = new IntBuffer[chunks.length];
+    for (int chunk = 0; chunk < chunks.length; ++chunk) {
+      buffers[chunk] = chunks[chunk].asIntBuffer();
+    }
+  }
+
+  /**
+   * Reads a single record.
+   *
+   * @param index the index of the record
+   * @return the record
+   * @throws IndexOutOfBoundsException if there is no such record
+   */
+  public int get(final long index) {
+    int chunk = chunk(index);
+    return buffers[chunk].get((int) (index - (long) chunk * recordsPerChunk));
+  }
+
+  /**
+   * Eliminates all records until a single value is left over.
+   *
+   * @param function the function to reduce two values to one
+   * @return the single value that is left after reduction of all records. Will be 0 if the file holds no records or no
+   *         function is given.
+   */
+  public int resolve(final IntBinaryFunction function) {
+    if (function == null || size() == 0) return 0;
+
+    int result = buffers[0].get(0);
+    for (int chunk = 0; chunk < buffers.length; ++chunk) {
+      result = resolve(buffers[chunk], chunk == 0 ? 1 : 0, null, null, result, function);
+    }
+    return result;
+  }
+
+  /**
+   * Eliminates all records until a single value is left over.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @return the single value that is left after reduction of all records. Will be the initial value if no function is
+   *         given.
+   */
+  public int resolve(final int initial, final IntBinaryFunction function) {
+    return resolve(null, null, initial, function);
+  }
+
+  /**
+   * Filters, maps and reduces the records in a single pass.
+   *
+   * @param predicate the predicate a record has to meet to be reduced, all records are reduced if null
+   * @param mapping the function to apply on each record meeting the predicate before reducing it, the records are
+   *          reduced as they are if null
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @return the single value that is left after reduction of all matching records. Will be the initial value if no
+   *         function is given.
+   */
+  public int resolve(final IntPredicate predicate, final IntUnaryFunction mapping, final int initial,
+    final IntBinaryFunction function)
+  {
+    if (function == null) return initial;
+
+    int result = initial;
+    for (IntBuffer buffer : buffers) {
+      result = resolve(buffer, 0, predicate, mapping, result, function);
+    }
+    return result;
+  }
+
+  /**
+   * Eliminates all records until a single value is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param function the function to reduce two values to one
+   * @return the single value that is left after reduction of all records. Will be 0 if the file holds no records or no
+   *         function is given.
+   */
+  public int reduce(final IntBinaryFunction function) {
+    return resolve(function);
+  }
+
+  /**
+   * Eliminates all records until a single value is left over.
+   *
+   * Alternative name for <code>resolve</code>.
+   *
+   * @param initial an initial value to start the reduction
+   * @param function the function to reduce two values to one
+   * @return the single value that is left after reduction of all records. Will be the initial value if no function is
+   *         given.
+   */
+  public int reduce(final int initial, final IntBinaryFunction function) {
+    return resolve(null, null, initial, function);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  int find(final int chunk, final int from, final IntPredicate predicate, final boolean wanted) {
+    IntBuffer buffer = buffers[chunk];
+    int index = from;
+    for (int limit = buffer.limit(); index < limit && predicate.execute(buffer.get(index)) != wanted; ++index) {
+      // only searching
+    }
+    return index;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  void copy(final int chunk, final int from, final int to, final int[] target, final int position) {
+    IntBuffer buffer = buffers[chunk].duplicate();
+    buffer.position(from);
+    buffer.get(target, position, to - from);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  void map(final int chunk, final IntUnaryFunction function, final int[] target, final int position) {
+    IntBuffer buffer = buffers[chunk];
+    for (int index = 0, limit = buffer.limit(); index < limit; ++index) {
+      target[position + index] = function.execute(buffer.get(index));
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  int[] newArray(final int length) {
+    return new int[length];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  int[] copyOf(final int[] array, final int length) {
+    return Arrays.copyOf(array, length);
+  }
+
+  /**
+   * Reduces the records of a chunk.
+   *
+   * @param buffer the records of the chunk
+   * @param from the index of the first record to reduce
+   * @param predicate the predicate a record has to meet to be reduced, may be null
+   * @param mapping the function to apply on each record before reducing it, may be null
+   * @param initial the value to start the reduction with
+   * @param function the function to reduce two values to one
+   * @return the reduced value
+   */
+  private static int resolve(final IntBuffer buffer, final int from, final IntPredicate predicate,
+    final IntUnaryFunction mapping, final int initial, final IntBinaryFunction function)
+  {
+    int result = initial;
+    for (int index = from, limit = buffer.limit(); index < limit; ++index) {
+      int item = buffer.get(index);
+      if (predicate == null || predicate.execute(item)) {
+        result = function.execute(result, mapping == null ? item : mapping.execute(item));
+      }
+    }
+    return result;
+  }
+}
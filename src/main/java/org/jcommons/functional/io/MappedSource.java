@@ -0,0 +1,269 @@
+package org.jcommons.functional.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file of fixed-width primitive records mapped into memory for reading.
+ *
+ * A single mapping cannot exceed 2GB, so larger files are mapped in several chunks. Each chunk holds a whole number of
+ * records, the records of a chunk are read through a typed buffer view by the subclasses. The iteration over the
+ * chunks is done in here, the subclasses only provide the loops over the records of a single chunk, so that these
+ * stay free of boxing.
+ *
+ * @param <A> template for the primitive array class
+ * @param <P> template for the primitive predicate class
+ * @param <F> template for the primitive function class
+ */
+abstract class MappedSource<A, P, F>
+  implements Closeable
+{
+  /** the default size of a mapped chunk in bytes, a multiple of all record widths */
+  static final int CHUNK_SIZE = 1 << 30;
+
+  /** the largest amount of elements an array can hold on all common virtual machines */
+  static final int MAXIMUM_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+  private final FileChannel channel;
+  private final long size;
+
+  /** the mapped chunks in file order, none if the file holds no complete record */
+  final ByteBuffer[] chunks;
+
+  /** the amount of records per chunk, all chunks but the last one are full */
+  final int recordsPerChunk;
+
+  /**
+   * Maps the given file.
+   *
+   * @param file the file to read
+   * @param order the byte order of the records
+   * @param width the size of a record in bytes
+   * @param chunkSize the maximum size of a mapped chunk in bytes
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  MappedSource(final Path file, final ByteOrder order, final int width, final int chunkSize) throws IOException {
+    if (chunkSize < width) throw new IllegalArgumentException("chunkSize must hold a record: " + chunkSize);
+
+    channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      // trailing bytes that do not form a complete record are ignored
+      size = channel.size() / width;
+      recordsPerChunk = chunkSize / width;
+
+      chunks = new ByteBuffer[(int) ((size + recordsPerChunk - 1) / recordsPerChunk)];
+      for (int chunk = 0; chunk < chunks.length; ++chunk) {
+        long first = (long) chunk * recordsPerChunk;
+        long records = Math.min(recordsPerChunk, size - first);
+        chunks[chunk] = channel.map(FileChannel.MapMode.READ_ONLY, first * width, records * width).order(order);
+      }
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    } catch (RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /** @return the amount of records in the file */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Closes the file. The mapped memory is released by the garbage collector once this source is no longer referenced.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Applies the given function on each record.
+   *
+   * @param function the function to apply
+   * @return the respective results. Will be empty if no function is defined.
+   * @throws IllegalStateException if the file holds more records than fit into an array
+   */
+  public A map(final F function) {
+    if (function == null) return newArray(0);
+    checkArraySize(size);
+
+    A result = newArray((int) size);
+    for (int chunk = 0; chunk < chunks.length; ++chunk) {
+      map(chunk, function, result, chunk * recordsPerChunk);
+    }
+    return result;
+  }
+
+  /**
+   * Retrieve only those records that meet the given predicate.
+   *
+   * @param predicate the predicate to apply
+   * @return the records that meet the predicate. If no predicate is defined, all records will be returned.
+   * @throws IllegalStateException if the matching records do not fit into an array
+   */
+  public A filter(final P predicate) {
+    if (predicate == null) {
+      checkArraySize(size);
+      A result = newArray((int) size);
+      for (int chunk = 0; chunk < chunks.length; ++chunk) {
+        copy(chunk, 0, records(chunk), result, chunk * recordsPerChunk);
+      }
+      return result;
+    }
+
+    int capacity = (int) Math.min(size, 1024);
+    A result = newArray(capacity);
+    int count = 0;
+    for (int chunk = 0; chunk < chunks.length; ++chunk) {
+      int limit = records(chunk);
+      int start = find(chunk, 0, predicate, true);
+      while (start < limit) {
+        // copy each run of matching records at once
+        int end = find(chunk, start + 1, predicate, false);
+        int needed = count + end - start;
+        if (needed > capacity) {
+          checkArraySize((long) count + end - start);
+          capacity = (int) Math.min(MAXIMUM_ARRAY_SIZE, Math.max(needed, 2L * capacity));
+          result = copyOf(result, capacity);
+        }
+        copy(chunk, start, end, result, count);
+        count = needed;
+        start = end < limit ? find(chunk, end + 1, predicate, true) : limit;
+      }
+    }
+    return count == capacity ? result : copyOf(result, count);
+  }
+
+  /**
+   * Counts the records that meet the given predicate.
+   *
+   * @param predicate the predicate to apply
+   * @return the amount of records that meet the predicate, all records if no predicate is defined
+   */
+  public long count(final P predicate) {
+    if (predicate == null) return size;
+
+    long count = 0;
+    for (int chunk = 0; chunk < chunks.length; ++chunk) {
+      int limit = records(chunk);
+      int index = find(chunk, 0, predicate, true);
+      while (index < limit) {
+        ++count;
+        index = find(chunk, index + 1, predicate, true);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Determines if at least one record fits the predicate, stops reading at the first match.
+   *
+   * @param predicate the predicate to apply
+   * @return true if at least one record meets the predicate, otherwise false
+   */
+  public boolean some(final P predicate) {
+    if (predicate == null) return false;
+
+    for (int chunk = 0; chunk < chunks.length; ++chunk) {
+      if (find(chunk, 0, predicate, true) < records(chunk)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Determine if every record fits the predicate, stops reading at the first mismatch.
+   *
+   * @param predicate the predicate to apply
+   * @return true if all records meet the predicate, otherwise false
+   */
+  public boolean every(final P predicate) {
+    if (predicate == null) return false;
+
+    for (int chunk = 0; chunk < chunks.length; ++chunk) {
+      if (find(chunk, 0, predicate, false) < records(chunk)) return false;
+    }
+    return true;
+  }
+
+  /**
+   * @param chunk the index of a chunk
+   * @return the amount of records in the chunk
+   */
+  int records(final int chunk) {
+    return (int) Math.min(recordsPerChunk, size - (long) chunk * recordsPerChunk);
+  }
+
+  /**
+   * Searches the records of a chunk for the first one the predicate gives the wanted result for.
+   *
+   * @param chunk the index of the chunk
+   * @param from the index in the chunk to start at, at most the amount of records in the chunk
+   * @param predicate the predicate to apply
+   * @param wanted the result looked for
+   * @return the index in the chunk of the record found, the amount of records in the chunk if there is none
+   */
+  abstract int find(int chunk, int from, P predicate, boolean wanted);
+
+  /**
+   * Copies records of a chunk into an array.
+   *
+   * @param chunk the index of the chunk
+   * @param from the index in the chunk of the first record to copy
+   * @param to the index in the chunk after the last record to copy
+   * @param target the array to copy to
+   * @param position the position in the array of the first record
+   */
+  abstract void copy(int chunk, int from, int to, A target, int position);
+
+  /**
+   * Applies a function on all records of a chunk.
+   *
+   * @param chunk the index of the chunk
+   * @param function the function to apply
+   * @param target the array to store the results in
+   * @param position the position in the array of the first result
+   */
+  abstract void map(int chunk, F function, A target, int position);
+
+  /**
+   * @param length the length of the array
+   * @return a new array
+   */
+  abstract A newArray(int length);
+
+  /**
+   * @param array the array to copy
+   * @param length the length of the copy
+   * @return a copy of the array, truncated or padded with zeros
+   */
+  abstract A copyOf(A array, int length);
+
+  /**
+   * @param index the index of a record
+   * @return the index of the chunk holding the record
+   */
+  int chunk(final long index) {
+    if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+    return (int) (index / recordsPerChunk);
+  }
+
+  /**
+   * @param count the amount of records to copy into an array
+   * @throws IllegalStateException if the records do not fit into an array
+   */
+  static void checkArraySize(final long count) {
+    if (count > MAXIMUM_ARRAY_SIZE) {
+      throw new IllegalStateException(count + " records do not fit into an array, use resolve instead");
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package org.jcommons.functional.observable;
+
+import java.util.*;
+
+/**
+ * A list that tells its listeners about every change.
+ *
+ * @param <T> template for the object class
+ */
+public abstract class AbstractObservableList<T>
+  extends AbstractList<T>
+  implements RandomAccess
+{
+  private final List<ListListener<? super T>> listeners = new ArrayList<ListListener<? super T>>(1);
+
+  /** only the lists of this package are observable */
+  AbstractObservableList() {
+  }
+
+  /**
+   * Registers a listener that is told about all following changes.
+   *
+   * @param listener the listener to add
+   */
+  public void addListener(final ListListener<? super T> listener) {
+    if (listener == null) throw new IllegalArgumentException("listener must not be null");
+    listeners.add(listener);
+  }
+
+  /**
+   * Unregisters a listener.
+   *
+   * @param listener the listener to remove
+   */
+  public void removeListener(final ListListener<? super T> listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * @param index the index of the new element
+   * @param item the new element
+   */
+  void fireAdded(final int index, final T item) {
+    ++modCount;
+    for (ListListener<? super T> listener : listeners) {
+      listener.added(index, item);
+    }
+  }
+
+  /**
+   * @param index the index the element had
+   * @param item the removed element
+   */
+  void fireRemoved(final int index, final T item) {
+    ++modCount;
+    for (ListListener<? super T> listener : listeners) {
+      listener.removed(index, item);
+    }
+  }
+
+  /**
+   * @param index the index of the element
+   * @param oldItem the element before
+   * @param newItem the element now
+   */
+  void fireReplaced(final int index, final T oldItem, final T newItem) {
+    for (ListListener<? super T> listener : listeners) {
+      listener.replaced(index, oldItem, newItem);
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package org.jcommons.functional.observable;
+
+
+import org.jcommons.functional.predicate.UnaryPredicate;
+
+/**
+ * A read-only list of the elements of an observable list that meet a predicate, kept up to date.
+ *
+ * Unlike <code>Functions.filter</code> the list is not filtered again when the source changes, only the predicate is
+ * evaluated on each inserted or replaced element. Whether each element of the source matches is kept in a balanced
+ * tree that counts the elements and matches below each node, so inserting, removing or replacing an element of the
+ * source as well as reading an element of the filtered list costs logarithmic time. The filtered list is observable
+ * itself, so it can be the source of further mapped or filtered lists.
+ *
+ * @param <T> template for the object class
+ */
+public class FilteredList<T>
+  extends AbstractObservableList<T>
+  implements ListListener<T>
+{
+  private final AbstractObservableList<T> source;
+  private final UnaryPredicate<T> predicate;
+
+  /** one node per element of the source in the order of the source, null if the source is empty */
+  private Node root;
+  /** the state of the generator of the node priorities */
+  private int seed = 0x2545F491;
+
+  /**
+   * Filters all elements of the source and follows its changes from now on.
+   *
+   * @param source the list to filter
+   * @param predicate the predicate to apply
+   */
+  public FilteredList(final AbstractObservableList<T> source, final UnaryPredicate<T> predicate) {
+    if (source == null) throw new IllegalArgumentException("source must not be null");
+    if (predicate == null) throw new IllegalArgumentException("predicate must not be null");
+
+    this.source = source;
+    this.predicate = predicate;
+    for (int index = 0, length = source.size(); index < length; ++index) {
+      root = merge(root, new Node(predicate.execute(source.get(index)), nextPriority()));
+    }
+    source.addListener(this);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public T get(final int index) {
+    return source.get(sourceIndex(index));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int size() {
+    return matches(root);
+  }
+
+  /**
+   * @param index the index of an element of this list
+   * @return the index of the element in the source
+   */
+  public int sourceIndex(final int index) {
+    int size = size();
+    if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+    int result = 0;
+    int remaining = index;
+    Node node = root;
+    while (true) {
+      int before = matches(node.left);
+      if (remaining < before) {
+        node = node.left;
+      } else if (remaining == before && node.match) {
+        return result + count(node.left);
+      } else {
+        remaining -= before + (node.match ? 1 : 0);
+        result += count(node.left) + 1;
+        node = node.right;
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void added(final int index, final T item) {
+    boolean matches = predicate.execute(item);
+    Node[] parts = split(root, index);
+    int position = matches(parts[0]);
+    root = merge(merge(parts[0], new Node(matches, nextPriority())), parts[1]);
+
+    if (matches) {
+      fireAdded(position, item);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void removed(final int index, final T item) {
+    Node[] parts = split(root, index);
+    Node[] rest = split(parts[1], 1);
+    int position = matches(parts[0]);
+    boolean matched = rest[0].match;
+    root = merge(parts[0], rest[1]);
+
+    if (matched) {
+      fireRemoved(position, item);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void replaced(final int index, final T oldItem, final T newItem) {
+    Node[] parts = split(root, index);
+    Node[] rest = split(parts[1], 1);
+    int position = matches(parts[0]);
+    boolean matched = rest[0].match;
+    boolean matches = predicate.execute(newItem);
+    rest[0].match = matches;
+    rest[0].update();
+    root = merge(parts[0], merge(rest[0], rest[1]));
+
+    if (matched && matches) {
+      fireReplaced(position, oldItem, newItem);
+    } else if (matched) {
+      fireRemoved(position, oldItem);
+    } else if (matches) {
+      fireAdded(position, newItem);
+    }
+  }
+
+  /** @return a pseudo random priority, a xorshift generator is enough to keep the tree balanced */
+  private int nextPriority() {
+    seed ^= seed << 13;
+    seed ^= seed >>> 17;
+    seed ^= seed << 5;
+    return seed;
+  }
+
+  /**
+   * @param node a subtree, may be null
+   * @return the amount of elements in the subtree
+   */
+  private static int count(final Node node) {
+    return node == null ? 0 : node.count;
+  }
+
+  /**
+   * @param node a subtree, may be null
+   * @return the amount of matching elements in the subtree
+   */
+  private static int matches(final Node node) {
+    return node == null ? 0 : node.matches;
+  }
+
+  /**
+   * Splits a subtree by position.
+   *
+   * @param node the subtree to split, may be null
+   * @param count the amount of elements to put into the first part
+   * @return the first <code>count</code> elements and the remaining ones, each may be null
+   */
+  private static Node[] split(final Node node, final int count) {
+    if (node == null) return new Node[2];
+
+    Node[] parts;
+    if (count <= count(node.left)) {
+      parts = split(node.left, count);
+      node.left = parts[1];
+      parts[1] = node;
+    } else {
+      parts = split(node.right, count - count(node.left) - 1);
+      node.right = parts[0];
+      parts[0] = node;
+    }
+    node.update();
+    return parts;
+  }
+
+  /**
+   * Joins two subtrees.
+   *
+   * @param left the elements to put first, may be null
+   * @param right the elements to put last, may be null
+   * @return the joined subtree
+   */
+  private static Node merge(final Node left, final Node right) {
+    if (left == null) return right;
+    if (right == null) return left;
+
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      left.update();
+      return left;
+    }
+    right.left = merge(left, right.left);
+    right.update();
+    return right;
+  }
+
+  /** an element of the source in a tree ordered by position and heap ordered by priority */
+  private static final class Node
+  {
+    private final int priority;
+    private boolean match;
+    private Node left;
+    private Node right;
+    /** the amount of elements in this subtree */
+    private int count;
+    /** the amount of matching elements in this subtree */
+    private int matches;
+
+    /**
+     * @param match true if the element meets the predicate
+     * @param priority the random priority that keeps the tree balanced
+     */
+    Node(final boolean match, final int priority) {
+      this.match = match;
+      this.priority = priority;
+      update();
+    }
+
+    /** recounts this subtree from its children */
+    void update() {
+      count = count(left) + 1 + count(right);
+      matches = matches(left) + (match ? 1 : 0) + matches(right);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package org.jcommons.functional.observable;
+
+/**
+ * Receives the changes of an observable list, one element at a time, right after the list has been changed.
+ *
+ * @param <T> template for the object class
+ */
+public interface ListListener<T>
+{
+  /**
+   * An element has been inserted.
+   *
+   * @param index the index of the new element
+   * @param item the new element
+   */
+  void added(int index, T item);
+
+  /**
+   * An element has been removed.
+   *
+   * @param index the index the element had
+   * @param item the removed element
+   */
+  void removed(int index, T item);
+
+  /**
+   * An element has been replaced.
+   *
+   * @param index the index of the element
+   * @param oldItem the element before
+   * @param newItem the element now
+   */
+  void replaced(int index, T oldItem, T newItem);
+}
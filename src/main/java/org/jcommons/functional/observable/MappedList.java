@@ -0,0 +1,74 @@
+package org.jcommons.functional.observable;
+
+import java.util.ArrayList;
+
+import org.jcommons.functional.function.UnaryFunction;
+
+/**
+ * A read-only list of the results of a function on each element of an observable list, kept up to date.
+ *
+ * Unlike <code>Functions.map</code> the results are not computed again when the source changes, only the function is
+ * executed on each inserted or replaced element. The mapped list is observable itself, so it can be the source of
+ * further mapped or filtered lists.
+ *
+ * @param <R> template for the return class
+ * @param <T> template for the object class
+ */
+public class MappedList<R, T>
+  extends AbstractObservableList<R>
+  implements ListListener<T>
+{
+  private final UnaryFunction<R, T> function;
+  private final ArrayList<R> results;
+
+  /**
+   * Maps all elements of the source and follows its changes from now on.
+   *
+   * @param source the list to map
+   * @param function the function to apply
+   */
+  public MappedList(final AbstractObservableList<T> source, final UnaryFunction<R, T> function) {
+    if (source == null) throw new IllegalArgumentException("source must not be null");
+    if (function == null) throw new IllegalArgumentException("function must not be null");
+
+    this.function = function;
+    results = new ArrayList<R>(source.size());
+    for (int index = 0, size = source.size(); index < size; ++index) {
+      results.add(function.execute(source.get(index)));
+    }
+    source.addListener(this);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public R get(final int index) {
+    return results.get(index);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int size() {
+    return results.size();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void added(final int index, final T item) {
+    R result = function.execute(item);
+    results.add(index, result);
+    fireAdded(index, result);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void removed(final int index, final T item) {
+    fireRemoved(index, results.remove(index));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void replaced(final int index, final T oldItem, final T newItem) {
+    R result = function.execute(newItem);
+    fireReplaced(index, results.set(index, result), result);
+  }
+}
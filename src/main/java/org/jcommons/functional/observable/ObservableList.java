@@ -0,0 +1,81 @@
+package org.jcommons.functional.observable;
+
+import java.util.*;
+
+/**
+ * A modifiable list that tells its listeners about every change, the source of mapped and filtered lists.
+ *
+ * <pre>
+ * ObservableList&lt;Order&gt; orders = new ObservableList&lt;Order&gt;(loadOrders());
+ * FilteredList&lt;Order&gt; open = new FilteredList&lt;Order&gt;(orders, new IsOpen());
+ * MappedList&lt;Money, Order&gt; totals = new MappedList&lt;Money, Order&gt;(open, new GetTotal());
+ * orders.set(42, closed); // removes the order from open and its total from totals
+ * </pre>
+ *
+ * Bulk changes are told element by element. Like <code>ArrayList</code> this list is not thread safe.
+ *
+ * @param <T> template for the object class
+ */
+public class ObservableList<T>
+  extends AbstractObservableList<T>
+{
+  private final ArrayList<T> elements;
+
+  /** Creates an empty list. */
+  public ObservableList() {
+    elements = new ArrayList<T>();
+  }
+
+  /**
+   * Creates a list with the given elements.
+   *
+   * @param elements the initial elements, copied
+   */
+  public ObservableList(final Collection<? extends T> elements) {
+    this.elements = new ArrayList<T>(elements);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public T get(final int index) {
+    return elements.get(index);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int size() {
+    return elements.size();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void add(final int index, final T item) {
+    elements.add(index, item);
+    fireAdded(index, item);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public T remove(final int index) {
+    T item = elements.remove(index);
+    fireRemoved(index, item);
+    return item;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public T set(final int index, final T item) {
+    T oldItem = elements.set(index, item);
+    fireReplaced(index, oldItem, item);
+    return oldItem;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected void removeRange(final int fromIndex, final int toIndex) {
+    // from the end, so that no element has to be moved
+    for (int index = toIndex - 1; index >= fromIndex; --index) {
+      remove(index);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package org.jcommons.functional.predicate;
+
+/**
+ * A predicate that accepts a single primitive <code>int</code> argument.
+ *
+ * This is the boxing free counterpart of <code>UnaryPredicate&lt;Integer&gt;</code>.
+ */
+public interface IntPredicate
+  extends Predicate
+{
+  /**
+   * Executes the predicate with the given argument.
+   *
+   * @param argument the argument
+   * @return true, if the predicate evaluates correctly; otherwise false
+   */
+  boolean execute(int argument);
+}
@@ -0,0 +1,18 @@
+package org.jcommons.functional.predicate;
+
+/**
+ * A predicate that accepts a single primitive <code>long</code> argument.
+ *
+ * This is the boxing free counterpart of <code>UnaryPredicate&lt;Long&gt;</code>.
+ */
+public interface LongPredicate
+  extends Predicate
+{
+  /**
+   * Executes the predicate with the given argument.
+   *
+   * @param argument the argument
+   * @return true, if the predicate evaluates correctly; otherwise false
+   */
+  boolean execute(long argument);
+}
@@ -0,0 +1,138 @@
+package org.jcommons.functional.window;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.jcommons.functional.function.BinaryFunction;
+
+/**
+ * Combines the values of a stream received within a given time, the window moves with the time.
+ *
+ * Values are dropped as soon as they are older than the duration of the window when a value is added or the result is
+ * read. Each value is added and dropped once in amortized constant time, as in <code>SlidingWindow</code>.
+ *
+ * Times are taken from <code>System.nanoTime</code> unless given explicitly, explicit times are in nanoseconds as well
+ * and must not go backwards. The function must be associative. All methods are synchronized, so a window can be shared
+ * between threads.
+ *
+ * @param <T> template for the object class
+ */
+public class SlidingTimeWindow<T>
+{
+  private final WindowAggregate<T> aggregate;
+  private final long durationNanos;
+
+  /** the times of the values in the window as ring buffer, the oldest at head */
+  private long[] times = new long[16];
+  private int head;
+  /** the latest time seen */
+  private long now;
+  private boolean started;
+
+  /**
+   * Creates an empty window.
+   *
+   * @param function the associative function combining the values
+   * @param duration the time a value stays in the window
+   * @param unit the unit of the duration
+   */
+  public SlidingTimeWindow(final BinaryFunction<T, T> function, final long duration, final TimeUnit unit) {
+    if (duration <= 0) throw new IllegalArgumentException("duration must be positive: " + duration);
+
+    this.aggregate = WindowAggregate.of(function);
+    this.durationNanos = unit.toNanos(duration);
+  }
+
+  /**
+   * Adds a value received now.
+   *
+   * @param value the value to add
+   * @return the combined result of all values in the window, including the given one
+   */
+  public synchronized T add(final T value) {
+    return add(System.nanoTime(), value);
+  }
+
+  /**
+   * Adds a value received at the given time.
+   *
+   * @param time the time the value was received in nanoseconds
+   * @param value the value to add
+   * @return the combined result of all values in the window at the given time, including the given one
+   */
+  public synchronized T add(final long time, final T value) {
+    expire(time);
+
+    int size = aggregate.size();
+    if (size == times.length) {
+      long[] buffer = new long[size * 2];
+      for (int index = 0; index < size; ++index) {
+        buffer[index] = times[(head + index) % times.length];
+      }
+      times = buffer;
+      head = 0;
+    }
+    times[(head + size) % times.length] = time;
+    aggregate.push(value);
+    return aggregate.get();
+  }
+
+  /** @return the combined result of all values in the window now, null if the window is empty */
+  public synchronized T get() {
+    return get(System.nanoTime());
+  }
+
+  /**
+   * @param time the time in nanoseconds
+   * @return the combined result of all values in the window at the given time, null if the window is empty
+   */
+  public synchronized T get(final long time) {
+    expire(time);
+    return aggregate.get();
+  }
+
+  /** @return the amount of values in the window now */
+  public synchronized int size() {
+    return size(System.nanoTime());
+  }
+
+  /**
+   * @param time the time in nanoseconds
+   * @return the amount of values in the window at the given time
+   */
+  public synchronized int size(final long time) {
+    expire(time);
+    return aggregate.size();
+  }
+
+  /** @return the time a value stays in the window in nanoseconds */
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /** Removes all values. */
+  public synchronized void clear() {
+    aggregate.clear();
+    Arrays.fill(times, 0L);
+    head = 0;
+  }
+
+  /**
+   * Drops all values that are too old at the given time.
+   *
+   * @param time the time in nanoseconds
+   */
+  private void expire(final long time) {
+    // compare by difference, as the nano time may overflow
+    if (started && time - now < 0L) {
+      throw new IllegalArgumentException("time must not go backwards: " + time + " is before " + now);
+    }
+    now = time;
+    started = true;
+
+    while (aggregate.size() > 0 && time - times[head] >= durationNanos) {
+      aggregate.pop();
+      head = (head + 1) % times.length;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package org.jcommons.functional.window;
+
+import org.jcommons.functional.function.BinaryFunction;
+
+/**
+ * Combines the most recent values of a stream, the window moves by one value with each value added.
+ *
+ * The result is maintained incrementally in amortized constant time per value instead of combining all values of the
+ * window again. Functions like <code>IntegerSum</code> that implement <code>Invertible</code> keep a running result,
+ * other functions like <code>Minimum</code> or <code>DoubleSum</code> keep partial results of the window, which takes
+ * twice the memory.
+ *
+ * The function must be associative. All methods are synchronized, so a window can be shared between threads.
+ *
+ * @param <T> template for the object class
+ */
+public class SlidingWindow<T>
+{
+  private final WindowAggregate<T> aggregate;
+  private final int capacity;
+
+  /**
+   * Creates an empty window.
+   *
+   * @param function the associative function combining the values
+   * @param capacity the maximum amount of values in the window
+   */
+  public SlidingWindow(final BinaryFunction<T, T> function, final int capacity) {
+    if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+
+    this.aggregate = WindowAggregate.of(function);
+    this.capacity = capacity;
+  }
+
+  /**
+   * Adds a value, drops the oldest value if the window is full.
+   *
+   * @param value the value to add
+   * @return the combined result of all values in the window, including the given one
+   */
+  public synchronized T add(final T value) {
+    aggregate.push(value);
+    if (aggregate.size() > capacity) aggregate.pop();
+    return aggregate.get();
+  }
+
+  /** @return the combined result of all values in the window, null if the window is empty */
+  public synchronized T get() {
+    return aggregate.get();
+  }
+
+  /** @return the amount of values in the window */
+  public synchronized int size() {
+    return aggregate.size();
+  }
+
+  /** @return the maximum amount of values in the window */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /** Removes all values. */
+  public synchronized void clear() {
+    aggregate.clear();
+  }
+}
@@ -0,0 +1,135 @@
+package org.jcommons.functional.window;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jcommons.functional.function.BinaryFunction;
+
+/**
+ * Combines the values of a stream in consecutive windows of a fixed duration that do not overlap.
+ *
+ * The windows are aligned to multiples of the duration, a window starts at the first time that is a multiple of the
+ * duration and ends right before the next one. Only the running results of the current and the previous window are
+ * kept, so any associative function takes constant time and memory.
+ *
+ * Times are taken from <code>System.nanoTime</code> unless given explicitly, explicit times are in nanoseconds as well
+ * and must not go backwards. All methods are synchronized, so a window can be shared between threads.
+ *
+ * @param <T> template for the object class
+ */
+public class TumblingTimeWindow<T>
+{
+  private final BinaryFunction<T, T> function;
+  private final long durationNanos;
+
+  /** the start of the current window */
+  private long start;
+  private boolean started;
+  /** the latest time seen */
+  private long now;
+
+  private T current;
+  private int size;
+  private T previous;
+
+  /**
+   * Creates an empty window.
+   *
+   * @param function the associative function combining the values
+   * @param duration the duration of each window
+   * @param unit the unit of the duration
+   */
+  public TumblingTimeWindow(final BinaryFunction<T, T> function, final long duration, final TimeUnit unit) {
+    if (function == null) throw new IllegalArgumentException("function must not be null");
+    if (duration <= 0) throw new IllegalArgumentException("duration must be positive: " + duration);
+
+    this.function = function;
+    this.durationNanos = unit.toNanos(duration);
+  }
+
+  /**
+   * Adds a value received now.
+   *
+   * @param value the value to add
+   * @return the combined result of the values in the current window so far, including the given one
+   */
+  public synchronized T add(final T value) {
+    return add(System.nanoTime(), value);
+  }
+
+  /**
+   * Adds a value received at the given time.
+   *
+   * @param time the time the value was received in nanoseconds
+   * @param value the value to add
+   * @return the combined result of the values in the window of the given time so far, including the given one
+   */
+  public synchronized T add(final long time, final T value) {
+    advance(time);
+    current = size++ == 0 ? value : function.execute(current, value);
+    return current;
+  }
+
+  /** @return the combined result of the values in the current window so far, null if it is empty */
+  public synchronized T get() {
+    return get(System.nanoTime());
+  }
+
+  /**
+   * @param time the time in nanoseconds
+   * @return the combined result of the values in the window of the given time so far, null if it is empty
+   */
+  public synchronized T get(final long time) {
+    advance(time);
+    return current;
+  }
+
+  /** @return the combined result of the window right before the current one, null if it was empty */
+  public synchronized T getPrevious() {
+    return getPrevious(System.nanoTime());
+  }
+
+  /**
+   * @param time the time in nanoseconds
+   * @return the combined result of the window right before the one of the given time, null if it was empty
+   */
+  public synchronized T getPrevious(final long time) {
+    advance(time);
+    return previous;
+  }
+
+  /** @return the duration of each window in nanoseconds */
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /** Removes all values, including the result of the previous window. */
+  public synchronized void clear() {
+    current = null;
+    size = 0;
+    previous = null;
+  }
+
+  /**
+   * Moves on to the window of the given time.
+   *
+   * @param time the time in nanoseconds
+   */
+  private void advance(final long time) {
+    // compare by difference, as the nano time may overflow
+    if (started && time - now < 0L) {
+      throw new IllegalArgumentException("time must not go backwards: " + time + " is before " + now);
+    }
+    now = time;
+
+    long offset = time % durationNanos;
+    long windowStart = time - (offset < 0L ? offset + durationNanos : offset);
+    if (started && windowStart == start) return;
+
+    // a gap of more than one window leaves the previous window empty
+    previous = started && windowStart - start == durationNanos ? current : null;
+    current = null;
+    size = 0;
+    start = windowStart;
+    started = true;
+  }
+}
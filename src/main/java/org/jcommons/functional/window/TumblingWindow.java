@@ -0,0 +1,78 @@
+package org.jcommons.functional.window;
+
+import org.jcommons.functional.function.BinaryFunction;
+
+/**
+ * Combines the values of a stream in consecutive windows of a fixed amount of values that do not overlap.
+ *
+ * Only the running result of the current window is kept, so any associative function takes constant time and memory.
+ * All methods are synchronized, so a window can be shared between threads.
+ *
+ * @param <T> template for the object class
+ */
+public class TumblingWindow<T>
+{
+  private final BinaryFunction<T, T> function;
+  private final int capacity;
+
+  private T current;
+  private int size;
+  private T previous;
+
+  /**
+   * Creates an empty window.
+   *
+   * @param function the associative function combining the values
+   * @param capacity the amount of values in each window
+   */
+  public TumblingWindow(final BinaryFunction<T, T> function, final int capacity) {
+    if (function == null) throw new IllegalArgumentException("function must not be null");
+    if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+
+    this.function = function;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Adds a value to the current window, the next value starts a new window if it is full.
+   *
+   * @param value the value to add
+   * @return the combined result of the window completed by the given value, null if it is not complete yet
+   */
+  public synchronized T add(final T value) {
+    current = size++ == 0 ? value : function.execute(current, value);
+    if (size < capacity) return null;
+
+    previous = current;
+    current = null;
+    size = 0;
+    return previous;
+  }
+
+  /** @return the combined result of the values in the current window so far, null if it is empty */
+  public synchronized T get() {
+    return current;
+  }
+
+  /** @return the combined result of the window completed last, null if there is none */
+  public synchronized T getPrevious() {
+    return previous;
+  }
+
+  /** @return the amount of values in the current window */
+  public synchronized int size() {
+    return size;
+  }
+
+  /** @return the amount of values in each window */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /** Removes all values, including the result of the window completed last. */
+  public synchronized void clear() {
+    current = null;
+    size = 0;
+    previous = null;
+  }
+}
@@ -0,0 +1,210 @@
+package org.jcommons.functional.window;
+
+import java.util.Arrays;
+
+import org.jcommons.functional.function.BinaryFunction;
+import org.jcommons.functional.function.Invertible;
+
+/**
+ * The combined result of the values in a window, values are added as newest and removed as oldest.
+ *
+ * Both operations take amortized constant time. Invertible functions keep a running result and remove the oldest value
+ * by their inverse. Other functions like a minimum keep two stacks: new values are pushed on the back stack with its
+ * running result, the front stack holds the older values with the results of each value and all values newer than it
+ * on the front stack. Once the front stack is empty, the back stack is moved over in one go.
+ *
+ * @param <T> template for the object class
+ */
+abstract class WindowAggregate<T>
+{
+  /** initial capacity of the buffers */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * Creates the aggregate suited best for the given function.
+   *
+   * @param function the associative function combining the values
+   * @param <T> template for the object class
+   * @return the aggregate of an empty window
+   */
+  @SuppressWarnings("unchecked")
+  static <T> WindowAggregate<T> of(final BinaryFunction<T, T> function) {
+    if (function == null) throw new IllegalArgumentException("function must not be null");
+    if (function instanceof Invertible) return new Subtracting<T>(function, (Invertible<T>) function);
+    return new TwoStacks<T>(function);
+  }
+
+  /**
+   * Adds the newest value.
+   *
+   * @param value the value to add
+   */
+  abstract void push(T value);
+
+  /** Removes the oldest value, the window must not be empty. */
+  abstract void pop();
+
+  /** @return the combined result of all values, null if the window is empty */
+  abstract T get();
+
+  /** @return the amount of values in the window */
+  abstract int size();
+
+  /** Removes all values. */
+  abstract void clear();
+
+  /**
+   * @param buffer the buffer to grow
+   * @param size the amount of elements in the buffer
+   * @return a larger buffer, the elements have been copied in order
+   */
+  private static Object[] grow(final Object[] buffer, final int size) {
+    return Arrays.copyOf(buffer, Math.max(INITIAL_CAPACITY, size * 2));
+  }
+
+  /** keeps a running result and removes values by the inverse of the function */
+  private static final class Subtracting<T>
+    extends WindowAggregate<T>
+  {
+    private final BinaryFunction<T, T> function;
+    private final Invertible<T> inverse;
+
+    /** the values as ring buffer, the oldest at head */
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    private T result;
+
+    /**
+     * @param function the function combining the values
+     * @param inverse the inverse of the function
+     */
+    Subtracting(final BinaryFunction<T, T> function, final Invertible<T> inverse) {
+      this.function = function;
+      this.inverse = inverse;
+    }
+
+    @Override
+    void push(final T value) {
+      if (size == values.length) {
+        Object[] buffer = new Object[size * 2];
+        for (int index = 0; index < size; ++index) {
+          buffer[index] = values[(head + index) % values.length];
+        }
+        values = buffer;
+        head = 0;
+      }
+      values[(head + size) % values.length] = value;
+      result = size++ == 0 ? value : function.execute(result, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void pop() {
+      T value = (T) values[head];
+      values[head] = null;
+      head = (head + 1) % values.length;
+      result = --size == 0 ? null : inverse.inverse(result, value);
+    }
+
+    @Override
+    T get() {
+      return result;
+    }
+
+    @Override
+    int size() {
+      return size;
+    }
+
+    @Override
+    void clear() {
+      Arrays.fill(values, null);
+      head = 0;
+      size = 0;
+      result = null;
+    }
+  }
+
+  /** keeps the values on two stacks with partial results, for functions without inverse */
+  private static final class TwoStacks<T>
+    extends WindowAggregate<T>
+  {
+    private final BinaryFunction<T, T> function;
+
+    /** the older values, the oldest on top */
+    private Object[] front = new Object[INITIAL_CAPACITY];
+    /** the result of each value on the front stack and all values below it */
+    private Object[] results = new Object[INITIAL_CAPACITY];
+    private int frontSize;
+
+    /** the newer values, the newest on top */
+    private Object[] back = new Object[INITIAL_CAPACITY];
+    private int backSize;
+    /** the result of all values on the back stack */
+    private T backResult;
+
+    /**
+     * @param function the associative function combining the values
+     */
+    TwoStacks(final BinaryFunction<T, T> function) {
+      this.function = function;
+    }
+
+    @Override
+    void push(final T value) {
+      if (backSize == back.length) back = grow(back, backSize);
+      back[backSize] = value;
+      backResult = backSize++ == 0 ? value : function.execute(backResult, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void pop() {
+      if (frontSize == 0) {
+        if (front.length < backSize) {
+          front = new Object[back.length];
+          results = new Object[back.length];
+        }
+        // the newest value goes to the bottom, so the oldest one ends up on top
+        for (int index = backSize - 1; index >= 0; --index) {
+          T value = (T) back[index];
+          front[frontSize] = value;
+          results[frontSize] = frontSize == 0 ? value : function.execute(value, (T) results[frontSize - 1]);
+          ++frontSize;
+          back[index] = null;
+        }
+        backSize = 0;
+        backResult = null;
+      }
+
+      --frontSize;
+      front[frontSize] = null;
+      results[frontSize] = null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    T get() {
+      if (frontSize == 0) return backResult;
+
+      T frontResult = (T) results[frontSize - 1];
+      return backSize == 0 ? frontResult : function.execute(frontResult, backResult);
+    }
+
+    @Override
+    int size() {
+      return frontSize + backSize;
+    }
+
+    @Override
+    void clear() {
+      Arrays.fill(front, null);
+      Arrays.fill(results, null);
+      Arrays.fill(back, null);
+      frontSize = 0;
+      backSize = 0;
+      backResult = null;
+    }
+  }
+}
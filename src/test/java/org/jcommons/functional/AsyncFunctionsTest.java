@@ -0,0 +1,208 @@
+package org.jcommons.functional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.functions.AsString;
+import org.junit.*;
+
+/**
+ * Test asynchronous functional library <code>AsyncFunctions</code>.
+ */
+public class AsyncFunctionsTest
+{
+  private static final int SIZE = 100;
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+  private List<Integer> numbers;
+
+  /** Sets up the list to map. */
+  @Before
+  public void setUp() {
+    numbers = new ArrayList<Integer>(SIZE);
+    for (int number = 0; number < SIZE; ++number) {
+      numbers.add(number);
+    }
+  }
+
+  /** Shuts down the private executor. */
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.AsyncFunctions.map(Executor, UnaryFunction&lt;R, T&gt;, List&lt;T&gt;,
+   * int)'
+   */
+  @Test
+  public void testMap() throws Exception {
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maximum = new AtomicInteger();
+    UnaryFunction<String, Integer> slow = new UnaryFunction<String, Integer>() {
+      @Override
+      public String execute(final Integer argument) {
+        int current = inFlight.incrementAndGet();
+        synchronized (maximum) {
+          maximum.set(Math.max(maximum.get(), current));
+        }
+        try {
+          // later elements finish first, the order must be kept anyway
+          Thread.sleep((SIZE - argument) % 7);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          inFlight.decrementAndGet();
+        }
+        return String.valueOf(argument);
+      }
+    };
+
+    List<String> expected = Functions.map(new AsString<Integer>(), numbers);
+    assertEquals(expected, AsyncFunctions.map(executor, slow, numbers, 3).get(10, TimeUnit.SECONDS));
+    assertTrue(maximum.get() <= 3);
+    assertEquals(expected, AsyncFunctions.map(slow, new LinkedList<Integer>(numbers), 5).get(10, TimeUnit.SECONDS));
+    assertTrue(maximum.get() <= 5);
+
+    assertNull(AsyncFunctions.map(executor, slow, null, 2).get());
+    assertTrue(AsyncFunctions.map(executor, null, numbers, 2).get().isEmpty());
+    assertTrue(AsyncFunctions.map(executor, slow, new ArrayList<Integer>(), 2).isDone());
+  }
+
+  /**
+   * All invocations up to the maximum concurrency must run at the same time.
+   */
+  @Test
+  public void testConcurrency() throws Exception {
+    final CountDownLatch barrier = new CountDownLatch(4);
+    UnaryFunction<Integer, Integer> waiting = new UnaryFunction<Integer, Integer>() {
+      @Override
+      public Integer execute(final Integer argument) {
+        barrier.countDown();
+        try {
+          // only passes if all four invocations are running concurrently
+          if (!barrier.await(10, TimeUnit.SECONDS)) throw new IllegalStateException("not concurrent");
+        } catch (InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+        return argument * 2;
+      }
+    };
+
+    assertEquals(Arrays.asList(0, 2, 4, 6), AsyncFunctions.map(executor, waiting, numbers.subList(0, 4), 4).get());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.AsyncFunctions.map(Executor, UnaryFunction&lt;R, T&gt;, List&lt;T&gt;,
+   * int)' with a failing function.
+   */
+  @Test
+  public void testFailure() throws Exception {
+    final IllegalStateException failure = new IllegalStateException("failed");
+    final AtomicInteger invocations = new AtomicInteger();
+    Future<List<Integer>> result = AsyncFunctions.map(executor, new UnaryFunction<Integer, Integer>() {
+      @Override
+      public Integer execute(final Integer argument) {
+        invocations.incrementAndGet();
+        if (argument == 10) throw failure;
+        return argument;
+      }
+    }, numbers, 1);
+
+    try {
+      result.get();
+      fail("exception expected");
+    } catch (ExecutionException e) {
+      assertSame(failure, e.getCause());
+    }
+    // no further invocations are started after the failure
+    assertEquals(11, invocations.get());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.AsyncFunctions.map(Executor, UnaryFunction&lt;R, T&gt;, List&lt;T&gt;,
+   * int)' with a cancelled result.
+   */
+  @Test
+  public void testCancel() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    Future<List<Integer>> result = AsyncFunctions.map(executor, new UnaryFunction<Integer, Integer>() {
+      @Override
+      public Integer execute(final Integer argument) {
+        started.countDown();
+        try {
+          Thread.sleep(10000);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return argument;
+      }
+    }, numbers, 2);
+
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    assertFalse(result.isDone());
+    assertTrue(result.cancel(true));
+    assertTrue(result.isCancelled());
+    assertTrue(result.isDone());
+    assertFalse(result.cancel(true));
+
+    try {
+      result.get();
+      fail("exception expected");
+    } catch (CancellationException e) {
+      // expected
+    }
+  }
+
+  /**
+   * Threads interrupted by a cancellation are not left interrupted once they have left the function.
+   */
+  @Test
+  public void testCancelClearsInterrupt() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch left = new CountDownLatch(1);
+    final AtomicInteger interrupted = new AtomicInteger(-1);
+    Executor executor = new Executor() {
+      @Override
+      public void execute(final Runnable command) {
+        new Thread() {
+          @Override
+          public void run() {
+            command.run();
+            interrupted.set(isInterrupted() ? 1 : 0);
+            left.countDown();
+          }
+        }.start();
+      }
+    };
+
+    Future<List<Integer>> result = AsyncFunctions.map(executor, new UnaryFunction<Integer, Integer>() {
+      @Override
+      public Integer execute(final Integer argument) {
+        started.countDown();
+        // spins without looking at the interrupt flag until released
+        while (release.getCount() > 0) {
+          Thread.yield();
+        }
+        return argument;
+      }
+    }, numbers, 1);
+
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    assertTrue(result.cancel(true));
+    release.countDown();
+    assertTrue(left.await(10, TimeUnit.SECONDS));
+    assertEquals(0, interrupted.get());
+  }
+}
@@ -0,0 +1,129 @@
+package org.jcommons.functional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.functions.AsString;
+import org.jcommons.functional.predicate.UnaryPredicate;
+import org.junit.Test;
+
+/**
+ * Test combining functions and predicates with <code>Compositions</code>.
+ */
+public class CompositionsTest
+{
+  private static final UnaryFunction<Integer, String> LENGTH = new UnaryFunction<Integer, String>() {
+    @Override
+    public Integer execute(final String argument) {
+      return argument.length();
+    }
+  };
+
+  private static final UnaryPredicate<Integer> EVEN = new UnaryPredicate<Integer>() {
+    @Override
+    public boolean execute(final Integer argument) {
+      return argument % 2 == 0;
+    }
+  };
+
+  private static final UnaryPredicate<Integer> POSITIVE = new UnaryPredicate<Integer>() {
+    @Override
+    public boolean execute(final Integer argument) {
+      return argument > 0;
+    }
+  };
+
+  /**
+   * Test method for 'org.jcommons.functional.Compositions.compose(UnaryFunction&lt;R, S&gt;,
+   * UnaryFunction&lt;S, T&gt;)' and 'org.jcommons.functional.Compositions.andThen(UnaryFunction&lt;S, T&gt;,
+   * UnaryFunction&lt;R, S&gt;)'
+   */
+  @Test
+  public void testCompose() {
+    UnaryFunction<Integer, Integer> digits = Compositions.andThen(new AsString<Integer>(), LENGTH);
+    assertEquals(Arrays.asList(1, 2, 3), Functions.map(digits, 7, 42, 100));
+    assertEquals(Integer.valueOf(5), Compositions.compose(LENGTH, new AsString<Integer>()).execute(12345));
+
+    assertNull(Compositions.compose(LENGTH, null));
+    assertNull(Compositions.andThen(null, LENGTH));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Compositions.and(UnaryPredicate&lt;T&gt;...)' and
+   * 'org.jcommons.functional.Compositions.or(UnaryPredicate&lt;T&gt;...)'
+   */
+  @Test
+  public void testJunctions() {
+    List<Integer> numbers = Arrays.asList(-2, -1, 0, 1, 2, 3, 4);
+    assertEquals(Arrays.asList(2, 4), Functions.filter(Compositions.and(EVEN, POSITIVE), numbers));
+    assertEquals(Arrays.asList(-2, 0, 1, 2, 3, 4), Functions.filter(Compositions.or(EVEN, POSITIVE), numbers));
+    assertEquals(Arrays.asList(-1), Functions.filter(Compositions.not(Compositions.or(EVEN, POSITIVE)), numbers));
+
+    assertTrue(Compositions.<Integer> and().execute(1));
+    assertFalse(Compositions.<Integer> or().execute(1));
+    assertTrue(Compositions.and(EVEN, null).execute(2));
+  }
+
+  /**
+   * Nested compositions evaluate the predicates only as far as needed.
+   */
+  @Test
+  public void testNesting() {
+    final List<String> evaluated = new ArrayList<String>();
+    UnaryPredicate<Integer> first = new Recording("first", true, evaluated);
+    UnaryPredicate<Integer> second = new Recording("second", false, evaluated);
+    UnaryPredicate<Integer> third = new Recording("third", true, evaluated);
+
+    assertFalse(Compositions.and(Compositions.and(first, second), third).execute(0));
+    assertEquals(Arrays.asList("first", "second"), evaluated);
+
+    evaluated.clear();
+    assertTrue(Compositions.or(second, Compositions.or(first, third)).execute(0));
+    assertEquals(Arrays.asList("second", "first"), evaluated);
+
+    evaluated.clear();
+    UnaryPredicate<Integer> all = Compositions.and(first, third, first, third, first, null, second, third);
+    assertFalse(all.execute(0));
+    assertEquals(Arrays.asList("first", "third", "first", "third", "first", "second"), evaluated);
+
+    assertSame(first, Compositions.not(Compositions.not(first)));
+    assertNull(Compositions.not(null));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Compositions.test(UnaryFunction&lt;R, T&gt;, UnaryPredicate&lt;R&gt;)'
+   */
+  @Test
+  public void testTest() {
+    UnaryPredicate<String> evenLength = Compositions.test(LENGTH, EVEN);
+    assertEquals(Arrays.asList("ab", "abcd"), Functions.filter(evenLength, "a", "ab", "abc", "abcd"));
+    assertNull(Compositions.test(LENGTH, null));
+  }
+
+  /** remembers being evaluated */
+  private static class Recording
+    implements UnaryPredicate<Integer>
+  {
+    private final String name;
+    private final boolean result;
+    private final List<String> evaluated;
+
+    Recording(final String name, final boolean result, final List<String> evaluated) {
+      this.name = name;
+      this.result = result;
+      this.evaluated = evaluated;
+    }
+
+    @Override
+    public boolean execute(final Integer argument) {
+      evaluated.add(name);
+      return result;
+    }
+  }
+}
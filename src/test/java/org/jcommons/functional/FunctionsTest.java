@@ -1,12 +1,28 @@
 package org.jcommons.functional;
 
+import static org.jcommons.functional.Functions.aggregateBy;
 import static org.jcommons.functional.Functions.every;
+import static org.jcommons.functional.Functions.everyBatched;
 import static org.jcommons.functional.Functions.filter;
+import static org.jcommons.functional.Functions.filterCompact;
+import static org.jcommons.functional.Functions.filterToArray;
 import static org.jcommons.functional.Functions.forEach;
+import static org.jcommons.functional.Functions.groupBy;
 import static org.jcommons.functional.Functions.map;
+import static org.jcommons.functional.Functions.mapBatched;
+import static org.jcommons.functional.Functions.mapToArray;
+import static org.jcommons.functional.Functions.mapToDouble;
+import static org.jcommons.functional.Functions.mapToInt;
+import static org.jcommons.functional.Functions.mapToLong;
+import static org.jcommons.functional.Functions.nthElement;
+import static org.jcommons.functional.Functions.pick;
 import static org.jcommons.functional.Functions.reduce;
 import static org.jcommons.functional.Functions.resolve;
+import static org.jcommons.functional.Functions.select;
 import static org.jcommons.functional.Functions.some;
+import static org.jcommons.functional.Functions.someBatched;
+import static org.jcommons.functional.Functions.topK;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -15,9 +31,21 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.*;
 
+import org.jcommons.functional.function.IntUnaryFunction;
+import org.jcommons.functional.function.NaryFunction;
+import org.jcommons.functional.function.ToDoubleFunction;
+import org.jcommons.functional.function.ToIntFunction;
+import org.jcommons.functional.function.ToLongFunction;
 import org.jcommons.functional.function.UnaryFunction;
 import org.jcommons.functional.functions.AsString;
 import org.jcommons.functional.functions.DoubleSum;
+import org.jcommons.functional.functions.IntegerSum;
+import org.jcommons.functional.functions.PrimitiveDoubleSum;
+import org.jcommons.functional.functions.PrimitiveIntegerSum;
+import org.jcommons.functional.functions.PrimitiveLongSum;
+import org.jcommons.functional.predicate.BinaryPredicate;
+import org.jcommons.functional.predicate.LongPredicate;
+import org.jcommons.functional.predicate.NaryPredicate;
 import org.jcommons.functional.predicate.UnaryPredicate;
 import org.junit.*;
 
@@ -421,4 +449,427 @@ public class FunctionsTest
     assertNull(reduce(6.0, null, 1.0, 2.5));
     assertNull(reduce(6.0, new DoubleSum(), (Double[]) null));
   }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.map(IntUnaryFunction, int[])'
+   */
+  @Test
+  public void testMapIntArray() {
+    IntUnaryFunction square = new IntUnaryFunction() {
+      @Override
+      public int execute(final int argument) {
+        return argument * argument;
+      }
+    };
+
+    assertArrayEquals(new int[] { 1, 4, 9 }, map(square, new int[] { 1, 2, 3 }));
+    assertArrayEquals(new int[0], map((IntUnaryFunction) null, new int[] { 1, 2, 3 }));
+    assertNull(map(square, (int[]) null));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.filter(LongPredicate, long[])'
+   */
+  @Test
+  public void testFilterLongArray() {
+    LongPredicate even = new LongPredicate() {
+      @Override
+      public boolean execute(final long argument) {
+        return argument % 2 == 0;
+      }
+    };
+
+    long[] values = { 1L, 2L, 3L, 4L };
+    assertArrayEquals(new long[] { 2L, 4L }, filter(even, values));
+    assertArrayEquals(values, filter((LongPredicate) null, values));
+    assertNull(filter(even, (long[]) null));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.resolve(DoubleBinaryFunction, double[])' and the primitive
+   * variants with an initial value
+   */
+  @Test
+  public void testResolvePrimitiveArray() {
+    assertEquals(6.0, resolve(new PrimitiveDoubleSum(), new double[] { 1.0, 2.0, 3.0 }), 0.0);
+    assertEquals(12.0, reduce(6.0, new PrimitiveDoubleSum(), new double[] { 1.0, 2.0, 3.0 }), 0.0);
+    assertEquals(6L, resolve(new PrimitiveLongSum(), new long[] { 1L, 2L, 3L }));
+    assertEquals(6, reduce(new PrimitiveIntegerSum(), new int[] { 1, 2, 3 }));
+    assertEquals(7, resolve(7, new PrimitiveIntegerSum(), new int[0]));
+
+    assertEquals(0L, resolve(new PrimitiveLongSum(), new long[0]));
+    assertEquals(0L, resolve(new PrimitiveLongSum(), (long[]) null));
+    assertEquals(5L, resolve(5L, null, new long[] { 1L }));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.mapToArray(UnaryFunction&lt;R, T&gt;, R[], T...) &lt;R, T&gt;'
+   */
+  @Test
+  public void testMapToArray() {
+    Customer[] clients = customers.toArray(new Customer[0]);
+
+    String[] names = mapToArray(new AsString<Customer>(), new String[0], clients);
+    assertArrayEquals(new String[] { "Hermann Maier", "Markus Stahl", "Jochen Busser" }, names);
+
+    String[] buffer = { "a", "b", "c", "d", "e" };
+    assertTrue(buffer == mapToArray(new AsString<Customer>(), buffer, clients));
+    assertArrayEquals(new String[] { "Hermann Maier", "Markus Stahl", "Jochen Busser", null, "e" }, buffer);
+
+    assertNull(mapToArray(new AsString<Customer>(), buffer, (Customer[]) null));
+    assertEquals(0, mapToArray(null, buffer, clients).length);
+  }
+
+  /** The type of the results is taken from the result array, so it must be given. */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMapToArrayWithoutResult() {
+    mapToArray(new AsString<Customer>(), (String[]) null, customers.get(0));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.filterToArray(UnaryPredicate&lt;T&gt;, T...) &lt;T&gt;'
+   */
+  @Test
+  public void testFilterToArray() {
+    Customer[] clients = customers.toArray(new Customer[0]);
+    Customer[] matches = filterToArray(new CustomerLikeFilter("s"), clients);
+    assertEquals(Customer[].class, matches.getClass());
+    assertEquals(2, matches.length);
+    assertEquals(new Integer(4), matches[0].getId());
+    assertEquals(new Integer(8), matches[1].getId());
+
+    assertEquals(0, filterToArray(new CustomerLikeFilter("z"), clients).length);
+    assertArrayEquals(clients, filterToArray(null, clients));
+    assertNull(filterToArray(new CustomerLikeFilter("z"), (Customer[]) null));
+
+    // more elements than fit into a single bit mask
+    Integer[] numbers = new Integer[200];
+    for (int index = 0; index < numbers.length; ++index) {
+      numbers[index] = index;
+    }
+    Integer[] multiples = filterToArray(new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        return argument % 3 == 0;
+      }
+    }, numbers);
+    assertEquals(67, multiples.length);
+    assertEquals(Integer.valueOf(198), multiples[66]);
+  }
+
+  /**
+   * Test methods for the iterable and iterator variants of 'org.jcommons.functional.Functions'
+   */
+  @Test
+  public void testIterable() {
+    Iterable<Customer> clients = new LinkedHashSet<Customer>(customers);
+
+    CustomerToString function = new CustomerToString();
+    forEach(function, clients);
+    assertEquals(3, function.getNames().size());
+    forEach(function, customers.iterator());
+    assertEquals(6, function.getNames().size());
+
+    assertTrue(some(new CustomerLikeFilter("Maier"), clients));
+    assertFalse(some(new CustomerLikeFilter("Richard"), customers.iterator()));
+    assertTrue(every(new CustomerLikeFilter("r"), clients));
+    assertFalse(every(new CustomerLikeFilter("e"), customers.iterator()));
+    assertFalse(every(null, clients));
+
+    Iterable<Double> numbers = new LinkedList<Double>(Arrays.asList(doubles));
+    assertEquals(new Double(6.0), resolve(new DoubleSum(), numbers));
+    assertEquals(new Double(12.0), reduce(6.0, new DoubleSum(), numbers.iterator()));
+    assertNull(resolve(new DoubleSum(), (Iterator<Double>) null));
+    assertNull(reduce(null, numbers));
+  }
+
+  /**
+   * Lists without random access must yield the same results as those with random access.
+   */
+  @Test
+  public void testLinkedList() {
+    List<Customer> clients = new LinkedList<Customer>(customers);
+    assertEquals(map(new AsString<Customer>(), customers), map(new AsString<Customer>(), clients));
+    assertEquals(filter(new CustomerLikeFilter("s"), customers), filter(new CustomerLikeFilter("s"), clients));
+    assertTrue(some(new CustomerLikeFilter("Stahl"), clients));
+    assertFalse(every(new CustomerLikeFilter("Stahl"), clients));
+    assertEquals(new Double(12.0), resolve(6.0, new DoubleSum(), new LinkedList<Double>(Arrays.asList(doubles))));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.filterCompact(UnaryPredicate&lt;T&gt;, List&lt;T&gt;) &lt;T&gt;'
+   */
+  @Test
+  public void testFilterCompact() {
+    assertEquals(filter(new CustomerLikeFilter("s"), customers), filterCompact(new CustomerLikeFilter("s"), customers));
+    List<Customer> clients = new LinkedList<Customer>(customers);
+    assertEquals(filter(new CustomerLikeFilter("s"), clients), filterCompact(new CustomerLikeFilter("s"), clients));
+
+    assertTrue(filterCompact(new CustomerLikeFilter("z"), customers).isEmpty());
+    assertEquals(customers, filterCompact(null, customers));
+    assertNull(filterCompact(new CustomerLikeFilter("z"), null));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.select(UnaryPredicate&lt;T&gt;, List&lt;T&gt;) &lt;T&gt;' and
+   * 'org.jcommons.functional.Functions.pick(BitSet, List&lt;T&gt;) &lt;T&gt;'
+   */
+  @Test
+  public void testSelectAndPick() {
+    BitSet selection = select(new CustomerLikeFilter("s"), customers);
+    assertEquals(2, selection.cardinality());
+    assertTrue(selection.get(1));
+    assertTrue(selection.get(2));
+
+    selection.set(7);
+    List<Customer> expected = Arrays.asList(customers.get(1), customers.get(2));
+    assertEquals(expected, pick(selection, customers));
+    assertEquals(expected, pick(selection, new LinkedList<Customer>(customers)));
+
+    assertEquals(3, select(null, customers).cardinality());
+    assertNull(select(new CustomerLikeFilter("s"), null));
+    assertTrue(pick(null, customers).isEmpty());
+    assertNull(pick(selection, null));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.mapBatched(NaryFunction&lt;List&lt;R&gt;, T&gt;,
+   * List&lt;T&gt;, int) &lt;R, T&gt;'
+   */
+  @Test
+  public void testMapBatched() {
+    final List<Integer> sizes = new ArrayList<Integer>();
+    NaryFunction<List<String>, Customer> names = new NaryFunction<List<String>, Customer>() {
+      @Override
+      public List<String> execute(final Customer... t) {
+        return execute(Arrays.asList(t));
+      }
+
+      @Override
+      public List<String> execute(final List<Customer> list) {
+        sizes.add(list.size());
+        return map(new AsString<Customer>(), list);
+      }
+    };
+
+    assertEquals(map(new AsString<Customer>(), customers), mapBatched(names, customers, 2));
+    assertEquals(Arrays.asList(2, 1), sizes);
+    assertEquals(map(new AsString<Customer>(), customers), mapBatched(names, new LinkedList<Customer>(customers), 5));
+    assertEquals(Arrays.asList(2, 1, 3), sizes);
+
+    assertTrue(mapBatched(names, new ArrayList<Customer>(), 2).isEmpty());
+    assertTrue(mapBatched(null, customers, 2).isEmpty());
+    assertNull(mapBatched(names, null, 2));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.mapBatched(NaryFunction&lt;List&lt;R&gt;, T&gt;,
+   * List&lt;T&gt;, int) &lt;R, T&gt;' with a function returning too few results.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testMapBatchedMismatch() {
+    mapBatched(new NaryFunction<List<String>, Customer>() {
+      @Override
+      public List<String> execute(final Customer... t) {
+        return execute(Arrays.asList(t));
+      }
+
+      @Override
+      public List<String> execute(final List<Customer> list) {
+        return Collections.singletonList("one");
+      }
+    }, customers, 2);
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.someBatched(NaryPredicate&lt;T&gt;, List&lt;T&gt;, int)
+   * &lt;T&gt;' and 'org.jcommons.functional.Functions.everyBatched(NaryPredicate&lt;T&gt;, List&lt;T&gt;, int)
+   * &lt;T&gt;'
+   */
+  @Test
+  public void testSomeAndEveryBatched() {
+    final List<Integer> sizes = new ArrayList<Integer>();
+    NaryPredicate<Customer> anyStahl = new NaryPredicate<Customer>() {
+      @Override
+      public boolean execute(final Customer... arguments) {
+        return execute(Arrays.asList(arguments));
+      }
+
+      @Override
+      public boolean execute(final List<Customer> arguments) {
+        sizes.add(arguments.size());
+        return some(new CustomerLikeFilter("Stahl"), arguments);
+      }
+    };
+
+    assertEquals(some(new CustomerLikeFilter("Stahl"), customers), someBatched(anyStahl, customers, 2));
+    assertEquals(every(new CustomerLikeFilter("Stahl"), customers), everyBatched(anyStahl, customers, 1));
+    assertFalse(someBatched(null, customers, 2));
+    assertFalse(everyBatched(anyStahl, null, 2));
+
+    // the search stops at the first deciding batch
+    sizes.clear();
+    assertTrue(someBatched(anyStahl, new LinkedList<Customer>(customers), 1));
+    assertEquals(Arrays.asList(1, 1), sizes);
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.mapToInt(ToIntFunction&lt;T&gt;, List&lt;T&gt;) &lt;T&gt;' and
+   * the long and double counterparts.
+   */
+  @Test
+  public void testMapToPrimitive() {
+    ToIntFunction<Customer> id = new ToIntFunction<Customer>() {
+      @Override
+      public int execute(final Customer argument) {
+        return argument.getId();
+      }
+    };
+    assertArrayEquals(new int[] {1, 4, 8}, mapToInt(id, customers));
+    assertArrayEquals(new int[] {1, 4, 8}, mapToInt(id, new LinkedList<Customer>(customers)));
+    assertArrayEquals(new int[] {4}, mapToInt(id, customers.get(1)));
+    assertEquals(13, resolve(new PrimitiveIntegerSum(), mapToInt(id, customers)));
+    assertEquals(0, mapToInt(null, customers).length);
+    assertNull(mapToInt(id, (List<Customer>) null));
+
+    ToLongFunction<Customer> square = new ToLongFunction<Customer>() {
+      @Override
+      public long execute(final Customer argument) {
+        return (long) argument.getId() * argument.getId();
+      }
+    };
+    assertArrayEquals(new long[] {1L, 16L, 64L}, mapToLong(square, customers));
+
+    ToDoubleFunction<Customer> half = new ToDoubleFunction<Customer>() {
+      @Override
+      public double execute(final Customer argument) {
+        return argument.getId() / 2.0;
+      }
+    };
+    assertArrayEquals(new double[] {0.5, 2.0, 4.0}, mapToDouble(half, customers), 0.0);
+    assertArrayEquals(new double[] {0.5}, mapToDouble(half, customers.get(0)), 0.0);
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.groupBy(UnaryFunction&lt;K, T&gt;, List&lt;T&gt;) &lt;K,
+   * T&gt;' and 'org.jcommons.functional.Functions.aggregateBy(UnaryFunction&lt;K, T&gt;, UnaryFunction&lt;V, T&gt;,
+   * BinaryFunction&lt;V, V&gt;, List&lt;T&gt;) &lt;K, V, T&gt;'
+   */
+  @Test
+  public void testGroupBy() {
+    UnaryFunction<Integer, Integer> remainder = new UnaryFunction<Integer, Integer>() {
+      @Override
+      public Integer execute(final Integer argument) {
+        return argument % 3;
+      }
+    };
+
+    List<Integer> numbers = new ArrayList<Integer>();
+    for (int number = 1; number <= 100; ++number) {
+      numbers.add(number);
+    }
+
+    Map<Integer, List<Integer>> groups = groupBy(remainder, numbers);
+    assertEquals(Arrays.asList(1, 2, 0), new ArrayList<Integer>(groups.keySet()));
+    assertEquals(Arrays.asList(3, 6, 9), groups.get(0).subList(0, 3));
+    assertEquals(34, groups.get(1).size());
+    assertEquals(filter(new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        return argument % 3 == 2;
+      }
+    }, numbers), groups.get(2));
+
+    Map<Integer, Integer> sums = aggregateBy(remainder, new IntegerSum(), numbers);
+    assertEquals(Integer.valueOf(resolve(new IntegerSum(), groups.get(1))), sums.get(1));
+    assertEquals(Integer.valueOf(5050), resolve(new IntegerSum(), new ArrayList<Integer>(sums.values())));
+
+    UnaryFunction<String, Customer> name = new UnaryFunction<String, Customer>() {
+      @Override
+      public String execute(final Customer argument) {
+        return argument.getName();
+      }
+    };
+    Map<String, List<Customer>> byName = groupBy(name, new LinkedList<Customer>(customers));
+    assertEquals(customers.size(), byName.size());
+    assertEquals(customers.get(1), byName.get(customers.get(1).getName()).get(0));
+
+    // null keys form a group of their own
+    Map<Integer, List<Integer>> nulls = groupBy(new UnaryFunction<Integer, Integer>() {
+      @Override
+      public Integer execute(final Integer argument) {
+        return argument > 1 ? null : argument;
+      }
+    }, Arrays.asList(1, 2, 3));
+    assertEquals(Arrays.asList(2, 3), nulls.get(null));
+
+    assertNull(groupBy(remainder, (List<Integer>) null));
+    assertTrue(groupBy(null, numbers).isEmpty());
+    assertTrue(aggregateBy(remainder, null, numbers).isEmpty());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Functions.topK(int, BinaryPredicate&lt;T&gt;, List&lt;T&gt;) &lt;T&gt;'
+   * and 'org.jcommons.functional.Functions.nthElement(int, BinaryPredicate&lt;T&gt;, List&lt;T&gt;) &lt;T&gt;'
+   */
+  @Test
+  public void testTopK() {
+    BinaryPredicate<Integer> lessThan = new BinaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument0, final Integer argument1) {
+        return argument0 < argument1;
+      }
+    };
+
+    Random random = new Random(7);
+    List<Integer> numbers = new ArrayList<Integer>();
+    for (int count = 0; count < 1000; ++count) {
+      numbers.add(random.nextInt(200));
+    }
+    List<Integer> sorted = new ArrayList<Integer>(numbers);
+    Collections.sort(sorted, Collections.reverseOrder());
+
+    assertEquals(sorted.subList(0, 50), topK(50, lessThan, numbers));
+    assertEquals(sorted, topK(2000, lessThan, new LinkedList<Integer>(numbers)));
+    assertTrue(topK(0, lessThan, numbers).isEmpty());
+    assertTrue(topK(3, null, numbers).isEmpty());
+    assertNull(topK(3, lessThan, (List<Integer>) null));
+
+    Collections.reverse(sorted);
+    for (int n : new int[] {0, 1, 499, 500, 998, 999}) {
+      assertEquals(sorted.get(n), nthElement(n, lessThan, numbers));
+    }
+    assertEquals(Integer.valueOf(5), nthElement(0, lessThan, Arrays.asList(5)));
+    assertNull(nthElement(0, null, numbers));
+  }
+
+  /**
+   * Equal elements are taken in the order of the list.
+   */
+  @Test
+  public void testTopKStable() {
+    BinaryPredicate<Customer> byId = new BinaryPredicate<Customer>() {
+      @Override
+      public boolean execute(final Customer argument0, final Customer argument1) {
+        return argument0.getId() / 4 < argument1.getId() / 4;
+      }
+    };
+    Customer first = customers.get(1);
+    Customer second = new Customer(5, "Marie Stahl");
+    assertEquals(Arrays.asList(customers.get(2), first, second),
+      topK(3, byId, Arrays.asList(customers.get(0), first, customers.get(2), second)));
+  }
+
+  /**
+   * The index must be within the list.
+   */
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testNthElementOutOfBounds() {
+    nthElement(3, new BinaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument0, final Integer argument1) {
+        return argument0 < argument1;
+      }
+    }, Arrays.asList(1, 2, 3));
+  }
 }
@@ -0,0 +1,195 @@
+package org.jcommons.functional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.functions.IntegerSum;
+import org.jcommons.functional.predicate.UnaryPredicate;
+import org.junit.*;
+
+/**
+ * Test lazy functional library <code>LazyFunctions</code>.
+ */
+public class LazyFunctionsTest
+{
+  /** counts how often it has been executed */
+  private static class Square
+    implements UnaryFunction<Integer, Integer>
+  {
+    private int executions;
+
+    @Override
+    public Integer execute(final Integer argument) {
+      ++executions;
+      return argument * argument;
+    }
+  }
+
+  /** counts how often it has been executed */
+  private static class Even
+    implements UnaryPredicate<Integer>
+  {
+    private int executions;
+
+    @Override
+    public boolean execute(final Integer argument) {
+      ++executions;
+      return argument % 2 == 0;
+    }
+  }
+
+  private List<Integer> numbers;
+
+  /** Sets up the numbers from 0 to 9999. */
+  @Before
+  public void setUp() {
+    numbers = new ArrayList<Integer>();
+    for (int number = 0; number < 10000; ++number) {
+      numbers.add(number);
+    }
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.LazyFunctions.map(UnaryFunction&lt;R, T&gt;, List&lt;T&gt;)'
+   */
+  @Test
+  public void testMap() {
+    Square square = new Square();
+    List<Integer> squares = LazyFunctions.map(square, numbers);
+    assertEquals(0, square.executions);
+    assertEquals(10000, squares.size());
+    assertTrue(squares instanceof RandomAccess);
+
+    assertEquals(Integer.valueOf(25), squares.get(5));
+    assertEquals(Integer.valueOf(25), squares.get(5));
+    assertEquals(2, square.executions);
+
+    assertEquals(Functions.map(square, new LinkedList<Integer>(numbers)), LazyFunctions.map(square, numbers));
+    assertNull(LazyFunctions.map(square, (List<Integer>) null));
+    assertTrue(LazyFunctions.map(null, numbers).isEmpty());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.LazyFunctions.map(UnaryFunction&lt;R, T&gt;, List&lt;T&gt;, boolean)'
+   */
+  @Test
+  public void testMapMemoized() {
+    Square square = new Square();
+    List<Integer> squares = LazyFunctions.map(square, new LinkedList<Integer>(numbers), true);
+    assertFalse(squares instanceof RandomAccess);
+
+    assertEquals(Integer.valueOf(81), squares.get(9));
+    assertEquals(Integer.valueOf(81), squares.get(9));
+    assertEquals(1, square.executions);
+
+    int sum = 0;
+    for (Integer value : squares) {
+      sum += value;
+    }
+    assertEquals(Functions.resolve(new IntegerSum(), squares), Integer.valueOf(sum));
+    assertEquals(10000, square.executions);
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.LazyFunctions.filter(UnaryPredicate&lt;T&gt;, List&lt;T&gt;)'
+   */
+  @Test
+  public void testFilter() {
+    Even even = new Even();
+    List<Integer> evens = LazyFunctions.filter(even, numbers);
+    assertEquals(0, even.executions);
+
+    assertFalse(evens.isEmpty());
+    assertEquals(Integer.valueOf(8), evens.get(4));
+    assertEquals(9, even.executions);
+
+    Iterator<Integer> iterator = evens.iterator();
+    assertEquals(Integer.valueOf(0), iterator.next());
+    assertEquals(9, even.executions);
+
+    assertEquals(5000, evens.size());
+    assertEquals(10000, even.executions);
+    assertEquals(Functions.filter(even, numbers), evens);
+
+    assertNull(LazyFunctions.filter(even, (List<Integer>) null));
+    assertEquals(numbers, LazyFunctions.filter(null, numbers));
+  }
+
+  /** Views must not be modifiable. */
+  @Test(expected = UnsupportedOperationException.class)
+  public void testReadOnly() {
+    LazyFunctions.map(new Square(), numbers).set(0, 1);
+  }
+
+  /** Mapped iterators must not remove elements of the original. */
+  @Test(expected = UnsupportedOperationException.class)
+  public void testReadOnlyMappedIterator() {
+    Iterator<Integer> iterator = LazyFunctions.map(new Square(), numbers.iterator());
+    iterator.next();
+    iterator.remove();
+  }
+
+  /** Iterators filtered without a predicate must not remove elements of the original. */
+  @Test(expected = UnsupportedOperationException.class)
+  public void testReadOnlyUnfilteredIterator() {
+    Iterator<Integer> iterator = LazyFunctions.filter(null, numbers.iterator());
+    iterator.next();
+    iterator.remove();
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.LazyFunctions.map(UnaryFunction&lt;R, T&gt;, Iterator&lt;T&gt;)' and
+   * 'org.jcommons.functional.LazyFunctions.filter(UnaryPredicate&lt;T&gt;, Iterator&lt;T&gt;)'
+   */
+  @Test
+  public void testIterator() {
+    Square square = new Square();
+    Even even = new Even();
+    Iterator<Integer> iterator = LazyFunctions.map(square, LazyFunctions.filter(even, numbers.iterator()));
+    assertEquals(0, even.executions);
+
+    assertTrue(iterator.hasNext());
+    assertTrue(iterator.hasNext());
+    assertEquals(Integer.valueOf(0), iterator.next());
+    assertEquals(Integer.valueOf(4), iterator.next());
+    assertEquals(3, even.executions);
+    assertEquals(2, square.executions);
+
+    UnaryFunction<Integer, Integer> one = new UnaryFunction<Integer, Integer>() {
+      @Override
+      public Integer execute(final Integer argument) {
+        return 1;
+      }
+    };
+    Iterable<Integer> iterable = LazyFunctions.filter(even, (Iterable<Integer>) new LinkedHashSet<Integer>(numbers));
+    assertEquals(Integer.valueOf(5000), Functions.resolve(new IntegerSum(), LazyFunctions.map(one, iterable)));
+
+    assertNull(LazyFunctions.map(square, (Iterator<Integer>) null));
+    assertFalse(LazyFunctions.map(null, numbers.iterator()).hasNext());
+    assertNull(LazyFunctions.filter(even, (Iterable<Integer>) null));
+    assertTrue(LazyFunctions.filter(null, numbers.iterator()).hasNext());
+  }
+
+  /** Filtered iterators must end properly. */
+  @Test(expected = NoSuchElementException.class)
+  public void testIteratorExhausted() {
+    Iterator<Integer> iterator = LazyFunctions.filter(new Even(), Arrays.asList(1, 2, 3).iterator());
+    assertEquals(Integer.valueOf(2), iterator.next());
+    assertFalse(iterator.hasNext());
+    iterator.next();
+  }
+
+  /** Iterators of a filtered view must end properly. */
+  @Test(expected = NoSuchElementException.class)
+  public void testViewIteratorExhausted() {
+    Iterator<Integer> iterator = LazyFunctions.filter(new Even(), Arrays.asList(1, 2, 3)).iterator();
+    assertEquals(Integer.valueOf(2), iterator.next());
+    assertFalse(iterator.hasNext());
+    iterator.next();
+  }
+}
@@ -0,0 +1,235 @@
+package org.jcommons.functional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jcommons.functional.function.Associative;
+import org.jcommons.functional.function.BinaryFunction;
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.functions.AsString;
+import org.jcommons.functional.functions.DoubleSum;
+import org.jcommons.functional.functions.LongSum;
+import org.jcommons.functional.predicate.BinaryPredicate;
+import org.jcommons.functional.predicate.UnaryPredicate;
+import org.junit.*;
+
+/**
+ * Test parallel functional library <code>ParallelFunctions</code>.
+ */
+public class ParallelFunctionsTest
+{
+  private static final int SIZE = 100000;
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  private List<Long> numbers;
+
+  /** Sets up a list large enough to be split. */
+  @Before
+  public void setUp() {
+    numbers = new ArrayList<Long>(SIZE);
+    for (long number = 0; number < SIZE; ++number) {
+      numbers.add(number);
+    }
+  }
+
+  /** Shuts down the private pool. */
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.ParallelFunctions.map(ForkJoinPool, UnaryFunction&lt;R, T&gt;,
+   * List&lt;T&gt;)'
+   */
+  @Test
+  public void testMap() {
+    List<String> result = ParallelFunctions.map(pool, new AsString<Long>(), numbers);
+    assertEquals(Functions.map(new AsString<Long>(), numbers), result);
+    assertEquals("12345", result.get(12345));
+
+    assertNull(ParallelFunctions.map(new AsString<Long>(), (List<Long>) null));
+    assertTrue(ParallelFunctions.map(null, numbers).isEmpty());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.ParallelFunctions.filter(ForkJoinPool, UnaryPredicate&lt;T&gt;,
+   * List&lt;T&gt;)'
+   */
+  @Test
+  public void testFilter() {
+    UnaryPredicate<Long> odd = new UnaryPredicate<Long>() {
+      @Override
+      public boolean execute(final Long argument) {
+        return argument % 2 == 1;
+      }
+    };
+
+    List<Long> result = ParallelFunctions.filter(pool, odd, numbers);
+    assertEquals(SIZE / 2, result.size());
+    assertEquals(Functions.filter(odd, numbers), result);
+
+    assertEquals(SIZE, ParallelFunctions.filter(null, numbers).size());
+    assertNull(ParallelFunctions.filter(odd, (List<Long>) null));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.ParallelFunctions.resolve(ForkJoinPool, T, BinaryFunction&lt;T, T&gt;,
+   * List&lt;T&gt;)'
+   */
+  @Test
+  public void testResolve() {
+    long expected = (long) SIZE * (SIZE - 1) / 2;
+    assertEquals(Long.valueOf(expected), ParallelFunctions.resolve(pool, null, new LongSum(), numbers));
+    assertEquals(Long.valueOf(expected + 10), ParallelFunctions.reduce(10L, new LongSum(), numbers));
+
+    // order must be kept for associative, non commutative functions like concatenation
+    List<String> texts = ParallelFunctions.map(pool, new AsString<Long>(), numbers.subList(0, 5000));
+    assertEquals(Functions.resolve(new Concatenation(), texts), ParallelFunctions.resolve(new Concatenation(), texts));
+
+    assertNull(ParallelFunctions.resolve(null, numbers));
+    assertNull(ParallelFunctions.resolve(new LongSum(), (List<Long>) null));
+  }
+
+  /**
+   * Floating point sums are not split, so their result does not depend on the amount of threads.
+   */
+  @Test
+  public void testResolveDouble() {
+    Random random = new Random(42);
+    List<Double> doubles = new ArrayList<Double>(SIZE);
+    for (int count = 0; count < SIZE; ++count) {
+      doubles.add(random.nextDouble() * Math.pow(10, random.nextInt(20)));
+    }
+
+    Double expected = Functions.resolve(new DoubleSum(), doubles);
+    for (int parallelism = 1; parallelism <= 4; ++parallelism) {
+      ForkJoinPool other = new ForkJoinPool(parallelism);
+      try {
+        assertEquals(expected, ParallelFunctions.resolve(other, null, new DoubleSum(), doubles));
+      } finally {
+        other.shutdown();
+      }
+    }
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.ParallelFunctions.forEach(ForkJoinPool, UnaryFunction&lt;R, T&gt;,
+   * List&lt;T&gt;)'
+   */
+  @Test
+  public void testForEach() {
+    final AtomicInteger count = new AtomicInteger();
+    ParallelFunctions.forEach(pool, new UnaryFunction<Void, Long>() {
+      @Override
+      public Void execute(final Long argument) {
+        count.incrementAndGet();
+        return null;
+      }
+    }, numbers);
+    assertEquals(SIZE, count.get());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.ParallelFunctions.some(ForkJoinPool, UnaryPredicate&lt;T&gt;,
+   * List&lt;T&gt;)' and 'org.jcommons.functional.ParallelFunctions.every(ForkJoinPool, UnaryPredicate&lt;T&gt;,
+   * List&lt;T&gt;)'
+   */
+  @Test
+  public void testSomeAndEvery() {
+    final AtomicInteger evaluations = new AtomicInteger();
+    UnaryPredicate<Long> small = new UnaryPredicate<Long>() {
+      @Override
+      public boolean execute(final Long argument) {
+        evaluations.incrementAndGet();
+        return argument < 1000;
+      }
+    };
+
+    assertTrue(ParallelFunctions.some(pool, small, numbers));
+    // the match is found in the first chunk, most other chunks are skipped
+    assertTrue(evaluations.get() < SIZE / 2);
+
+    assertFalse(ParallelFunctions.every(pool, small, numbers));
+    assertTrue(ParallelFunctions.every(pool, small, numbers.subList(0, 1000)));
+    assertFalse(ParallelFunctions.some(pool, small, numbers.subList(1000, SIZE)));
+
+    assertFalse(ParallelFunctions.some(null, numbers));
+    assertFalse(ParallelFunctions.every(small, (List<Long>) null));
+    assertTrue(ParallelFunctions.some(small, Arrays.asList(5L)));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.ParallelFunctions.groupBy(ForkJoinPool, UnaryFunction&lt;K, T&gt;,
+   * List&lt;T&gt;)' and 'org.jcommons.functional.ParallelFunctions.aggregateBy(ForkJoinPool, UnaryFunction&lt;K,
+   * T&gt;, UnaryFunction&lt;V, T&gt;, BinaryFunction&lt;V, V&gt;, List&lt;T&gt;)'
+   */
+  @Test
+  public void testGroupBy() {
+    UnaryFunction<Long, Long> remainder = new UnaryFunction<Long, Long>() {
+      @Override
+      public Long execute(final Long argument) {
+        return argument % 1000;
+      }
+    };
+
+    Map<Long, List<Long>> groups = ParallelFunctions.groupBy(pool, remainder, numbers);
+    assertEquals(Functions.groupBy(remainder, numbers), groups);
+    assertEquals(0L, groups.keySet().iterator().next().longValue());
+    assertEquals(Long.valueOf(99999L), groups.get(999L).get(99));
+
+    Map<Long, Long> sums = ParallelFunctions.aggregateBy(pool, remainder, Functions.<Long> identity(), new LongSum(),
+      numbers);
+    assertEquals(Functions.aggregateBy(remainder, new LongSum(), numbers), sums);
+    assertEquals(Long.valueOf(SIZE * (SIZE - 1L) / 2), Functions.resolve(new LongSum(), sums.values()));
+
+    // associative but not commutative, the order of the elements is kept per key
+    Map<Long, String> concatenated = ParallelFunctions.aggregateBy(pool, remainder, new AsString<Long>(),
+      new Concatenation(), numbers);
+    assertEquals(Functions.aggregateBy(remainder, new AsString<Long>(), new Concatenation(), numbers), concatenated);
+
+    assertNull(ParallelFunctions.groupBy(remainder, (List<Long>) null));
+    assertTrue(ParallelFunctions.aggregateBy(null, new LongSum(), numbers).isEmpty());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.ParallelFunctions.topK(ForkJoinPool, int, BinaryPredicate&lt;T&gt;,
+   * List&lt;T&gt;)'
+   */
+  @Test
+  public void testTopK() {
+    // orders by the last two digits only, so there are many equal elements
+    BinaryPredicate<Long> lessThan = new BinaryPredicate<Long>() {
+      @Override
+      public boolean execute(final Long argument0, final Long argument1) {
+        return argument0 % 100 < argument1 % 100;
+      }
+    };
+
+    List<Long> top = ParallelFunctions.topK(pool, 50, lessThan, numbers);
+    assertEquals(Functions.topK(50, lessThan, numbers), top);
+    assertEquals(Long.valueOf(99L), top.get(0));
+    assertEquals(Long.valueOf(4999L), top.get(49));
+
+    assertEquals(SIZE, ParallelFunctions.topK(pool, SIZE + 1, lessThan, numbers).size());
+    assertTrue(ParallelFunctions.topK(0, lessThan, numbers).isEmpty());
+    assertNull(ParallelFunctions.topK(5, lessThan, (List<Long>) null));
+  }
+
+  /** associative but not commutative function */
+  private static class Concatenation
+    implements BinaryFunction<String, String>, Associative
+  {
+    @Override
+    public String execute(final String argument0, final String argument1) {
+      return argument0 + argument1;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package org.jcommons.functional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.functions.AsString;
+import org.jcommons.functional.functions.IntegerSum;
+import org.jcommons.functional.predicate.UnaryPredicate;
+import org.junit.*;
+
+/**
+ * Test the fused single pass <code>Pipeline</code>.
+ */
+public class PipelineTest
+{
+  /** counts how often it has been executed */
+  private static class Even
+    implements UnaryPredicate<Integer>
+  {
+    private int executions;
+
+    @Override
+    public boolean execute(final Integer argument) {
+      ++executions;
+      return argument % 2 == 0;
+    }
+  }
+
+  /** squares a number */
+  private static class Square
+    implements UnaryFunction<Integer, Integer>
+  {
+    @Override
+    public Integer execute(final Integer argument) {
+      return argument * argument;
+    }
+  }
+
+  private List<Integer> numbers;
+
+  /** Sets up the numbers from 0 to 99. */
+  @Before
+  public void setUp() {
+    numbers = new ArrayList<Integer>();
+    for (int number = 0; number < 100; ++number) {
+      numbers.add(number);
+    }
+  }
+
+  /** A pipeline must yield the same results as the chained functions. */
+  @Test
+  public void testFilterMapResolve() {
+    Even even = new Even();
+    List<Integer> squares = Functions.map(new Square(), Functions.filter(even, numbers));
+    Integer expected = Functions.resolve(new IntegerSum(), squares);
+
+    assertEquals(expected, Pipeline.from(numbers).filter(even).map(new Square()).resolve(new IntegerSum()));
+    assertEquals(expected, Pipeline.from(new LinkedList<Integer>(numbers)).filter(even).map(new Square())
+        .reduce(new IntegerSum()));
+    assertEquals(Integer.valueOf(expected + 1), Pipeline.from(numbers).filter(even).map(new Square())
+        .resolve(1, new IntegerSum()));
+
+    assertEquals(Functions.map(new AsString<Integer>(), numbers),
+        Pipeline.from(numbers).map(new AsString<Integer>()).toList());
+    assertEquals(50, Pipeline.from(numbers).filter(even).count());
+  }
+
+  /** Short-circuiting operations must stop reading the source. */
+  @Test
+  public void testShortCircuit() {
+    Even even = new Even();
+    assertEquals(Arrays.asList(0, 4, 16), Pipeline.from(numbers).filter(even).limit(3).map(new Square()).toList());
+    assertEquals(5, even.executions);
+
+    even = new Even();
+    assertEquals(Integer.valueOf(0), Pipeline.from(numbers).filter(even).limit(6).map(new Square()).first());
+    assertEquals(1, even.executions);
+
+    even = new Even();
+    assertTrue(Pipeline.from(numbers).some(even));
+    assertFalse(Pipeline.from(1, 2, 3).every(even));
+    assertTrue(Pipeline.from(2, 4, 6).every(even));
+    assertTrue(Pipeline.from(numbers).filter(even).every(even));
+    assertEquals(0, Pipeline.from(numbers).limit(0).count());
+  }
+
+  /** Null arguments are treated like in <code>Functions</code>. */
+  @Test
+  public void testNull() {
+    assertTrue(Pipeline.from((List<Integer>) null).toList().isEmpty());
+    assertNull(Pipeline.from((List<Integer>) null).resolve(new IntegerSum()));
+    assertEquals(numbers, Pipeline.from(numbers).filter(null).toList());
+    assertTrue(Pipeline.from(numbers).map(null).toList().isEmpty());
+    assertNull(Pipeline.from(numbers).resolve(null));
+    assertFalse(Pipeline.from(numbers).some(null));
+    assertFalse(Pipeline.from(numbers).every(null));
+    assertFalse(Pipeline.from((List<Integer>) null).every(new Even()));
+    assertFalse(Pipeline.from((Integer[]) null).filter(new Even()).map(new Square()).every(new Even()));
+    assertTrue(Pipeline.from(new ArrayList<Integer>()).every(new Even()));
+    assertNull(Pipeline.from(numbers).filter(new Even()).limit(0).first());
+  }
+}
@@ -0,0 +1,98 @@
+package org.jcommons.functional;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.jcommons.functional.function.IntBinaryFunction;
+import org.jcommons.functional.functions.PrimitiveIntegerSum;
+import org.jcommons.functional.functions.PrimitiveLongSum;
+import org.junit.Test;
+
+/**
+ * Test primitive reductions of <code>Reductions</code>.
+ */
+public class ReductionsTest
+{
+  /**
+   * Test method for 'org.jcommons.functional.Reductions.sum(int[])' and friends, for all lengths around the unrolling.
+   */
+  @Test
+  public void testIntReductions() {
+    Random random = new Random(7);
+    for (int length = 0; length < 12; ++length) {
+      int[] list = new int[length];
+      int sum = 0, min = length == 0 ? 0 : Integer.MAX_VALUE, max = length == 0 ? 0 : Integer.MIN_VALUE, dot = 0;
+      for (int index = 0; index < length; ++index) {
+        list[index] = random.nextInt();
+        sum += list[index];
+        min = Math.min(min, list[index]);
+        max = Math.max(max, list[index]);
+        dot += list[index] * list[index];
+      }
+
+      assertEquals(sum, Reductions.sum(list));
+      assertEquals(min, Reductions.min(list));
+      assertEquals(max, Reductions.max(list));
+      assertEquals(dot, Reductions.dot(list, list));
+      assertEquals(sum, Functions.resolve(new PrimitiveIntegerSum(), list));
+    }
+    assertEquals(0, Reductions.sum((int[]) null));
+    assertEquals(0, Reductions.max((int[]) null));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Reductions.sum(long[])' and friends.
+   */
+  @Test
+  public void testLongReductions() {
+    long[] list = {5L, -3L, Long.MAX_VALUE, 8L, 1L};
+    assertEquals(5L - 3L + Long.MAX_VALUE + 8L + 1L, Reductions.sum(list));
+    assertEquals(-3L, Reductions.min(list));
+    assertEquals(Long.MAX_VALUE, Reductions.max(list));
+    assertEquals(10L, Reductions.dot(new long[] {1L, 2L, 3L}, new long[] {3L, 2L, 1L}));
+    assertEquals(11L + Reductions.sum(list), Functions.resolve(11L, new PrimitiveLongSum(), list));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Reductions.sum(double[])' and friends.
+   */
+  @Test
+  public void testDoubleReductions() {
+    double[] list = new double[1001];
+    double sum = 0.0;
+    for (int index = 0; index < list.length; ++index) {
+      list[index] = index * 0.5;
+      sum += list[index];
+    }
+
+    assertEquals(sum, Reductions.sum(list), 1e-9);
+    assertEquals(0.0, Reductions.min(list), 0.0);
+    assertEquals(500.0, Reductions.max(list), 0.0);
+    assertEquals(Double.NaN, Reductions.max(new double[] {1.0, Double.NaN, 2.0}), 0.0);
+    assertEquals(14.0, Reductions.dot(new double[] {1.0, 2.0, 3.0}, new double[] {1.0, 2.0, 3.0}), 0.0);
+    assertEquals(0.0, Reductions.dot(null, list), 0.0);
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Reductions.dot(int[], int[])' with different lengths.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testDotLengths() {
+    Reductions.dot(new int[2], new int[3]);
+  }
+
+  /**
+   * Subclasses of the sum functions may behave differently and must not be replaced by the faster loop.
+   */
+  @Test
+  public void testResolveSubclass() {
+    IntBinaryFunction doubling = new PrimitiveIntegerSum() {
+      @Override
+      public int execute(final int numberLeft, final int numberRight) {
+        return numberLeft + 2 * numberRight;
+      }
+    };
+    assertEquals(1 + 4 + 6, Functions.resolve(doubling, new int[] {1, 2, 3}));
+  }
+}
@@ -0,0 +1,140 @@
+package org.jcommons.functional;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+
+import org.jcommons.functional.predicate.UnaryPredicate;
+import org.junit.Test;
+
+/**
+ * Test selections of indices with <code>Selection</code>.
+ */
+public class SelectionTest
+{
+  /**
+   * Test method for 'org.jcommons.functional.Selection.select(UnaryPredicate&lt;T&gt;, List&lt;T&gt;)' and
+   * 'org.jcommons.functional.Selection.pick(List&lt;T&gt;)'
+   */
+  @Test
+  public void testSelectAndPick() {
+    List<Integer> numbers = new ArrayList<Integer>();
+    for (int number = 0; number < 200000; ++number) {
+      numbers.add(number);
+    }
+    UnaryPredicate<Integer> multipleOfSeven = new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        return argument % 7 == 0;
+      }
+    };
+
+    Selection selection = Selection.select(multipleOfSeven, numbers);
+    assertEquals(Functions.filter(multipleOfSeven, numbers), selection.pick(numbers));
+    assertEquals(Functions.filter(multipleOfSeven, numbers), selection.pick(new LinkedList<Integer>(numbers)));
+    assertEquals(Functions.select(multipleOfSeven, numbers), selection.toBitSet());
+    assertTrue(selection.contains(700));
+    assertFalse(selection.contains(701));
+    assertFalse(selection.contains(-7));
+
+    assertEquals(numbers.size(), Selection.select(null, numbers).cardinality());
+    assertNull(Selection.select(multipleOfSeven, null));
+    assertEquals(Arrays.asList(0, 7), selection.pick(numbers.subList(0, 10)));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Selection.and(Selection)', 'or(Selection)' and 'andNot(Selection)'
+   * compared with the same operations on bit sets, for sparse and dense blocks.
+   */
+  @Test
+  public void testCombine() {
+    Random random = new Random(3);
+    BitSet[] sets = new BitSet[4];
+    for (int set = 0; set < sets.length; ++set) {
+      sets[set] = new BitSet();
+      for (int index = 0; index < 300000; ++index) {
+        // alternate sparse and dense blocks of 65536 indices
+        double density = (index >>> 16) % 2 == 0 ? 0.01 : 0.5 + set * 0.1;
+        if (random.nextDouble() < density) {
+          sets[set].set(index);
+        }
+      }
+    }
+
+    for (BitSet left : sets) {
+      for (BitSet right : sets) {
+        Selection leftSelection = Selection.of(left);
+        Selection rightSelection = Selection.of(right);
+
+        BitSet expected = (BitSet) left.clone();
+        expected.and(right);
+        assertEquals(expected, leftSelection.and(rightSelection).toBitSet());
+        assertEquals(expected.cardinality(), leftSelection.and(rightSelection).cardinality());
+
+        expected = (BitSet) left.clone();
+        expected.or(right);
+        assertEquals(expected, leftSelection.or(rightSelection).toBitSet());
+
+        expected = (BitSet) left.clone();
+        expected.andNot(right);
+        assertEquals(expected, leftSelection.andNot(rightSelection).toBitSet());
+      }
+    }
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Selection.range(int, int)' and the iteration of selections.
+   */
+  @Test
+  public void testRange() {
+    Selection odd = Selection.of(BitSet.valueOf(new long[] {0xAAAAAAAAAAAAAAAAL}));
+    Selection even = Selection.range(0, 64).andNot(odd);
+    assertEquals(32, even.cardinality());
+    assertArrayEquals(new int[] {0, 2, 4}, Arrays.copyOf(even.toArray(), 3));
+    assertTrue(even.and(odd).isEmpty());
+    assertEquals(Selection.range(0, 64), even.or(odd));
+
+    List<Integer> iterated = new ArrayList<Integer>();
+    for (int index : Selection.range(70000, 70003)) {
+      iterated.add(index);
+    }
+    assertEquals(Arrays.asList(70000, 70001, 70002), iterated);
+    assertTrue(Selection.of(null).isEmpty());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.Selection.iterator()', 'equals(Object)', 'hashCode()' and 'toString()'
+   * on sparse and dense blocks.
+   */
+  @Test
+  public void testIterateAndCompare() {
+    BitSet set = new BitSet();
+    for (int index = 0; index < 200000; index += index < 65536 ? 97 : 2) {
+      set.set(index);
+    }
+    Selection selection = Selection.of(set);
+    int[] indices = selection.toArray();
+
+    List<Integer> iterated = new ArrayList<Integer>();
+    for (int index : selection) {
+      iterated.add(index);
+    }
+    assertEquals(indices.length, iterated.size());
+    for (int position = 0; position < indices.length; ++position) {
+      assertEquals(indices[position], iterated.get(position).intValue());
+    }
+
+    Selection same = Selection.range(0, 200000).andNot(Selection.range(0, 200000).andNot(selection));
+    assertEquals(selection, same);
+    assertEquals(Arrays.hashCode(indices), selection.hashCode());
+    assertEquals(selection.hashCode(), same.hashCode());
+    assertEquals(Arrays.toString(indices), selection.toString());
+    assertFalse(selection.equals(selection.andNot(Selection.range(199998, 199999))));
+    assertFalse(selection.equals(Selection.EMPTY));
+    assertEquals("[]", Selection.EMPTY.toString());
+  }
+}
@@ -0,0 +1,113 @@
+package org.jcommons.functional.functions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+
+import org.jcommons.functional.Functions;
+import org.jcommons.functional.predicate.UnaryPredicate;
+import org.junit.Test;
+
+/**
+ * AdaptiveConjunction Test
+ */
+public class AdaptiveConjunctionTest
+{
+  /** costly and rejects nothing */
+  private static final UnaryPredicate<Integer> EXPENSIVE = new UnaryPredicate<Integer>() {
+    @Override
+    public boolean execute(final Integer argument) {
+      long deadline = System.nanoTime() + 20000L;
+      while (System.nanoTime() < deadline) {
+        // busy waiting to simulate a costly check
+      }
+      return true;
+    }
+  };
+
+  /** cheap and rejects most elements */
+  private static final UnaryPredicate<Integer> SELECTIVE = new UnaryPredicate<Integer>() {
+    @Override
+    public boolean execute(final Integer argument) {
+      return argument % 10 == 0;
+    }
+  };
+
+  /** cheap and rejects half of the elements */
+  private static final UnaryPredicate<Integer> EVEN = new UnaryPredicate<Integer>() {
+    @Override
+    public boolean execute(final Integer argument) {
+      return argument % 2 == 0;
+    }
+  };
+
+  /**
+   * Test method for 'org.jcommons.functional.functions.AdaptiveConjunction.execute(T)'
+   */
+  @Test
+  public void testReorder() {
+    List<Integer> numbers = new ArrayList<Integer>();
+    for (int number = 0; number < 1000; ++number) {
+      numbers.add(number);
+    }
+
+    AdaptiveConjunction<Integer> conjunction = new AdaptiveConjunction<Integer>(1, 100, EXPENSIVE, EVEN, SELECTIVE);
+    assertEquals(Arrays.asList(EXPENSIVE, EVEN, SELECTIVE), conjunction.getOrder());
+
+    List<Integer> result = Functions.filter(conjunction, numbers);
+    assertEquals(100, result.size());
+    assertEquals(Integer.valueOf(990), result.get(99));
+
+    // the predicate that never rejects anything is evaluated last
+    assertSame(EXPENSIVE, conjunction.getOrder().get(2));
+  }
+
+  /**
+   * The result must not depend on the order of evaluation.
+   */
+  @Test
+  public void testResult() {
+    AdaptiveConjunction<Integer> conjunction = new AdaptiveConjunction<Integer>(EVEN, SELECTIVE);
+    for (int number = 0; number < 10000; ++number) {
+      assertEquals(number % 10 == 0, conjunction.execute(number));
+    }
+    assertTrue(new AdaptiveConjunction<Integer>().execute(1));
+  }
+
+  /**
+   * Sampled evaluations stop at the first failing predicate like all others, so a guard keeps protecting the
+   * predicates behind it.
+   */
+  @Test
+  public void testSampleShortCircuits() {
+    UnaryPredicate<Integer> notNull = new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        return argument != null;
+      }
+    };
+    UnaryPredicate<Integer> positive = new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        return argument.intValue() >= 0;
+      }
+    };
+
+    AdaptiveConjunction<Integer> conjunction = new AdaptiveConjunction<Integer>(1, 10, notNull, positive);
+    for (int number = 0; number < 1000; ++number) {
+      assertEquals(number % 2 == 0, conjunction.execute(number % 2 == 0 ? number : null));
+    }
+    assertEquals(Arrays.asList(notNull, positive), conjunction.getOrder());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.functions.AdaptiveConjunction.AdaptiveConjunction(UnaryPredicate&lt;T&gt;
+   * ...)' with a missing predicate.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPredicate() {
+    new AdaptiveConjunction<Integer>(EVEN, null);
+  }
+}
@@ -0,0 +1,69 @@
+package org.jcommons.functional.functions;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jcommons.functional.Functions;
+import org.junit.Test;
+
+/**
+ * CompensatedDoubleSum Test
+ */
+public class CompensatedDoubleSumTest
+{
+  /**
+   * Test method for 'org.jcommons.functional.functions.CompensatedDoubleSum.sum(double[])'
+   */
+  @Test
+  public void testAccuracy() {
+    // a naive sum loses every small number next to the large ones
+    double[] numbers = new double[10001];
+    numbers[0] = 1e16;
+    for (int index = 1; index < numbers.length - 1; ++index) {
+      numbers[index] = 1.0;
+    }
+    numbers[numbers.length - 1] = -1e16;
+
+    assertEquals(0.0, Functions.resolve(new PrimitiveDoubleSum(), numbers), 0.0);
+    assertEquals(9999.0, new CompensatedDoubleSum().sum(numbers), 0.0);
+  }
+
+  /**
+   * The parallel sum must be identical to the sequential sum whatever the amount of threads.
+   */
+  @Test
+  public void testReproducible() {
+    Random random = new Random(11);
+    double[] numbers = new double[1000003];
+    for (int index = 0; index < numbers.length; ++index) {
+      numbers[index] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20));
+    }
+
+    double expected = new CompensatedDoubleSum().sum(numbers);
+    for (int parallelism : new int[] {2, 3, 8}) {
+      ForkJoinPool pool = new ForkJoinPool(parallelism);
+      try {
+        CompensatedDoubleSum sum = new CompensatedDoubleSum(pool);
+        for (int run = 0; run < 3; ++run) {
+          assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(sum.sum(numbers)));
+        }
+      } finally {
+        pool.shutdown();
+      }
+    }
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.functions.CompensatedDoubleSum.execute(List&lt;Double&gt;)'
+   */
+  @Test
+  public void testExecute() {
+    CompensatedDoubleSum sum = new CompensatedDoubleSum();
+    assertEquals(Double.valueOf(0.6), sum.execute(0.1, 0.2, 0.3));
+    assertEquals(Double.valueOf(3.5), sum.execute(Arrays.asList(1.0, null, 2.5)));
+    assertEquals(Double.valueOf(0.0), sum.execute(new LinkedList<Double>()));
+    assertEquals(Double.valueOf(0.0), sum.execute((List<Double>) null));
+  }
+}
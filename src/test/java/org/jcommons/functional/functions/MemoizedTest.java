@@ -0,0 +1,135 @@
+package org.jcommons.functional.functions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jcommons.functional.ParallelFunctions;
+import org.jcommons.functional.function.UnaryFunction;
+import org.junit.Test;
+
+/**
+ * Memoized Test
+ */
+public class MemoizedTest
+{
+  /** counts how often it has been executed */
+  private static class Length
+    implements UnaryFunction<Integer, String>
+  {
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Override
+    public Integer execute(final String argument) {
+      executions.incrementAndGet();
+      return argument == null ? null : argument.length();
+    }
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.functions.Memoized.execute(T)'
+   */
+  @Test
+  public void testExecute() {
+    Length length = new Length();
+    Memoized<Integer, String> memoized = new Memoized<Integer, String>(length, 100);
+
+    assertEquals(Integer.valueOf(5), memoized.execute("hello"));
+    assertEquals(Integer.valueOf(5), memoized.execute("hello"));
+    assertNull(memoized.execute(null));
+    assertNull(memoized.execute(null));
+
+    assertEquals(2, length.executions.get());
+    assertEquals(2L, memoized.getHits());
+    assertEquals(2L, memoized.getMisses());
+    assertEquals(2, memoized.size());
+
+    memoized.clear();
+    assertEquals(0, memoized.size());
+    assertEquals(Integer.valueOf(5), memoized.execute("hello"));
+    assertEquals(3, length.executions.get());
+  }
+
+  /** The cache must never hold more than the maximum size, and evict the least recently used results. */
+  @Test
+  public void testEviction() {
+    Length length = new Length();
+    Memoized<Integer, String> memoized = new Memoized<Integer, String>(length, 2);
+
+    memoized.execute("a");
+    memoized.execute("bb");
+    memoized.execute("a");
+    memoized.execute("ccc");
+    assertEquals(2, memoized.size());
+    assertEquals(1L, memoized.getEvictions());
+
+    // "bb" was least recently used
+    memoized.execute("a");
+    assertEquals(3, length.executions.get());
+    memoized.execute("bb");
+    assertEquals(4, length.executions.get());
+
+    Memoized<Integer, String> large = new Memoized<Integer, String>(length, 1000);
+    for (int index = 0; index < 5000; ++index) {
+      large.execute(String.valueOf(index));
+    }
+    assertEquals(1000, large.size());
+    assertEquals(4000L, large.getEvictions());
+  }
+
+  /**
+   * Results must be computed again once they expire.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  @Test
+  public void testExpiry()
+    throws InterruptedException
+  {
+    Length length = new Length();
+    Memoized<Integer, String> memoized = new Memoized<Integer, String>(length, 10, 20, TimeUnit.MILLISECONDS);
+
+    memoized.execute("hello");
+    memoized.execute("hello");
+    assertEquals(1, length.executions.get());
+
+    Thread.sleep(50);
+    memoized.execute("hello");
+    assertEquals(2, length.executions.get());
+    assertEquals(1L, memoized.getEvictions());
+  }
+
+  /** Many threads may use the same function. */
+  @Test
+  public void testConcurrent() {
+    Length length = new Length();
+    Memoized<Integer, String> memoized = new Memoized<Integer, String>(length, 64);
+
+    List<String> arguments = new ArrayList<String>();
+    for (int index = 0; index < 100000; ++index) {
+      arguments.add(String.valueOf(index % 50));
+    }
+
+    List<Integer> results = ParallelFunctions.map(new ForkJoinPool(8), memoized, arguments);
+    assertEquals(arguments.size(), results.size());
+    assertEquals(Integer.valueOf(2), results.get(arguments.size() - 1));
+    assertEquals(arguments.size(), memoized.getHits() + memoized.getMisses());
+    assertTrue(length.executions.get() < 1000);
+  }
+
+  /** A negative expiry time is rejected. */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeExpiry() {
+    new Memoized<Integer, String>(new Length(), 64, -1L, TimeUnit.SECONDS);
+  }
+
+  /** A missing time unit is rejected. */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullUnit() {
+    new Memoized<Integer, String>(new Length(), 64, 1L, null);
+  }
+}
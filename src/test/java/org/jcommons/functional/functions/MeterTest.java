@@ -0,0 +1,152 @@
+package org.jcommons.functional.functions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.jcommons.functional.function.BinaryFunction;
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.predicate.UnaryPredicate;
+import org.junit.Test;
+
+/**
+ * Meter Test
+ */
+public class MeterTest
+{
+  /** fails on null */
+  private static final UnaryFunction<Integer, String> LENGTH = new UnaryFunction<Integer, String>() {
+    @Override
+    public Integer execute(final String argument) {
+      return argument.length();
+    }
+  };
+
+  /**
+   * Test method for 'org.jcommons.functional.functions.MeteredFunction.execute(T)'
+   */
+  @Test
+  public void testMeteredFunction() {
+    Meter meter = new Meter("length");
+    MeteredFunction<Integer, String> metered = new MeteredFunction<Integer, String>(LENGTH, meter);
+
+    assertEquals(Integer.valueOf(3), metered.execute("abc"));
+    assertEquals(Integer.valueOf(0), metered.execute(""));
+    try {
+      metered.execute(null);
+      fail("exception expected");
+    } catch (NullPointerException e) {
+      // expected, and counted as error
+    }
+
+    assertEquals(3L, meter.getInvocations());
+    assertEquals(1L, meter.getErrors());
+    assertEquals(3L, meter.getSamples());
+    assertTrue(meter.getMaxNanos() >= meter.getMedianNanos());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.functions.MeteredBinaryFunction.execute(T, T)' and
+   * 'org.jcommons.functional.functions.MeteredPredicate.execute(T)'
+   */
+  @Test
+  public void testSharedMeter() {
+    Meter meter = new Meter("shared", 4);
+    BinaryFunction<Integer, Integer> sum = new MeteredBinaryFunction<Integer, Integer>(new IntegerSum(), meter);
+    UnaryPredicate<Integer> even = new MeteredPredicate<Integer>(new UnaryPredicate<Integer>() {
+      @Override
+      public boolean execute(final Integer argument) {
+        return argument % 2 == 0;
+      }
+    }, meter);
+
+    for (int i = 0; i < 100; ++i) {
+      assertEquals(Integer.valueOf(2 * i), sum.execute(i, i));
+      assertEquals(i % 2 == 0, even.execute(i));
+    }
+
+    // all calls come from this thread, so every fourth one is timed
+    assertEquals(200L, meter.getInvocations());
+    assertEquals(0L, meter.getErrors());
+    assertEquals(50L, meter.getSamples());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.functions.Meter.getPercentileNanos(double)'
+   */
+  @Test
+  public void testPercentiles() {
+    Meter meter = new Meter("percentiles");
+    assertEquals(0L, meter.getMedianNanos());
+
+    for (long nanos = 1; nanos <= 1000; ++nanos) {
+      meter.record(nanos * 1000L);
+    }
+
+    assertEquals(1000L, meter.getSamples());
+    assertEquals(500500L, meter.getMeanNanos());
+    assertEquals(1000000L, meter.getMaxNanos());
+    assertWithin(500000L, meter.getMedianNanos());
+    assertWithin(900000L, meter.get90thPercentileNanos());
+    assertWithin(990000L, meter.get99thPercentileNanos());
+    assertWithin(999000L, meter.get999thPercentileNanos());
+
+    meter.reset();
+    assertEquals(0L, meter.getSamples());
+    assertEquals(0L, meter.getMaxNanos());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.functions.Meter.bucket(long)'
+   */
+  @Test
+  public void testBuckets() {
+    for (long nanos : new long[] {0L, 1L, 15L, 16L, 17L, 1000L, 123456789L, Long.MAX_VALUE}) {
+      int bucket = Meter.bucket(nanos);
+      assertTrue(Meter.upperBound(bucket) >= nanos);
+      assertTrue(bucket == 0 || Meter.upperBound(bucket - 1) < nanos);
+    }
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.functions.Meter.register()'
+   */
+  @Test
+  public void testRegister() throws Exception {
+    Meter meter = new Meter("registered, \"quoted\"").register();
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName("org.jcommons.functional:type=Meter,name="
+        + ObjectName.quote("registered, \"quoted\""));
+
+    try {
+      new MeteredFunction<Integer, String>(LENGTH, meter).execute("x");
+      assertTrue(server.isRegistered(name));
+      assertEquals(1L, server.getAttribute(name, "Invocations"));
+
+      try {
+        new Meter("registered, \"quoted\"").register();
+        fail("exception expected");
+      } catch (IllegalStateException e) {
+        // expected, the name is in use
+      }
+    } finally {
+      meter.unregister();
+    }
+    assertFalse(server.isRegistered(name));
+  }
+
+  /**
+   * @param expected the exact percentile
+   * @param actual the approximated percentile
+   */
+  private static void assertWithin(final long expected, final long actual) {
+    assertTrue(actual + " < " + expected, actual >= expected);
+    assertTrue(actual + " too large for " + expected, actual <= expected + expected / 8);
+  }
+}
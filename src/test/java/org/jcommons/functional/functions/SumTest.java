@@ -1,6 +1,10 @@
 package org.jcommons.functional.functions;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.jcommons.functional.function.Associative;
 
 import org.junit.Test;
 
@@ -44,4 +48,18 @@ public class SumTest
     assertEquals(sum.execute(0.0, -11.0), Double.valueOf(-11L));
     assertEquals(sum.execute(sum.execute(3.5, 3.5), 1.0), Double.valueOf(8L));
   }
+
+  /** only exact sums may be split by parallel reductions */
+  @Test
+  public void testAssociative() {
+    assertTrue(new IntegerSum() instanceof Associative);
+    assertTrue(new LongSum() instanceof Associative);
+    assertTrue(new PrimitiveIntegerSum() instanceof Associative);
+    assertTrue(new PrimitiveLongSum() instanceof Associative);
+    assertFalse(new DoubleSum() instanceof Associative);
+    assertFalse(new PrimitiveDoubleSum() instanceof Associative);
+
+    // the grouping changes the rounding
+    assertFalse((0.1 + 0.2) + 0.3 == 0.1 + (0.2 + 0.3));
+  }
 }
@@ -0,0 +1,127 @@
+package org.jcommons.functional.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+
+import org.jcommons.functional.function.UnaryFunction;
+import org.junit.*;
+
+/**
+ * Test indexes like <code>HashIndex</code> and <code>SortedIndex</code>.
+ */
+public class IndexTest
+{
+  /** the first letter of a word */
+  private static final UnaryFunction<Character, String> INITIAL = new UnaryFunction<Character, String>() {
+    @Override
+    public Character execute(final String argument) {
+      return argument.isEmpty() ? null : argument.charAt(0);
+    }
+  };
+
+  /** the length of a word */
+  private static final UnaryFunction<Integer, String> LENGTH = new UnaryFunction<Integer, String>() {
+    @Override
+    public Integer execute(final String argument) {
+      return argument.length();
+    }
+  };
+
+  private List<String> words;
+
+  /** Sets up the list to index. */
+  @Before
+  public void setUp() {
+    words = new ArrayList<String>(Arrays.asList("apple", "banana", "avocado", "cherry", "fig", "blueberry", "kiwi"));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.index.HashIndex.get(K)'
+   */
+  @Test
+  public void testHashIndex() {
+    HashIndex<Character, String> index = new HashIndex<Character, String>(words, INITIAL);
+    assertFalse(index.isValid());
+    assertEquals(Arrays.asList("apple", "avocado"), index.get('a'));
+    assertTrue(index.isValid());
+    assertTrue(index.get('z').isEmpty());
+    assertEquals(Arrays.asList("cherry", "apple", "avocado"), index.get(Arrays.asList('c', 'a', 'c')));
+    assertTrue(index.get((Collection<Character>) null).isEmpty());
+    assertEquals(new HashSet<Character>(Arrays.asList('a', 'b', 'c', 'f', 'k')), index.keys());
+
+    // growing lists are noticed
+    words.add("apricot");
+    assertFalse(index.isValid());
+    assertEquals(Arrays.asList("apple", "avocado", "apricot"), index.get('a'));
+
+    // replaced elements are not
+    words.set(0, "cranberry");
+    assertEquals(3, index.get('a').size());
+    index.invalidate();
+    assertEquals(Arrays.asList("avocado", "apricot"), index.get('a'));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.index.SortedIndex.range(K, boolean, K, boolean)'
+   */
+  @Test
+  public void testSortedIndex() {
+    SortedIndex<Integer, String> index = new SortedIndex<Integer, String>(words, LENGTH);
+    assertEquals(Arrays.asList("banana", "cherry"), index.get(6));
+    assertEquals(Arrays.asList("kiwi", "apple", "banana", "cherry"), index.range(4, 7));
+    assertEquals(Arrays.asList("apple", "banana", "cherry", "avocado"), index.range(4, false, 7, true));
+    assertEquals(Arrays.asList("avocado", "blueberry"), index.range(7, null));
+    assertEquals(Arrays.asList("fig"), index.range(null, 4));
+    assertTrue(index.range(8, 8).isEmpty());
+    assertTrue(index.range(7, 5).isEmpty());
+    assertEquals("fig", index.first());
+    assertEquals("blueberry", index.last());
+
+    words.remove("fig");
+    assertEquals("kiwi", index.first());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.index.SortedIndex.SortedIndex(List&lt;T&gt;, UnaryFunction&lt;K, T&gt;,
+   * Comparator&lt;? super K&gt;)'
+   */
+  @Test
+  public void testComparator() {
+    words.add("");
+    SortedIndex<Character, String> index = new SortedIndex<Character, String>(words, INITIAL,
+        Collections.reverseOrder());
+    assertEquals(Arrays.asList("kiwi", "fig", "cherry"), index.range('k', true, 'c', true));
+    assertEquals(words.size() - 1, index.range(null, null).size());
+    assertTrue(index.get(null).isEmpty());
+    assertNull(new SortedIndex<Integer, String>(new ArrayList<String>(), LENGTH).first());
+  }
+
+  /**
+   * An element replaced while the index is built invalidates the index built at that time.
+   */
+  @Test
+  public void testInvalidateWhileBuilding() {
+    final List<HashIndex<Character, String>> indexes = new ArrayList<HashIndex<Character, String>>();
+    UnaryFunction<Character, String> replacing = new UnaryFunction<Character, String>() {
+      @Override
+      public Character execute(final String argument) {
+        if ("fig".equals(argument) && "apple".equals(words.get(0))) {
+          // another thread replaces the first word and notifies the index, once
+          words.set(0, "grape");
+          indexes.get(0).replaced(0, "apple", "grape");
+        }
+        return INITIAL.execute(argument);
+      }
+    };
+    HashIndex<Character, String> index = new HashIndex<Character, String>(words, replacing);
+    indexes.add(index);
+
+    assertEquals(Arrays.asList("avocado"), index.get('a'));
+    assertTrue(index.isValid());
+    assertEquals(Arrays.asList("grape"), index.get('g'));
+  }
+}
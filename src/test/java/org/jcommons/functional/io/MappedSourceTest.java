@@ -0,0 +1,179 @@
+package org.jcommons.functional.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jcommons.functional.Functions;
+import org.jcommons.functional.function.DoubleUnaryFunction;
+import org.jcommons.functional.function.LongUnaryFunction;
+import org.jcommons.functional.functions.PrimitiveDoubleSum;
+import org.jcommons.functional.functions.PrimitiveIntegerSum;
+import org.jcommons.functional.functions.PrimitiveLongSum;
+import org.jcommons.functional.predicate.IntPredicate;
+import org.jcommons.functional.predicate.LongPredicate;
+import org.junit.*;
+
+/**
+ * Test memory mapped sources like <code>MappedLongSource</code>.
+ */
+public class MappedSourceTest
+{
+  private static final int SIZE = 1000;
+
+  private static final LongPredicate ODD = new LongPredicate() {
+    @Override
+    public boolean execute(final long argument) {
+      return argument % 2 != 0;
+    }
+  };
+
+  private Path file;
+
+  /** Creates an empty file. */
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("mapped", ".bin");
+  }
+
+  /** Removes the file. */
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.io.MappedLongSource' spread over several chunks.
+   */
+  @Test
+  public void testLongSource() throws IOException {
+    long[] values = new long[SIZE];
+    DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    try {
+      for (int index = 0; index < SIZE; ++index) {
+        values[index] = index * 3L - 100;
+        output.writeLong(values[index]);
+      }
+      // an incomplete record at the end is ignored
+      output.writeShort(1);
+    } finally {
+      output.close();
+    }
+
+    // chunks of 10 records, the last record lies in a chunk of its own
+    MappedLongSource source = new MappedLongSource(file, ByteOrder.BIG_ENDIAN, 8 * 10 + 4);
+    try {
+      assertEquals(SIZE, source.size());
+      assertEquals(-100L, source.get(0));
+      assertEquals(values[SIZE - 1], source.get(SIZE - 1));
+
+      assertEquals(Functions.resolve(new PrimitiveLongSum(), values), source.resolve(new PrimitiveLongSum()));
+      assertEquals(Functions.resolve(5L, new PrimitiveLongSum(), values), source.reduce(5L, new PrimitiveLongSum()));
+      assertArrayEquals(Functions.filter(ODD, values), source.filter(ODD));
+      assertEquals(SIZE, source.filter(null).length);
+      assertEquals(Functions.filter(ODD, values).length, source.count(ODD));
+
+      LongUnaryFunction twice = new LongUnaryFunction() {
+        @Override
+        public long execute(final long argument) {
+          return argument * 2;
+        }
+      };
+      assertArrayEquals(Functions.map(twice, values), source.map(twice));
+      assertEquals(Functions.resolve(new PrimitiveLongSum(), Functions.map(twice, Functions.filter(ODD, values))),
+          source.resolve(ODD, twice, 0L, new PrimitiveLongSum()));
+
+      assertTrue(source.some(ODD));
+      assertFalse(source.every(ODD));
+      assertEquals(0L, source.resolve(null));
+      assertEquals(7L, source.resolve(7L, null));
+    } finally {
+      source.close();
+    }
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.io.MappedIntSource' in little endian byte order.
+   */
+  @Test
+  public void testIntSource() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(SIZE * 4).order(ByteOrder.LITTLE_ENDIAN);
+    for (int index = 0; index < SIZE; ++index) {
+      buffer.putInt(index);
+    }
+    Files.write(file, buffer.array());
+
+    MappedIntSource source = new MappedIntSource(file, ByteOrder.LITTLE_ENDIAN);
+    try {
+      assertEquals(SIZE, source.size());
+      assertEquals(123, source.get(123));
+      assertEquals(SIZE * (SIZE - 1) / 2, source.resolve(new PrimitiveIntegerSum()));
+      assertEquals(10, source.count(new IntPredicate() {
+        @Override
+        public boolean execute(final int argument) {
+          return argument < 10;
+        }
+      }));
+    } finally {
+      source.close();
+    }
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.io.MappedDoubleSource' including an empty file.
+   */
+  @Test
+  public void testDoubleSource() throws IOException {
+    MappedDoubleSource empty = new MappedDoubleSource(file);
+    try {
+      assertEquals(0L, empty.size());
+      assertEquals(0.0, empty.resolve(new PrimitiveDoubleSum()), 0.0);
+      assertEquals(0, empty.filter(null).length);
+    } finally {
+      empty.close();
+    }
+
+    DataOutputStream output = new DataOutputStream(Files.newOutputStream(file));
+    try {
+      output.writeDouble(1.5);
+      output.writeDouble(2.5);
+    } finally {
+      output.close();
+    }
+
+    MappedDoubleSource source = new MappedDoubleSource(file);
+    try {
+      DoubleUnaryFunction square = new DoubleUnaryFunction() {
+        @Override
+        public double execute(final double argument) {
+          return argument * argument;
+        }
+      };
+      assertEquals(8.5, source.resolve(null, square, 0.0, new PrimitiveDoubleSum()), 0.0);
+      assertArrayEquals(new double[] {2.25, 6.25}, source.map(square), 0.0);
+    } finally {
+      source.close();
+    }
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.io.MappedLongSource.get(long)' beyond the last record.
+   */
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetBeyondEnd() throws IOException {
+    Files.write(file, new byte[8]);
+    MappedLongSource source = new MappedLongSource(file);
+    try {
+      source.get(1);
+    } finally {
+      source.close();
+    }
+  }
+}
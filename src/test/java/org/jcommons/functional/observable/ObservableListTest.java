@@ -0,0 +1,124 @@
+package org.jcommons.functional.observable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.*;
+
+import org.jcommons.functional.Functions;
+import org.jcommons.functional.function.UnaryFunction;
+import org.jcommons.functional.index.HashIndex;
+import org.jcommons.functional.predicate.UnaryPredicate;
+import org.junit.*;
+
+/**
+ * Test observable lists and the lists derived from them.
+ */
+public class ObservableListTest
+{
+  private static final UnaryPredicate<Integer> EVEN = new UnaryPredicate<Integer>() {
+    @Override
+    public boolean execute(final Integer argument) {
+      return argument % 2 == 0;
+    }
+  };
+
+  /** counts its executions */
+  private final class Square
+    implements UnaryFunction<Integer, Integer>
+  {
+    private int executions;
+
+    @Override
+    public Integer execute(final Integer argument) {
+      ++executions;
+      return argument * argument;
+    }
+  }
+
+  private ObservableList<Integer> source;
+  private Square square;
+  private FilteredList<Integer> even;
+  private MappedList<Integer, Integer> squares;
+
+  /** Sets up a source with a filtered and a mapped list derived from it. */
+  @Before
+  public void setUp() {
+    source = new ObservableList<Integer>(Arrays.asList(1, 2, 3, 4, 5, 6));
+    square = new Square();
+    even = new FilteredList<Integer>(source, EVEN);
+    squares = new MappedList<Integer, Integer>(even, square);
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.observable.FilteredList' and 'MappedList' following single changes.
+   */
+  @Test
+  public void testChanges() {
+    assertEquals(Arrays.asList(2, 4, 6), even);
+    assertEquals(Arrays.asList(4, 16, 36), squares);
+    assertEquals(3, square.executions);
+
+    source.add(0, 8);
+    source.add(3);
+    source.set(2, 10);
+    source.set(3, 11);
+    source.remove(Integer.valueOf(5));
+    source.remove(0);
+    assertEquals(Arrays.asList(1, 10, 11, 4, 6, 3), source);
+
+    assertEquals(Functions.filter(EVEN, source), even);
+    assertEquals(Arrays.asList(100, 16, 36), squares);
+    assertEquals(1, even.sourceIndex(0));
+    assertEquals(3, even.sourceIndex(1));
+    // only the inserted 8 and the 10 replacing the 2 have been squared
+    assertEquals(3 + 2, square.executions);
+
+    source.clear();
+    assertTrue(even.isEmpty());
+    assertTrue(squares.isEmpty());
+  }
+
+  /**
+   * Random changes must keep the derived lists equal to filtering and mapping the source again.
+   */
+  @Test
+  public void testRandomChanges() {
+    Random random = new Random(5);
+    for (int change = 0; change < 5000; ++change) {
+      int operation = source.isEmpty() ? 0 : random.nextInt(3);
+      if (operation == 0) {
+        source.add(random.nextInt(source.size() + 1), random.nextInt(100));
+      } else if (operation == 1) {
+        source.remove(random.nextInt(source.size()));
+      } else {
+        source.set(random.nextInt(source.size()), random.nextInt(100));
+      }
+    }
+
+    assertEquals(Functions.filter(EVEN, source), even);
+    assertEquals(Functions.map(new Square(), Functions.filter(EVEN, source)), squares);
+  }
+
+  /**
+   * Indexes registered as listener are invalidated on every change, including replaced elements.
+   */
+  @Test
+  public void testIndex() {
+    HashIndex<Boolean, Integer> parity = new HashIndex<Boolean, Integer>(source, new UnaryFunction<Boolean, Integer>() {
+      @Override
+      public Boolean execute(final Integer argument) {
+        return EVEN.execute(argument);
+      }
+    });
+    source.addListener(parity);
+
+    assertEquals(Arrays.asList(2, 4, 6), parity.get(true));
+    source.set(0, 8);
+    assertEquals(Arrays.asList(8, 2, 4, 6), parity.get(true));
+
+    source.removeListener(parity);
+    source.set(0, 1);
+    assertEquals(4, parity.get(true).size());
+  }
+}
@@ -0,0 +1,166 @@
+package org.jcommons.functional.window;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.jcommons.functional.Functions;
+import org.jcommons.functional.function.BinaryFunction;
+import org.jcommons.functional.functions.DoubleSum;
+import org.jcommons.functional.functions.IntegerSum;
+import org.jcommons.functional.functions.Maximum;
+import org.jcommons.functional.functions.Minimum;
+import org.junit.Test;
+
+/**
+ * Test the count and time based windows.
+ */
+public class WindowTest
+{
+  /** concatenates strings, neither invertible nor commutative */
+  private static final BinaryFunction<String, String> CONCAT = new BinaryFunction<String, String>() {
+    @Override
+    public String execute(final String argument0, final String argument1) {
+      return argument0 + argument1;
+    }
+  };
+
+  /**
+   * Test method for 'org.jcommons.functional.window.SlidingWindow.add(T)' comparing invertible and other functions
+   * with combining the whole window again.
+   */
+  @Test
+  public void testSlidingWindow() {
+    Random random = new Random(42);
+    List<Integer> values = new ArrayList<Integer>();
+    SlidingWindow<Integer> sum = new SlidingWindow<Integer>(new IntegerSum(), 7);
+    SlidingWindow<Integer> minimum = new SlidingWindow<Integer>(new Minimum<Integer>(), 7);
+    SlidingWindow<Integer> maximum = new SlidingWindow<Integer>(new Maximum<Integer>(), 7);
+
+    assertNull(sum.get());
+    assertNull(minimum.get());
+    for (int count = 0; count < 500; ++count) {
+      Integer value = random.nextInt(1000) - 500;
+      values.add(value);
+      List<Integer> window = values.subList(Math.max(0, values.size() - 7), values.size());
+
+      assertEquals(Functions.resolve(new IntegerSum(), window), sum.add(value));
+      assertEquals(Collections.min(window), minimum.add(value));
+      assertEquals(Collections.max(window), maximum.add(value));
+      assertEquals(window.size(), minimum.size());
+    }
+
+    sum.clear();
+    assertNull(sum.get());
+    assertEquals(0, sum.size());
+  }
+
+  /**
+   * A large value passing through a floating point sum must not spoil the sums after it has left the window.
+   */
+  @Test
+  public void testSlidingWindowDouble() {
+    SlidingWindow<Double> sum = new SlidingWindow<Double>(new DoubleSum(), 3);
+    assertEquals(Double.valueOf(1e17), sum.add(1e17));
+    sum.add(1.0);
+    sum.add(1.0);
+    for (int count = 0; count < 10; ++count) {
+      assertEquals(Double.valueOf(3.0), sum.add(1.0));
+    }
+
+    SlidingTimeWindow<Double> timed = new SlidingTimeWindow<Double>(new DoubleSum(), 3, TimeUnit.NANOSECONDS);
+    timed.add(0, 1e17);
+    timed.add(1, 0.5);
+    timed.add(2, 0.5);
+    assertEquals(Double.valueOf(1.5), timed.add(3, 0.5));
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.window.SlidingWindow.add(T)' keeping the order of the values.
+   */
+  @Test
+  public void testSlidingWindowOrder() {
+    SlidingWindow<String> window = new SlidingWindow<String>(CONCAT, 3);
+    StringBuilder expected = new StringBuilder();
+    for (char letter = 'a'; letter <= 'z'; ++letter) {
+      expected.append(letter);
+      if (expected.length() > 3) expected.deleteCharAt(0);
+      assertEquals(expected.toString(), window.add(String.valueOf(letter)));
+    }
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.window.SlidingTimeWindow.add(long, T)'
+   */
+  @Test
+  public void testSlidingTimeWindow() {
+    SlidingTimeWindow<Integer> sum = new SlidingTimeWindow<Integer>(new IntegerSum(), 10, TimeUnit.NANOSECONDS);
+    SlidingTimeWindow<Integer> maximum =
+      new SlidingTimeWindow<Integer>(new Maximum<Integer>(), 10, TimeUnit.NANOSECONDS);
+
+    long[] times = { 0, 3, 5, 9, 10, 12, 30, 31 };
+    int[] values = { 1, 2, 3, 4, 5, 6, 7, 8 };
+    int[] sums = { 1, 3, 6, 10, 14, 20, 7, 15 };
+    for (int index = 0; index < times.length; ++index) {
+      assertEquals(Integer.valueOf(sums[index]), sum.add(times[index], values[index]));
+      assertEquals(Integer.valueOf(values[index]), maximum.add(times[index], values[index]));
+    }
+
+    assertEquals(2, sum.size(31));
+    assertEquals(Integer.valueOf(8), sum.get(40));
+    assertNull(sum.get(41));
+    assertNull(maximum.get(50));
+    assertEquals(0, maximum.size(50));
+  }
+
+  /**
+   * Time must not go backwards.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testSlidingTimeWindowBackwards() {
+    SlidingTimeWindow<Integer> sum = new SlidingTimeWindow<Integer>(new IntegerSum(), 10, TimeUnit.NANOSECONDS);
+    sum.add(5, 1);
+    sum.add(4, 1);
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.window.TumblingWindow.add(T)'
+   */
+  @Test
+  public void testTumblingWindow() {
+    TumblingWindow<String> window = new TumblingWindow<String>(CONCAT, 3);
+    assertNull(window.add("a"));
+    assertNull(window.add("b"));
+    assertEquals("ab", window.get());
+    assertEquals("abc", window.add("c"));
+    assertNull(window.get());
+    assertEquals(0, window.size());
+
+    assertNull(window.add("d"));
+    assertEquals("d", window.get());
+    assertEquals("abc", window.getPrevious());
+  }
+
+  /**
+   * Test method for 'org.jcommons.functional.window.TumblingTimeWindow.add(long, T)'
+   */
+  @Test
+  public void testTumblingTimeWindow() {
+    TumblingTimeWindow<Integer> window =
+      new TumblingTimeWindow<Integer>(new IntegerSum(), 10, TimeUnit.NANOSECONDS);
+
+    assertEquals(Integer.valueOf(1), window.add(-3, 1));
+    assertEquals(Integer.valueOf(2), window.add(-1, 1));
+    assertEquals(Integer.valueOf(5), window.add(0, 5));
+    assertEquals(Integer.valueOf(2), window.getPrevious(0));
+    assertEquals(Integer.valueOf(12), window.add(9, 7));
+
+    assertNull(window.get(10));
+    assertEquals(Integer.valueOf(12), window.getPrevious(19));
+    assertNull(window.getPrevious(20));
+    assertEquals(Integer.valueOf(4), window.add(35, 4));
+    assertNull(window.getPrevious(39));
+  }
+}